@@ -0,0 +1,139 @@
+package com.saurabh.logger.benchmarks;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.saurabh.logger.Logger;
+import com.saurabh.logger.LoggerConfig;
+import com.saurabh.logger.sinks.BinaryFileSink;
+import com.saurabh.logger.sinks.ConsoleSink;
+import com.saurabh.logger.sinks.FileSink;
+import com.saurabh.logger.sinks.Sink;
+
+/**
+ * Measures a log call through the whole pipeline, {@link Logger} to {@link com.saurabh.logger.LogEngine}, 
+ * {@link com.saurabh.logger.MessageFormatter} & the configured sink, for every write mode, thread model & sink type.
+ * <p>
+ * Throughput mode gives calls per microsecond, sample time mode gives per call latency percentiles. Calls are made 
+ * from 1 & 4 threads. In async modes the call returns once the event is queued, so a full queue shows up as producer 
+ * latency. Run with <code>-prof gc</code> to get allocation rate per call.
+ *
+ * @author Saurabh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingPipelineBenchmark {
+
+	private static final String NAMESPACE = "bench.pipeline";
+	private static final String FILTERED_NAMESPACE = "bench.filtered";
+
+	@Param({ "SYNC", "ASYNC", "RING" })
+	public String writeMode;
+
+	@Param({ "SINGLE", "MULTI", "PARTITIONED" })
+	public String threadModel;
+
+	@Param({ "file", "binaryfile", "console" })
+	public String sinkType;
+
+	@Param({ "false", "true" })
+	public String garbageFree;
+
+	@Param({ "false", "true" })
+	public String formatOnWorker;
+
+	private File logFile;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		logFile = new File(System.getProperty("java.io.tmpdir"), "logger-benchmark/pipeline.log");
+		logFile.delete();
+		Logger.init(LoggerConfig.defaultConfig());
+
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("garbage_free", garbageFree);
+		params.put("log_level", "INFO");
+		params.put("sink_type", sinkType);
+		//Sink type lookup scans class directories, which doesn't work from the benchmark jar
+		params.put("sink_class", sinkClass(sinkType).getName());
+		params.put("file_location", logFile.getPath());
+		params.put("thread_model", threadModel);
+		params.put("write_mode", writeMode);
+		params.put("format_on_worker", formatOnWorker);
+		LoggerConfig.fromMap(params);
+
+		params = new HashMap<String, String>();
+		params.put("namespace", FILTERED_NAMESPACE);
+		params.put("min_level", "WARN");
+		LoggerConfig.fromMap(params);
+	}
+
+	private static Class<? extends Sink> sinkClass(String sinkType) {
+		if ( "file".equals(sinkType) ) {
+			return FileSink.class;
+		} else if ( "binaryfile".equals(sinkType) ) {
+			return BinaryFileSink.class;
+		}
+		return ConsoleSink.class;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for ( Sink sink : Logger.getCurrentConfig().getCurrentlyActiveSinks() ) {
+			sink.close();
+		}
+		Logger.init(LoggerConfig.defaultConfig());
+		logFile.delete();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void plainMessage() {
+		Logger.info(NAMESPACE, "Order placed successfully for the benchmark user");
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void plainMessageContended() {
+		Logger.info(NAMESPACE, "Order placed successfully for the benchmark user");
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void parameterizedMessage() {
+		Logger.info(NAMESPACE, "Order {} placed in {} ms", "benchmark", 42L);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void parameterizedMessageContended() {
+		Logger.info(NAMESPACE, "Order {} placed in {} ms", "benchmark", 42L);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void filteredMessage() {
+		Logger.info(FILTERED_NAMESPACE, "Order {} placed in {} ms", "benchmark", 42L);
+	}
+}
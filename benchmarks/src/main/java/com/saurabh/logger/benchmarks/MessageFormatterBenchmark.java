@@ -0,0 +1,75 @@
+package com.saurabh.logger.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.saurabh.logger.Layout;
+import com.saurabh.logger.Level;
+import com.saurabh.logger.LogMessage;
+import com.saurabh.logger.LoggerConfig;
+import com.saurabh.logger.LoggingEvent;
+import com.saurabh.logger.MessageFormatter;
+
+/**
+ * Measures formatting alone, into a new String & into a reused buffer, for the default layout & a short one.
+ *
+ * @author Saurabh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageFormatterBenchmark {
+
+	@Param({ Layout.DEFAULT_PATTERN, "%-5p %c - %m" })
+	public String pattern;
+
+	private Layout layout;
+	private LoggingEvent event;
+	private LoggingEvent parameterizedEvent;
+	private StringBuilder buffer;
+
+	@Setup
+	public void setup() {
+		layout = Layout.compile(pattern, LoggerConfig.DEFAULT_TS_FORMAT);
+		event = new LoggingEvent(new LogMessage("Order placed successfully for the benchmark user", Level.INFO, 
+				"bench.formatter"), LoggerConfig.DEFAULT_TS_FORMAT);
+		parameterizedEvent = new LoggingEvent(new LogMessage("Order {} placed in {} ms", Level.INFO, "bench.formatter"), 
+				LoggerConfig.DEFAULT_TS_FORMAT);
+		parameterizedEvent.addArgument("benchmark");
+		parameterizedEvent.addArgument(42L);
+		buffer = new StringBuilder(256);
+	}
+
+	@Benchmark
+	public String formatToString() {
+		return MessageFormatter.format(event, layout);
+	}
+
+	@Benchmark
+	public StringBuilder formatToBuffer() {
+		buffer.setLength(0);
+		MessageFormatter.format(event, layout, buffer);
+		return buffer;
+	}
+
+	@Benchmark
+	public StringBuilder formatParameterizedToBuffer() {
+		buffer.setLength(0);
+		MessageFormatter.format(parameterizedEvent, layout, buffer);
+		return buffer;
+	}
+}
@@ -0,0 +1,69 @@
+package com.saurabh.logger.benchmarks;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.saurabh.logger.LoggerConfig;
+import com.saurabh.logger.TimestampFormatter;
+
+/**
+ * Compares {@link TimestampFormatter} against creating a {@link SimpleDateFormat} & {@link Date} per call, which is
+ * what timestamp formatting used to cost on every log call.
+ * Every invocation moves the clock by one millisecond so the cached second is re-rendered once every 1000 calls.
+ *
+ * @author Saurabh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimestampFormatterBenchmark {
+
+	@Param({ LoggerConfig.DEFAULT_TS_FORMAT, "yyyy-MM-dd HH:mm:ss.SSS" })
+	public String tsFormat;
+
+	private long timeStamp;
+	private TimestampFormatter formatter;
+	private StringBuilder buffer;
+
+	@Setup
+	public void setup() {
+		timeStamp = System.currentTimeMillis();
+		formatter = TimestampFormatter.forPattern(tsFormat);
+		buffer = new StringBuilder(64);
+	}
+
+	@Benchmark
+	public String simpleDateFormatPerCall() {
+		DateFormat dateFormat = new SimpleDateFormat(tsFormat);
+		return dateFormat.format(new Date(timeStamp++));
+	}
+
+	@Benchmark
+	public String timestampFormatter() {
+		return formatter.format(timeStamp++);
+	}
+
+	@Benchmark
+	public StringBuilder timestampFormatterAppend() {
+		buffer.setLength(0);
+		formatter.formatTo(timeStamp++, buffer);
+		return buffer;
+	}
+}
@@ -14,10 +14,42 @@ public final class GlobalConstants {
 
 	public static final String SYNC_WRITE_MODE = "SYNC";
 
+	public static final String RING_WRITE_MODE = "RING";
+
+	public static final String WAIT_STRATEGY_BUSY_SPIN = "BUSY_SPIN";
+
+	public static final String WAIT_STRATEGY_YIELD = "YIELD";
+
+	public static final String WAIT_STRATEGY_PARK = "PARK";
+
 	public static final String THREAD_MODEL_SINGLE = "SINGLE";
 	
 	public static final String THREAD_MODEL_MULTI = "MULTI";
 	
+	public static final String THREAD_MODEL_PARTITIONED = "PARTITIONED";
+	
+	public static final String WORKER_TYPE_PLATFORM = "PLATFORM";
+	
+	public static final String WORKER_TYPE_VIRTUAL = "VIRTUAL";
+	
+	public static final String OVERFLOW_POLICY_BLOCK = "BLOCK";
+	
+	public static final String OVERFLOW_POLICY_DROP_NEW = "DROP_NEW";
+	
+	public static final String OVERFLOW_POLICY_DROP_OLDEST = "DROP_OLDEST";
+	
+	public static final String OVERFLOW_POLICY_DROP_BELOW_LEVEL = "DROP_BELOW_LEVEL";
+	
+	public static final String OVERFLOW_POLICY_BLOCK_TIMEOUT = "BLOCK_TIMEOUT";
+	
+	public static final String COMPRESSION_NONE = "NONE";
+	
+	public static final String COMPRESSION_DEFLATE = "DEFLATE";
+	
+	public static final String ROUTE_MODE_REPLACE = "REPLACE";
+	
+	public static final String ROUTE_MODE_APPEND = "APPEND";
+	
 	public static final String CONSOLE_SINK_DEFAULT_TYPE = "console";
 	
 	public static final String FORMATTING_SPACE = " ";
@@ -15,6 +15,12 @@ public interface ILoggingEvent {
 	 */
     String getThreadName();
 
+    /**
+     * Get the current logging thread id
+     * @return
+     */
+    long getThreadId();
+
     /**
      * {@link Level} Log current level
      * @return
@@ -28,8 +34,9 @@ public interface ILoggingEvent {
     String getContent();
 
     /**
-     * Get object array to be added while logging, currently this feature is not supported will be added in future
+     * Get arguments to be substituted for <code>{}</code> placeholders of {@link #getContent()}
      * @return
+     * 		Arguments or <code>null</code> if content is not parameterized
      */
     Object[] getArgumentArray();
 
@@ -39,6 +46,13 @@ public interface ILoggingEvent {
      */
     String getFormattedMessage();
 
+    /**
+     * Get formatted message without materializing a new {@link String}. Sinks should prefer this over 
+     * {@link #getFormattedMessage()}; the returned sequence is only valid till {@link Sink #write(loggingEvent)} returns
+     * @return
+     */
+    CharSequence getFormattedBuffer();
+
     /**
      * {@link LogMessage #getNameSpace()} to identify the part of application sending the message
      * @return
@@ -0,0 +1,249 @@
+package com.saurabh.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled layout pattern used by {@link MessageFormatter} to render {@link ILoggingEvent}.
+ * <p>
+ * Pattern is parsed once into an array of converters, each appending its part of the message directly into the
+ * formatting buffer. Supported conversions
+ * <ul>
+ * 		<li><b>%d</b> or <b>%date</b> : timestamp as per route <b>ts_format</b>, <b>%d{pattern}</b> for an explicit format</li>
+ * 		<li><b>%t</b> or <b>%thread</b> : thread name</li>
+ * 		<li><b>%T</b> or <b>%tid</b> : thread id</li>
+ * 		<li><b>%p</b> or <b>%level</b> : log level</li>
+ * 		<li><b>%c</b> or <b>%ns</b> : nameSpace</li>
+ * 		<li><b>%m</b> or <b>%msg</b> : content with arguments substituted</li>
+ * 		<li><b>%%</b> : percent sign</li>
+ * </ul>
+ * Conversions accept a minimum width, <b>%5p</b> pads on the left and <b>%-5p</b> pads on the right.
+ * Any other text is copied as is.
+ *
+ * @author Saurabh
+ */
+public final class Layout {
+
+	/**
+	 * Layout used when none is configured, renders { Datetime [ThreadName] Level nameSpace content }
+	 */
+	public static final String DEFAULT_PATTERN = "%d [%t] %p %c %m";
+
+	/**
+	 * Default layout taking timestamp format from the event being formatted
+	 */
+	public static final Layout DEFAULT = compile(DEFAULT_PATTERN, null);
+
+	private final String pattern;
+	private final Converter[] converters;
+
+	private Layout(String pattern, Converter[] converters) {
+		this.pattern = pattern;
+		this.converters = converters;
+	}
+
+	/**
+	 * Parse the given pattern
+	 * @param pattern
+	 * 			Layout pattern
+	 * @param tsFormat
+	 * 			Timestamp format used by <b>%d</b>, when <code>null</code> {@link ILoggingEvent#tsFormat()} is used
+	 * @return
+	 * @throws IllegalArgumentException
+	 * 			If pattern contains an unknown or malformed conversion
+	 */
+	public static Layout compile(String pattern, String tsFormat) {
+		List<Converter> converters = new ArrayList<Converter>();
+		StringBuilder literal = new StringBuilder();
+		int i = 0;
+		while ( i < pattern.length() ) {
+			char c = pattern.charAt(i++);
+			if ( c != '%' ) {
+				literal.append(c);
+				continue;
+			}
+			if ( i < pattern.length() && pattern.charAt(i) == '%' ) {
+				literal.append('%');
+				i++;
+				continue;
+			}
+			if ( literal.length() > 0 ) {
+				converters.add(new LiteralConverter(literal.toString()));
+				literal.setLength(0);
+			}
+
+			//Optional minimum width
+			boolean leftJustify = false;
+			if ( i < pattern.length() && pattern.charAt(i) == '-' ) {
+				leftJustify = true;
+				i++;
+			}
+			int width = 0;
+			while ( i < pattern.length() && Character.isDigit(pattern.charAt(i)) ) {
+				width = width * 10 + (pattern.charAt(i++) - '0');
+			}
+
+			//Conversion name
+			int nameStart = i;
+			while ( i < pattern.length() && Character.isLetter(pattern.charAt(i)) ) {
+				i++;
+			}
+			String name = pattern.substring(nameStart, i);
+
+			//Optional conversion option
+			String option = null;
+			if ( i < pattern.length() && pattern.charAt(i) == '{' ) {
+				int optionEnd = pattern.indexOf('}', i);
+				if ( optionEnd < 0 ) {
+					throw new IllegalArgumentException("Unterminated option for %" + name + " in layout " + pattern);
+				}
+				option = pattern.substring(i + 1, optionEnd);
+				i = optionEnd + 1;
+			}
+
+			Converter converter = createConverter(name, option, tsFormat, pattern);
+			if ( width > 0 ) {
+				converter = new PaddingConverter(converter, width, leftJustify);
+			}
+			converters.add(converter);
+		}
+		if ( literal.length() > 0 ) {
+			converters.add(new LiteralConverter(literal.toString()));
+		}
+		return new Layout(pattern, converters.toArray(new Converter[converters.size()]));
+	}
+
+	private static Converter createConverter(String name, String option, String tsFormat, String pattern) {
+		if ( name.equals("d") || name.equals("date") ) {
+			return new DateConverter(option != null ? option : tsFormat);
+		} else if ( name.equals("t") || name.equals("thread") ) {
+			return new ThreadConverter();
+		} else if ( name.equals("T") || name.equals("tid") ) {
+			return new ThreadIdConverter();
+		} else if ( name.equals("p") || name.equals("level") ) {
+			return new LevelConverter();
+		} else if ( name.equals("c") || name.equals("ns") ) {
+			return new NameSpaceConverter();
+		} else if ( name.equals("m") || name.equals("msg") ) {
+			return new ContentConverter();
+		}
+		throw new IllegalArgumentException("Unknown conversion %" + name + " in layout " + pattern);
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * Render the event by appending it to the given buffer
+	 * @param event
+	 * @param sb
+	 */
+	public void format(ILoggingEvent event, StringBuilder sb) {
+		for ( int i = 0; i < converters.length; i++ ) {
+			converters[i].format(event, sb);
+		}
+	}
+
+	/**
+	 * Renders one part of the layout
+	 */
+	interface Converter {
+		void format(ILoggingEvent event, StringBuilder sb);
+	}
+
+	static final class LiteralConverter implements Converter {
+		private final String literal;
+
+		LiteralConverter(String literal) {
+			this.literal = literal;
+		}
+
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			sb.append(literal);
+		}
+	}
+
+	static final class DateConverter implements Converter {
+		//Null when timestamp format has to be taken from the event
+		private final TimestampFormatter formatter;
+
+		DateConverter(String tsFormat) {
+			this.formatter = tsFormat == null ? null : TimestampFormatter.forPattern(tsFormat);
+		}
+
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			TimestampFormatter timestampFormatter = formatter;
+			if ( timestampFormatter == null ) {
+				String tsFormat = event.tsFormat();
+				timestampFormatter = TimestampFormatter.forPattern(tsFormat == null ? LoggerConfig.DEFAULT_TS_FORMAT : tsFormat);
+			}
+			timestampFormatter.formatTo(event.getCurrentTs(), sb);
+		}
+	}
+
+	static final class ThreadConverter implements Converter {
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			sb.append(event.getThreadName());
+		}
+	}
+
+	static final class ThreadIdConverter implements Converter {
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			if ( event instanceof LoggingEvent ) {
+				//Rendered once per thread
+				sb.append(((LoggingEvent) event).getThreadIdText());
+			} else {
+				sb.append(event.getThreadId());
+			}
+		}
+	}
+
+	static final class LevelConverter implements Converter {
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			sb.append(event.getLevel().name());
+		}
+	}
+
+	static final class NameSpaceConverter implements Converter {
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			sb.append(event.getNameSpace());
+		}
+	}
+
+	static final class ContentConverter implements Converter {
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			MessageFormatter.appendContent(event, sb);
+		}
+	}
+
+	static final class PaddingConverter implements Converter {
+		private final Converter converter;
+		private final int width;
+		private final boolean leftJustify;
+
+		PaddingConverter(Converter converter, int width, boolean leftJustify) {
+			this.converter = converter;
+			this.width = width;
+			this.leftJustify = leftJustify;
+		}
+
+		public void format(ILoggingEvent event, StringBuilder sb) {
+			int start = sb.length();
+			converter.format(event, sb);
+			int padding = width - (sb.length() - start);
+			for ( ; padding > 0; padding-- ) {
+				if ( leftJustify ) {
+					sb.append(' ');
+				} else {
+					sb.insert(start, ' ');
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+}
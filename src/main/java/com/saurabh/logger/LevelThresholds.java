@@ -0,0 +1,127 @@
+package com.saurabh.logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Minimum {@link Level} per nameSpace. Thresholds are hierarchical on dotted nameSpace, a threshold set for
+ * <code>com.app</code> applies to <code>com.app.db</code> too unless it has its own. The threshold set for the empty
+ * nameSpace is the root threshold, by default every level is enabled.
+ * <p>
+ * Resolved thresholds are cached per nameSpace as a volatile int, so checking a level costs a map lookup and a
+ * volatile read. Cached values are updated in place whenever a threshold changes.
+ *
+ * @author Saurabh
+ */
+public final class LevelThresholds {
+
+	public static final String ROOT_NAMESPACE = "";
+
+	/**
+	 * Resolved threshold of a single nameSpace
+	 */
+	private static final class Threshold {
+		volatile int minLevel;
+
+		Threshold(int minLevel) {
+			this.minLevel = minLevel;
+		}
+	}
+
+	//Configured thresholds, replaced as a whole on every update
+	private volatile Map<String, Level> rules;
+
+	private final ConcurrentMap<String, Threshold> resolved = new ConcurrentHashMap<String, Threshold>();
+
+	public LevelThresholds() {
+		Map<String, Level> rootRule = new HashMap<String, Level>();
+		rootRule.put(ROOT_NAMESPACE, Level.DEBUG);
+		this.rules = Collections.unmodifiableMap(rootRule);
+	}
+
+	/**
+	 * Check whether given level is enabled for the nameSpace
+	 * @param nameSpace
+	 * @param level
+	 * @return
+	 */
+	public boolean isEnabled(String nameSpace, Level level) {
+		Threshold threshold = resolved.get(nameSpace);
+		if ( threshold == null ) {
+			threshold = resolveAndCache(nameSpace);
+		}
+		return level.ordinal() >= threshold.minLevel;
+	}
+
+	/**
+	 * Set minimum level for the nameSpace & all nameSpaces below it which don't have their own threshold
+	 * @param nameSpace
+	 * 			NameSpace or {@link #ROOT_NAMESPACE}
+	 * @param level
+	 * 			Minimum level, <code>null</code> to remove the threshold of a non root nameSpace
+	 */
+	public synchronized void setThreshold(String nameSpace, Level level) {
+		String key = nameSpace == null ? ROOT_NAMESPACE : nameSpace;
+		Map<String, Level> updatedRules = new HashMap<String, Level>(rules);
+		if ( level == null ) {
+			if ( key.equals(ROOT_NAMESPACE) ) {
+				throw new IllegalArgumentException("Root threshold can't be removed");
+			}
+			updatedRules.remove(key);
+		} else {
+			updatedRules.put(key, level);
+		}
+		rules = Collections.unmodifiableMap(updatedRules);
+
+		//Refresh every cached nameSpace
+		for ( Map.Entry<String, Threshold> entry : resolved.entrySet() ) {
+			entry.getValue().minLevel = resolve(entry.getKey(), updatedRules);
+		}
+	}
+
+	/**
+	 * Get the threshold configured for exactly this nameSpace
+	 * @param nameSpace
+	 * @return
+	 * 		Configured level or <code>null</code> if nameSpace inherits its threshold
+	 */
+	public Level getThreshold(String nameSpace) {
+		return rules.get(nameSpace == null ? ROOT_NAMESPACE : nameSpace);
+	}
+
+	private Threshold resolveAndCache(String nameSpace) {
+		Map<String, Level> currentRules = rules;
+		Threshold threshold = new Threshold(resolve(nameSpace, currentRules));
+		Threshold previous = resolved.putIfAbsent(nameSpace, threshold);
+		if ( previous != null ) {
+			return previous;
+		}
+		//A threshold may have changed after resolving but before caching, refresh till rules are stable
+		while ( currentRules != rules ) {
+			currentRules = rules;
+			threshold.minLevel = resolve(nameSpace, currentRules);
+		}
+		return threshold;
+	}
+
+	/**
+	 * Walk up the nameSpace hierarchy till a configured threshold is found
+	 */
+	private static int resolve(String nameSpace, Map<String, Level> rules) {
+		String current = nameSpace;
+		while ( true ) {
+			Level level = rules.get(current);
+			if ( level != null ) {
+				return level.ordinal();
+			}
+			if ( current.length() == 0 ) {
+				return Level.DEBUG.ordinal();
+			}
+			int separator = current.lastIndexOf('.');
+			current = separator < 0 ? ROOT_NAMESPACE : current.substring(0, separator);
+		}
+	}
+}
@@ -1,6 +1,12 @@
 package com.saurabh.logger;
 
+import java.io.IOException;
+import java.util.Map;
+
+import com.saurabh.logger.sinks.AsyncSink;
 import com.saurabh.logger.sinks.Sink;
+import com.saurabh.logger.sinks.UnformattedSink;
+import com.saurabh.logger.sinks.Utf8Encoder;
 
 /**
  * Core logic class for {@link Logger}.
@@ -10,39 +16,417 @@ import com.saurabh.logger.sinks.Sink;
  */
 public final class LogEngine {
 
+	private static final String REPEATED_SUMMARY = "Previous message repeated {} times";
+	private static final String SUPPRESSED_SUMMARY = "{} messages suppressed by rate limit";
+
+	/**
+	 * Per thread event reused for every log call when garbage free logging is enabled
+	 */
+	private static final ThreadLocal<LoggingEvent> REUSABLE_EVENT = new ThreadLocal<LoggingEvent>() {
+		@Override
+		protected LoggingEvent initialValue() {
+			return LoggingEvent.newReusableEvent();
+		}
+	};
+
+	/**
+	 * Per thread encoder used when a formatted message is shared by several sinks
+	 */
+	private static final ThreadLocal<Utf8Encoder> SHARED_ENCODER = new ThreadLocal<Utf8Encoder>() {
+		@Override
+		protected Utf8Encoder initialValue() {
+			return new Utf8Encoder();
+		}
+	};
+
 	public static void handleLogMessage(LogMessage message) {
 		//Basic checks
-		if ( message == null || message.getContent() == null || message.getLevel() == null || message.getNameSpace() == null ) {
+		if ( message == null ) {
 			throw new IllegalStateException("Bad request, message params are missing");
 		}
-		
-		//Check if logging configuration is set
-		if ( Logger.getCurrentConfig() == null ) {
-			throw new IllegalStateException("Please initialize logger before logging");
+		handleLogMessage(message.getLevel(), message.getNameSpace(), message.getContent());
+	}
+
+	/**
+	 * Handle a log request without requiring a {@link LogMessage} to be built for it
+	 * @param level
+	 * @param nameSpace
+	 * @param content
+	 */
+	public static void handleLogMessage(Level level, String nameSpace, String content) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, content);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	/**
+	 * Handle a parameterized log request, arguments are substituted for <code>{}</code> placeholders of the format
+	 * only when the event gets formatted
+	 * @param level
+	 * @param nameSpace
+	 * @param format
+	 * @param arguments
+	 */
+	public static void handleLogMessage(Level level, String nameSpace, String format, Object[] arguments) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.setArgumentArray(arguments);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, Object argument) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, Object argument1, Object argument2) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument1);
+		loggingEvent.addArgument(argument2);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, long argument) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, double argument) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, Object argument1, long argument2) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument1);
+		loggingEvent.addArgument(argument2);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, long argument1, long argument2) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument1);
+		loggingEvent.addArgument(argument2);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, char argument) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, float argument) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, Object argument1, char argument2) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument1);
+		loggingEvent.addArgument(argument2);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, char argument1, char argument2) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument1);
+		loggingEvent.addArgument(argument2);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, long argument1, char argument2) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument1);
+		loggingEvent.addArgument(argument2);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	public static void handleLogMessage(Level level, String nameSpace, String format, char argument1, long argument2) {
+		LoggerConfig loggerConfig = Logger.getCurrentConfig();
+		if ( !isEnabled(loggerConfig, level, nameSpace) ) {
+			return;
+		}
+		LoggingEvent loggingEvent = newEvent(loggerConfig, level, nameSpace, format);
+		loggingEvent.addArgument(argument1);
+		loggingEvent.addArgument(argument2);
+		dispatch(loggerConfig, loggingEvent);
+	}
+	
+	/**
+	 * Check the nameSpace level threshold, this is done before anything gets allocated for the request.
+	 * Requests with missing params pass so that they get rejected during validation
+	 * @param level
+	 * @param nameSpace
+	 * @return
+	 */
+	public static boolean isEnabled(Level level, String nameSpace) {
+		return isEnabled(Logger.getCurrentConfig(), level, nameSpace);
+	}
+	
+	private static boolean isEnabled(LoggerConfig loggerConfig, Level level, String nameSpace) {
+		if ( level == null || nameSpace == null ) {
+			return true;
+		}
+		return loggerConfig.getLevelThresholds().isEnabled(nameSpace, level);
+	}
+	
+	/**
+	 * Validate the request and capture it into an event
+	 */
+	private static LoggingEvent newEvent(LoggerConfig loggerConfig, Level level, String nameSpace, String content) {
+		//Basic checks
+		if ( content == null || level == null || nameSpace == null ) {
+			throw new IllegalStateException("Bad request, message params are missing");
 		}
 		
-		Sink routedSink;
-		LoggingEvent loggingEvent;
+		LoggingEvent loggingEvent = acquireEvent(loggerConfig);
+		loggingEvent.initialize(level, content, nameSpace, null);
+		return loggingEvent;
+	}
+	
+	/**
+	 * Route, format & write the event, reusable events are released afterwards. The event is formatted once per route 
+	 * of its level & written to every sink of that route. Events rejected by {@link Throttling} are dropped here
+	 */
+	private static void dispatch(LoggerConfig loggerConfig, LoggingEvent loggingEvent) {
+		try {
+			Throttle throttle = loggerConfig.getThrottling().throttleFor(loggingEvent.getNameSpace(), loggingEvent.getLevel());
+			if ( throttle != null && !admit(loggerConfig, throttle, loggingEvent) ) {
+				return;
+			}
+			route(loggerConfig, loggingEvent);
+		} finally {
+			if ( loggingEvent.isReusable() ) {
+				loggingEvent.clear();
+			}
+		}
+	}
+
+	/**
+	 * Check the event against duplicate suppression first, so that duplicates don't use up the rate, then against the 
+	 * rate limit. Counts of events suppressed before an admitted one are logged right before it
+	 */
+	private static boolean admit(LoggerConfig loggerConfig, Throttle throttle, LoggingEvent loggingEvent) {
+		long now = System.nanoTime();
+		long repeated = 0;
+		if ( throttle.isDeduplicating() ) {
+			repeated = throttle.checkDuplicate(loggingEvent, now);
+			if ( repeated < 0 ) {
+				return false;
+			}
+		}
+		if ( throttle.isRateLimited() && !throttle.tryAcquire(now) ) {
+			//Unreported duplicates are counted along with the rejected event
+			throttle.countRateSuppressed(repeated);
+			return false;
+		}
+		if ( repeated > 0 ) {
+			logSummary(loggerConfig, loggingEvent.getLevel(), loggingEvent.getNameSpace(), REPEATED_SUMMARY, repeated);
+		}
+		if ( throttle.isRateLimited() ) {
+			long suppressed = throttle.takeRateSuppressed();
+			if ( suppressed > 0 ) {
+				logSummary(loggerConfig, loggingEvent.getLevel(), loggingEvent.getNameSpace(), SUPPRESSED_SUMMARY, suppressed);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Log the counts of suppressed events not reported yet, as no further event of a quiet nameSpace would carry them. 
+	 * Called before sinks are closed
+	 */
+	static void logPendingSummaries(LoggerConfig loggerConfig) {
+		Throttling throttling = loggerConfig.getThrottling();
+		if ( !throttling.isActive() ) {
+			return;
+		}
+		Level[] levels = Level.values();
+		for ( Map.Entry<String, Throttle[]> entry : throttling.getResolvedThrottles().entrySet() ) {
+			Throttle[] throttles = entry.getValue();
+			for ( int i = 0; i < throttles.length; i++ ) {
+				if ( throttles[i] == null ) {
+					continue;
+				}
+				long repeated = throttles[i].takeRepeated();
+				if ( repeated > 0 ) {
+					logSummary(loggerConfig, levels[i], entry.getKey(), REPEATED_SUMMARY, repeated);
+				}
+				long suppressed = throttles[i].takeRateSuppressed();
+				if ( suppressed > 0 ) {
+					logSummary(loggerConfig, levels[i], entry.getKey(), SUPPRESSED_SUMMARY, suppressed);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Log a count of suppressed events with the given level & nameSpace, bypassing the throttle
+	 */
+	private static void logSummary(LoggerConfig loggerConfig, Level level, String nameSpace, String format, long count) {
+		LoggingEvent summary = new LoggingEvent();
+		summary.initialize(level, format, nameSpace, null);
+		summary.addArgument(count);
+		route(loggerConfig, summary);
+	}
+
+	private static void route(LoggerConfig loggerConfig, LoggingEvent loggingEvent) {
+		//Route log message based on nameSpace & level, levels without mapping get the default route
+		RouteInfo[] routes = loggerConfig.getRoutingTable().routes(loggingEvent.getLevel(), loggingEvent.getNameSpace());
+		if ( routes.length == 1 || loggingEvent.isReusable() ) {
+			//Reusable events are copied by sinks keeping them, so the event is formatted again for every route
+			for ( int i = 0; i < routes.length; i++ ) {
+				if ( i > 0 ) {
+					loggingEvent.resetFormatting();
+				}
+				writeToRoute(loggerConfig, routes[i], loggingEvent);
+			}
+			return;
+		}
+		//Sinks may hold on to a non reusable event & format it on a worker, so every further route gets its own copy 
+		//made before the event is handed to the first route
+		LoggingEvent[] routedEvents = new LoggingEvent[routes.length];
+		routedEvents[0] = loggingEvent;
+		for ( int i = 1; i < routes.length; i++ ) {
+			routedEvents[i] = new LoggingEvent();
+			routedEvents[i].copyFrom(loggingEvent);
+			routedEvents[i].resetFormatting();
+		}
+		for ( int i = 0; i < routes.length; i++ ) {
+			writeToRoute(loggerConfig, routes[i], routedEvents[i]);
+		}
+	}
+	
+	private static void writeToRoute(LoggerConfig loggerConfig, RouteInfo routeInfo, LoggingEvent loggingEvent) {
+		Layout layout = routeInfo.layout;
+		loggingEvent.setTsFormat(routeInfo.tsFormat);
 		
-		//Route log message based on level
-		//Check if mapping is their else use default values
-		if ( !Logger.getCurrentConfig().getRoutingMap().containsKey(message.getLevel()) ) {
-			routedSink = Logger.getCurrentConfig().getDefaultSink();
-			loggingEvent = new LoggingEvent(message, Logger.getCurrentConfig().getDefaultTsFormat());
+		Sink[] sinks = routeInfo.sinks;
+		if ( !needsFormatting(sinks) ) {
+			//Sinks record the captured fields only
+			writeToSinks(loggerConfig, sinks, loggingEvent);
+			return;
+		}
+		if ( isFormattedOnWorker(sinks) ) {
+			//Only the captured fields are queued, the worker formats the message
+			loggingEvent.deferFormatting(layout);
+		} else if ( loggingEvent.isReusable() ) {
+			//Format the log message as per message formatter currently being used
+			MessageFormatter.format(loggingEvent, layout, loggingEvent.formattedBuffer());
 		} else {
-			RouteInfo routeInfo = Logger.getCurrentConfig().getRoutingMap().get(message.getLevel());
-			routedSink  = routeInfo.routedSink;
-			loggingEvent = new LoggingEvent(message, routeInfo.tsFormat);
+			loggingEvent.setFormattedMessage(MessageFormatter.format(loggingEvent, layout));
 		}
 		
-		//Format the log message as per message formatter currently being used
-		loggingEvent.setFormattedMessage(MessageFormatter.format(loggingEvent));
+		if ( sinks.length > 1 ) {
+			//Encode once, sinks copy the encoded bytes
+			try {
+				loggingEvent.encodeMessage(SHARED_ENCODER.get());
+			} catch (IOException ex) {
+				InternalLog.error(ex, "Exception while encoding message, sinks will encode it themselves");
+			}
+		}
 		
-		//Write the message to associated sink 
-		//Check if sink is running or not
-		if ( !routedSink.isStarted() ) {
-			routedSink.init();
+		writeToSinks(loggerConfig, sinks, loggingEvent);
+	}
+	
+	private static void writeToSinks(LoggerConfig loggerConfig, Sink[] sinks, LoggingEvent loggingEvent) {
+		for ( Sink routedSink : sinks ) {
+			//Write the message to associated sink 
+			//Check if sink is running or not
+			if ( !routedSink.isStarted() ) {
+				//A sink replaced by reconfiguration is not revived by a message routed through the previous table
+				if ( loggerConfig.isRetired(routedSink) ) {
+					continue;
+				}
+				routedSink.init();
+			}
+			routedSink.write(loggingEvent);
+		}
+	}
+	
+	/**
+	 * Whether any of the sinks, or the sink wrapped by an {@link AsyncSink}, writes formatted messages
+	 */
+	private static boolean needsFormatting(Sink[] sinks) {
+		for ( Sink sink : sinks ) {
+			Sink writingSink = sink instanceof AsyncSink ? ((AsyncSink) sink).getWrappedSink() : sink;
+			if ( !(writingSink instanceof UnformattedSink) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static boolean isFormattedOnWorker(Sink[] sinks) {
+		return sinks.length == 1 && sinks[0] instanceof AsyncSink && ((AsyncSink) sinks[0]).isFormatOnWorker();
+	}
+	
+	/**
+	 * Get the event to be filled for current log call. In garbage free mode the calling thread's reusable event is 
+	 * returned, unless it is already in use by an outer log call on the same thread (a sink logging while writing)
+	 */
+	private static LoggingEvent acquireEvent(LoggerConfig loggerConfig) {
+		if ( loggerConfig.isGarbageFree() ) {
+			LoggingEvent loggingEvent = REUSABLE_EVENT.get();
+			if ( !loggingEvent.isInUse() ) {
+				return loggingEvent;
+			}
 		}
-		routedSink.write(loggingEvent);
+		return new LoggingEvent();
 	}
 }
@@ -1,5 +1,8 @@
 package com.saurabh.logger;
 
+import com.saurabh.logger.metrics.LoggerMetrics;
+import com.saurabh.logger.metrics.MetricsExporter;
+
 /**
  * Entry of all library public API; you can set configurations and launch log requests using this
  * class with only a static method call.
@@ -8,7 +11,11 @@ package com.saurabh.logger;
  */
 public final class Logger {
 
-	private static LoggerConfig loggerConfig;
+	private static volatile LoggerConfig loggerConfig;
+	
+	//Guarded by Logger class
+	private static boolean shutdownHookRegistered;
+	private static boolean metricsRegistered;
 	
 	 //The constructor of this class is meaningless
     private Logger() {
@@ -24,6 +31,41 @@ public final class Logger {
             throw new NullPointerException("Customized config cannot be null!");
         }
         loggerConfig = config;
+        registerShutdownHook();
+        registerMetrics();
+    }
+    
+    /**
+     * Expose {@link #metrics()} through JMX, once. Must be called while holding Logger class lock
+     */
+    private static void registerMetrics() {
+    	if ( !metricsRegistered ) {
+    		metricsRegistered = true;
+    		MetricsExporter.register();
+    	}
+    }
+    
+    /**
+     * Shut the logger down when the JVM exits, within {@link LoggerConfig#getShutdownTimeout()}. Must be called 
+     * while holding Logger class lock
+     */
+    private static void registerShutdownHook() {
+    	if ( shutdownHookRegistered ) {
+    		return;
+    	}
+    	shutdownHookRegistered = true;
+    	try {
+    		Runtime.getRuntime().addShutdownHook(new Thread("Logger-Shutdown") {
+    			public void run() {
+    				LoggerConfig config = loggerConfig;
+    				if ( config != null && config.getShutdownTimeout() > 0 ) {
+    					config.closeWriters(config.getShutdownTimeout());
+    				}
+    			}
+    		});
+    	} catch (IllegalStateException ex) {
+    		//JVM is already shutting down
+    	}
     }
     
     /**
@@ -39,16 +81,91 @@ public final class Logger {
      * @return Current configuration; or default configuration if {@link #init(LoggerConfig)} is not called yet.
      */
     public static LoggerConfig getCurrentConfig() {
+        LoggerConfig config = loggerConfig;
+        if ( config == null ) {
+            initDefaultConfig();
+            config = loggerConfig;
+        }
+        return config;
+    }
+    
+    /**
+     * Set default config unless another thread has set a config meanwhile
+     */
+    private static synchronized void initDefaultConfig() {
         if ( loggerConfig == null ) {
-            init(LoggerConfig.defaultConfig());
+            loggerConfig = LoggerConfig.defaultConfig();
+            registerShutdownHook();
+            registerMetrics();
         }
-        return loggerConfig;
+    }
+
+    /**
+     * Write pending events of all the active sinks & close them, async sinks are drained in parallel. 
+     * Sinks are started again by the next log call
+     * @param timeoutMillis
+     * 		Time given to sinks to write pending events
+     * @return
+     * 		<code>true</code> if every pending event was written within timeout
+     */
+    public static boolean shutdown(long timeoutMillis) {
+    	return getCurrentConfig().closeWriters(timeoutMillis);
+    }
+    
+    /**
+     * Shut down within {@link LoggerConfig#getShutdownTimeout()}, see {@link #shutdown(long)}
+     * @return
+     */
+    public static boolean shutdown() {
+    	LoggerConfig config = getCurrentConfig();
+    	return config.closeWriters(config.getShutdownTimeout());
+    }
+
+    /**
+     * Snapshot of the events, bytes, latencies, queue depths & drops recorded by the sinks of current configuration.
+     * Also available through JMX as {@link MetricsExporter#OBJECT_NAME}
+     * @return
+     */
+    public static LoggerMetrics metrics() {
+    	return getCurrentConfig().getMetrics();
     }
 
     public static void log(LogMessage message) {
     	LogEngine.handleLogMessage(message);
     }
     
+    /**
+     * Check whether given level passes the threshold of the nameSpace, see {@link LoggerConfig#setLevelThreshold(String, Level)}.
+     * Useful to guard expensive argument building, varargs calls included
+     * @param level
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @return
+     */
+    public static boolean isEnabled(Level level, String nameSpace) {
+    	return getCurrentConfig().getLevelThresholds().isEnabled(nameSpace, level);
+    }
+    
+    public static boolean isDebugEnabled(String nameSpace) {
+    	return isEnabled(Level.DEBUG, nameSpace);
+    }
+    
+    public static boolean isInfoEnabled(String nameSpace) {
+    	return isEnabled(Level.INFO, nameSpace);
+    }
+    
+    public static boolean isWarnEnabled(String nameSpace) {
+    	return isEnabled(Level.WARN, nameSpace);
+    }
+    
+    public static boolean isErrorEnabled(String nameSpace) {
+    	return isEnabled(Level.ERROR, nameSpace);
+    }
+    
+    public static boolean isFatalEnabled(String nameSpace) {
+    	return isEnabled(Level.FATAL, nameSpace);
+    }
+    
     /**
      * Follows standard java debug logging format 
      * @param nameSpace
@@ -57,8 +174,190 @@ public final class Logger {
      * 		Content to be logged
      */
     public static void debug(String nameSpace, String content) {
-    	LogMessage logMessage = new LogMessage(content, Level.DEBUG, nameSpace);
-    	LogEngine.handleLogMessage(logMessage);
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, content);
+    }
+
+    /**
+     * Parameterized debug logging with one argument. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, Object argument) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized debug logging with two arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, Object argument1, Object argument2) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized debug logging with any number of arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param arguments
+     * 		Arguments substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, Object... arguments) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, arguments);
+    }
+
+    /**
+     * Parameterized debug logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, long argument) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized debug logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, double argument) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized debug logging with an object & a primitive argument, primitive one is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, Object argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized debug logging with two primitive arguments which are kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, long argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized debug logging with one char argument, logged as a character instead of being widened to its code by the long overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, char argument) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized debug logging with one float argument, logged with float precision instead of being widened by the double overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, float argument) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized debug logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, Object argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized debug logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, char argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized debug logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, long argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized debug logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void debug(String nameSpace, String format, char argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.DEBUG, nameSpace, format, argument1, argument2);
     }
     
     /**
@@ -69,8 +368,190 @@ public final class Logger {
      * 		Content to be logged
      */
     public static void info(String nameSpace, String content) {
-    	LogMessage logMessage = new LogMessage(content, Level.INFO, nameSpace);
-    	LogEngine.handleLogMessage(logMessage);
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, content);
+    }
+
+    /**
+     * Parameterized info logging with one argument. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, Object argument) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized info logging with two arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, Object argument1, Object argument2) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized info logging with any number of arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param arguments
+     * 		Arguments substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, Object... arguments) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, arguments);
+    }
+
+    /**
+     * Parameterized info logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, long argument) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized info logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, double argument) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized info logging with an object & a primitive argument, primitive one is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, Object argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized info logging with two primitive arguments which are kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, long argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized info logging with one char argument, logged as a character instead of being widened to its code by the long overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, char argument) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized info logging with one float argument, logged with float precision instead of being widened by the double overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, float argument) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized info logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, Object argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized info logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, char argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized info logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, long argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized info logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void info(String nameSpace, String format, char argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.INFO, nameSpace, format, argument1, argument2);
     }
 
     /**
@@ -81,8 +562,190 @@ public final class Logger {
      * 		Content to be logged
      */
     public static void error(String nameSpace, String content) {
-    	LogMessage logMessage = new LogMessage(content, Level.ERROR, nameSpace);
-    	LogEngine.handleLogMessage(logMessage);
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, content);
+    }
+
+    /**
+     * Parameterized error logging with one argument. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, Object argument) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized error logging with two arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, Object argument1, Object argument2) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized error logging with any number of arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param arguments
+     * 		Arguments substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, Object... arguments) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, arguments);
+    }
+
+    /**
+     * Parameterized error logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, long argument) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized error logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, double argument) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized error logging with an object & a primitive argument, primitive one is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, Object argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized error logging with two primitive arguments which are kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, long argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized error logging with one char argument, logged as a character instead of being widened to its code by the long overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, char argument) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized error logging with one float argument, logged with float precision instead of being widened by the double overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, float argument) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized error logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, Object argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized error logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, char argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized error logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, long argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized error logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void error(String nameSpace, String format, char argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.ERROR, nameSpace, format, argument1, argument2);
     }
 
     /**
@@ -93,8 +756,190 @@ public final class Logger {
      * 		Content to be logged
      */
     public static void warn(String nameSpace, String content) {
-    	LogMessage logMessage = new LogMessage(content, Level.WARN, nameSpace);
-    	LogEngine.handleLogMessage(logMessage);
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, content);
+    }
+
+    /**
+     * Parameterized warn logging with one argument. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, Object argument) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized warn logging with two arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, Object argument1, Object argument2) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized warn logging with any number of arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param arguments
+     * 		Arguments substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, Object... arguments) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, arguments);
+    }
+
+    /**
+     * Parameterized warn logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, long argument) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized warn logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, double argument) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized warn logging with an object & a primitive argument, primitive one is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, Object argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized warn logging with two primitive arguments which are kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, long argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized warn logging with one char argument, logged as a character instead of being widened to its code by the long overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, char argument) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized warn logging with one float argument, logged with float precision instead of being widened by the double overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, float argument) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized warn logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, Object argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized warn logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, char argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized warn logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, long argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized warn logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void warn(String nameSpace, String format, char argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.WARN, nameSpace, format, argument1, argument2);
     }
     
     /**
@@ -105,8 +950,190 @@ public final class Logger {
      * 		Content to be logged
      */
     public static void fatal(String nameSpace, String content) {
-    	LogMessage logMessage = new LogMessage(content, Level.FATAL, nameSpace);
-    	LogEngine.handleLogMessage(logMessage);
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, content);
+    }
+
+    /**
+     * Parameterized fatal logging with one argument. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, Object argument) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized fatal logging with two arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, Object argument1, Object argument2) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized fatal logging with any number of arguments. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param arguments
+     * 		Arguments substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, Object... arguments) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, arguments);
+    }
+
+    /**
+     * Parameterized fatal logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, long argument) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized fatal logging with one primitive argument which is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, double argument) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized fatal logging with an object & a primitive argument, primitive one is kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, Object argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized fatal logging with two primitive arguments which are kept unboxed till formatted. Content is only built when the event is formatted
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, long argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized fatal logging with one char argument, logged as a character instead of being widened to its code by the long overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, char argument) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized fatal logging with one float argument, logged with float precision instead of being widened by the double overload
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, float argument) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument);
+    }
+
+    /**
+     * Parameterized fatal logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, Object argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized fatal logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, char argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized fatal logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, long argument1, char argument2) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument1, argument2);
+    }
+
+    /**
+     * Parameterized fatal logging with two arguments, chars are logged as characters instead of being widened to their codes
+     * @param nameSpace
+     * 		Identify part of the application that sent the message
+     * @param format
+     * 		Content to be logged having <code>{}</code> placeholders
+     * @param argument1
+     * 		Argument substituted for {} placeholders
+     * @param argument2
+     * 		Argument substituted for {} placeholders
+     */
+    public static void fatal(String nameSpace, String format, char argument1, long argument2) {
+    	LogEngine.handleLogMessage(Level.FATAL, nameSpace, format, argument1, argument2);
     }
 
     /**
@@ -117,8 +1144,7 @@ public final class Logger {
      * 		Content to be logged
      */
     public static void log(String nameSpace, String content) {
-    	LogMessage logMessage = new LogMessage(content, LoggerConfig.DEFAULT_LEVEl, nameSpace);
-    	LogEngine.handleLogMessage(logMessage);
+    	LogEngine.handleLogMessage(LoggerConfig.DEFAULT_LEVEl, nameSpace, content);
     }
     
     /**
@@ -128,7 +1154,6 @@ public final class Logger {
      * @param nameSpace
      */
     public static void log(Level level, String content, String nameSpace) {
-      LogMessage logMessage = new LogMessage(content, level, nameSpace);
-      LogEngine.handleLogMessage(logMessage);
+      LogEngine.handleLogMessage(level, nameSpace, content);
     }
 }
@@ -1,22 +1,36 @@
 package com.saurabh.logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.saurabh.logger.metrics.LoggerMetrics;
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
+import com.saurabh.logger.sinks.AsyncSink;
 import com.saurabh.logger.sinks.ConsoleSink;
+import com.saurabh.logger.sinks.MeteredSink;
 import com.saurabh.logger.sinks.Sink;
 
 public final class LoggerConfig {
 
 	public static final String DEFAULT_TS_FORMAT = "dd­-mm­-yyyy-­hh-­mm­-ss";
 	public static final Level DEFAULT_LEVEl = Level.INFO;
+	public static final long DEFAULT_SHUTDOWN_TIMEOUT = 5000;
 	
 	//Default tsFormat for all the message in case no format is supplied
 	private String defaultTsFormat;
+	
+	//Default layout for all the message in case no mapping is provided
+	private Layout defaultLayout;
 			
 	//Default Sink to be used in case on level-sink mapping is provided
 	private Sink defaultSink;
@@ -24,11 +38,27 @@ public final class LoggerConfig {
 	//Default level to be used in case on info is provided
 	private Level defaultLevel;
 	
-	//Levels & routeInfo Mapping
-	private Map<Level, RouteInfo> routingMap;
+	//Levels & routeInfo Mapping, replaced as a whole on every routing change
+	private volatile RoutingTable routingTable;
 	
 	//Keep a list of currently active sinks
-	private List<Sink> currentlyActiveSinks;
+	private final List<Sink> currentlyActiveSinks;
+	
+	//Sinks closed because their route got replaced, messages still routed through an older table don't restart them
+	private final Set<Sink> retiredSinks = Collections.synchronizedSet(
+			Collections.newSetFromMap(new IdentityHashMap<Sink, Boolean>()));
+	
+	//Reuse logging events & buffers instead of allocating them on every log call
+	private volatile boolean garbageFree;
+	
+	//Minimum level per nameSpace, checked before any event is created
+	private final LevelThresholds levelThresholds = new LevelThresholds();
+	
+	//Rate limits & duplicate suppression per nameSpace, checked once the event is built
+	private final Throttling throttling = new Throttling();
+	
+	//Time given to sinks to write pending events on shutdown
+	private volatile long shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
 
 
 	public LoggerConfig(String tsFormat, Level defaultLevel, Sink defaultSink, Map<Level, RouteInfo> routingMap, 
@@ -36,9 +66,12 @@ public final class LoggerConfig {
 
 		this.defaultTsFormat = tsFormat;
 		this.defaultSink = defaultSink;
-		this.routingMap = routingMap;
 		this.defaultLevel = defaultLevel;
-		this.currentlyActiveSinks = currentlyActiveSinks;
+		this.currentlyActiveSinks = new CopyOnWriteArrayList<Sink>(currentlyActiveSinks);
+		
+		RouteInfo defaultRoute = new RouteInfo(tsFormat, Layout.DEFAULT_PATTERN, defaultSink);
+		this.defaultLayout = defaultRoute.layout;
+		this.routingTable = new RoutingTable(routingMap, defaultRoute);
 	}
 	
 	/**
@@ -94,26 +127,174 @@ public final class LoggerConfig {
 	 * This will always replace the previous mapping as it might be possible some new properties has been added or updated
 	 * Before replacing it will close the previous sink. 
 	 * Its always good to bring the state back to zero before starting new as less book keeping has to be done
+	 * <p>
+	 * New mapping is published as a new {@link RoutingTable} & previous sinks no longer routed to are closed right away.
+	 * They are retired, a message routed through the previous table meanwhile is dropped by them instead of starting 
+	 * them again
 	 * @param level
 	 * @param routeInfo
 	 */
 	public void addOrUpdateLevelRouteInfo(Level level, RouteInfo routeInfo) {
-		if ( routingMap.containsKey(level) ) {
-			Sink previousSink = routingMap.get(level).routedSink;
-			previousSink.close();
-		}
+		addOrUpdateRouteInfo(RoutingTable.ROOT_NAMESPACE, level, routeInfo);
+	}
+	
+	/**
+	 * Maps a {@link Sink} to a log {@link Level} for messages of the nameSpace & every nameSpace below it, replacing 
+	 * the previous mapping of the nameSpace & level like {@link #addOrUpdateLevelRouteInfo(Level, RouteInfo)}
+	 * @param nameSpace
+	 * 			NameSpace prefix, {@link RoutingTable#ROOT_NAMESPACE} for level routes
+	 * @param level
+	 * @param routeInfo
+	 */
+	public synchronized void addOrUpdateRouteInfo(String nameSpace, Level level, RouteInfo routeInfo) {
+		RouteInfo[] previousRoutes = routingTable.getConfiguredRoutes(nameSpace, level);
+		reinstate(routeInfo);
 		//Every possible has been done, just replace the previous one with new one now
-		routingMap.put(level, routeInfo);
+		routingTable = routingTable.withRoute(nameSpace, level, routeInfo);
+		if ( previousRoutes != null ) {
+			for ( RouteInfo previousRouteInfo : previousRoutes ) {
+				for ( Sink previousSink : previousRouteInfo.sinks ) {
+					//Sinks still routed to by other routes stay open
+					if ( !routingTable.routesTo(previousSink) ) {
+						retiredSinks.add(previousSink);
+						previousSink.close();
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Whether the sink was closed because its route got replaced, such a sink must not be started again
+	 * @param sink
+	 * @return
+	 */
+	boolean isRetired(Sink sink) {
+		return !retiredSinks.isEmpty() && retiredSinks.contains(sink);
+	}
+	
+	/**
+	 * Sinks routed to again may be started again
+	 */
+	private void reinstate(RouteInfo routeInfo) {
+		if ( !retiredSinks.isEmpty() ) {
+			for ( Sink sink : routeInfo.sinks ) {
+				retiredSinks.remove(sink);
+			}
+		}
+	}
+	
+	/**
+	 * Route a {@link Level} to one more {@link Sink}, keeping its current sinks. Sink is added to the level route 
+	 * having the same timestamp format & layout so that messages are formatted once for all of them, otherwise a new
+	 * route is added for the level
+	 * @param level
+	 * @param routeInfo
+	 */
+	public void appendLevelRouteInfo(Level level, RouteInfo routeInfo) {
+		appendRouteInfo(RoutingTable.ROOT_NAMESPACE, level, routeInfo);
+	}
+	
+	/**
+	 * Route a {@link Level} of the nameSpace to one more {@link Sink} like {@link #appendLevelRouteInfo(Level, RouteInfo)}
+	 * @param nameSpace
+	 * 			NameSpace prefix, {@link RoutingTable#ROOT_NAMESPACE} for level routes
+	 * @param level
+	 * @param routeInfo
+	 */
+	public synchronized void appendRouteInfo(String nameSpace, Level level, RouteInfo routeInfo) {
+		reinstate(routeInfo);
+		routingTable = routingTable.withAppendedRoute(nameSpace, level, routeInfo);
 	}
 
+	/**
+	 * Current routing snapshot
+	 * @return
+	 */
+	public RoutingTable getRoutingTable() {
+		return routingTable;
+	}
+
+	/**
+	 * Level routes of current routing snapshot
+	 * @return
+	 * 		Unmodifiable map, use {@link #addOrUpdateLevelRouteInfo(Level, RouteInfo)} to change routing
+	 */
 	public Map<Level, RouteInfo> getRoutingMap() {
-		return routingMap;
+		return routingTable.getRoutingMap();
+	}
+	
+	public boolean isGarbageFree() {
+		return garbageFree;
+	}
+	
+	/**
+	 * Enable or disable garbage free logging. When enabled every logging thread reuses its own {@link LoggingEvent}
+	 * & formatting buffer, {@link com.saurabh.logger.sinks.AsyncSink} copies events into pooled instances before queueing them.
+	 * Sinks must not keep references to the received events once their write method returns.
+	 * @param garbageFree
+	 */
+	public void setGarbageFree(boolean garbageFree) {
+		this.garbageFree = garbageFree;
+	}
+	
+	public LevelThresholds getLevelThresholds() {
+		return levelThresholds;
+	}
+	
+	/**
+	 * Set minimum {@link Level} logged for the nameSpace & every nameSpace below it, messages below the threshold are
+	 * dropped before any event is created for them
+	 * @param nameSpace
+	 * 			Dotted nameSpace, empty or <code>null</code> for the root threshold
+	 * @param level
+	 * 			Minimum level, <code>null</code> to inherit the threshold of parent nameSpace again
+	 */
+	public void setLevelThreshold(String nameSpace, Level level) {
+		levelThresholds.setThreshold(nameSpace, level);
+	}
+	
+	public Throttling getThrottling() {
+		return throttling;
+	}
+	
+	/**
+	 * Limit the rate of events of every nameSpace at & below the given one, see {@link Throttling#setRateLimit}
+	 * @param nameSpace
+	 * 			Dotted nameSpace, empty or <code>null</code> for the root nameSpace
+	 * @param level
+	 * 			Level limited, <code>null</code> for all levels
+	 * @param eventsPerSecond
+	 * 			Sustained rate, 0 to remove the limit
+	 * @param burst
+	 * 			Events admitted at once after being idle
+	 */
+	public void setRateLimit(String nameSpace, Level level, long eventsPerSecond, long burst) {
+		throttling.setRateLimit(nameSpace, level, eventsPerSecond, burst);
+	}
+	
+	/**
+	 * Collapse repeated identical events of every nameSpace at & below the given one, see 
+	 * {@link Throttling#setDuplicateWindow}
+	 * @param nameSpace
+	 * 			Dotted nameSpace, empty or <code>null</code> for the root nameSpace
+	 * @param level
+	 * 			Level deduplicated, <code>null</code> for all levels
+	 * @param windowMillis
+	 * 			Time duplicates are suppressed for, 0 to stop suppressing
+	 */
+	public void setDuplicateWindow(String nameSpace, Level level, long windowMillis) {
+		throttling.setDuplicateWindow(nameSpace, level, windowMillis);
 	}
 	
 	public String getDefaultTsFormat() {
 		return defaultTsFormat;
 	}
 	
+	public Layout getDefaultLayout() {
+		return defaultLayout;
+	}
+	
 	public Sink getDefaultSink() {
 		return defaultSink;
 	}
@@ -126,12 +307,97 @@ public final class LoggerConfig {
 		 return currentlyActiveSinks;
 	 }
 		 
+	 public long getShutdownTimeout() {
+		 return shutdownTimeout;
+	 }
+
+	 /**
+	  * Time in ms given to sinks to write pending events when the logger is shut down, 0 disables the shutdown hook
+	  * @param shutdownTimeout
+	  */
+	 public void setShutdownTimeout(long shutdownTimeout) {
+		 this.shutdownTimeout = shutdownTimeout;
+	 }
+		 
 	 /**
 	  * Closes all the writers while keeping the routing and activeSink info intact 
 	  */
 	 public void closeWriters() {
-		 
+		 closeWriters(shutdownTimeout);
+	 }
+
+	 /**
+	  * Closes all the writers while keeping the routing and activeSink info intact. Counts of suppressed events not 
+	  * reported yet are logged first. {@link AsyncSink} instances are drained in parallel, one thread each, other 
+	  * sinks are closed once they are done as async sinks may be writing to them
+	  * @param timeoutMillis
+	  * @return
+	  * 		<code>true</code> if every pending event was written within timeout
+	  */
+	 public boolean closeWriters(final long timeoutMillis) {
+		 long start = System.nanoTime();
+		 LogEngine.logPendingSummaries(this);
+		 final AtomicBoolean drained = new AtomicBoolean(true);
+		 List<Thread> stoppers = new ArrayList<Thread>();
+		 for ( Sink sink : currentlyActiveSinks ) {
+			 if ( sink instanceof AsyncSink && sink.isStarted() ) {
+				 final AsyncSink asyncSink = (AsyncSink) sink;
+				 Thread stopper = new Thread("Logger-Stop-" + asyncSink.getName()) {
+					 public void run() {
+						 if ( !asyncSink.stop(timeoutMillis) ) {
+							 drained.set(false);
+						 }
+					 }
+				 };
+				 stopper.setDaemon(true);
+				 stopper.start();
+				 stoppers.add(stopper);
+			 }
+		 }
+		 for ( Thread stopper : stoppers ) {
+			 try {
+				 long remainingMillis = timeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				 stopper.join(Math.max(1, remainingMillis));
+			 } catch (InterruptedException e) {
+				 Thread.currentThread().interrupt();
+			 }
+			 if ( stopper.isAlive() ) {
+				 drained.set(false);
+			 }
+		 }
+		 for ( Sink sink : currentlyActiveSinks ) {
+			 if ( !(sink instanceof AsyncSink) && sink.isStarted() ) {
+				 sink.close();
+			 }
+		 }
+		 defaultSink.flush();
+		 return drained.get();
 	 }
+	 /**
+	  * Snapshot of the metrics of the default sink & every active {@link MeteredSink}, sinks wrapped by an 
+	  * {@link AsyncSink} are listed right after it
+	  * @return
+	  */
+	 public LoggerMetrics getMetrics() {
+		 List<SinkMetricsSnapshot> snapshots = new ArrayList<SinkMetricsSnapshot>();
+		 addMetrics(defaultSink, snapshots);
+		 for ( Sink sink : currentlyActiveSinks ) {
+			 if ( sink != defaultSink ) {
+				 addMetrics(sink, snapshots);
+			 }
+			 if ( sink instanceof AsyncSink ) {
+				 addMetrics(((AsyncSink) sink).getWrappedSink(), snapshots);
+			 }
+		 }
+		 return new LoggerMetrics(System.currentTimeMillis(), snapshots);
+	 }
+
+	 private static void addMetrics(Sink sink, List<SinkMetricsSnapshot> snapshots) {
+		 if ( sink instanceof MeteredSink ) {
+			 snapshots.add(((MeteredSink) sink).getMetrics());
+		 }
+	 }
+
 	 /**
 	  * Add {@link Sink} to currently active sinks
 	  * @param sink
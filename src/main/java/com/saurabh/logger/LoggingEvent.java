@@ -1,36 +1,472 @@
 package com.saurabh.logger;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.saurabh.logger.sinks.Utf8Encoder;
+
+/**
+ * Default {@link ILoggingEvent} implementation.
+ * <p>
+ * Events are either created per log call or, in garbage free mode, reused. A <b>reusable</b> event is owned by 
+ * the logging thread and refilled through {@link #initialize(Level, String, String, String)} on every call, so sinks 
+ * must not keep a reference to it after {@link com.saurabh.logger.sinks.Sink#write(ILoggingEvent)} returns.
+ * A <b>pooled</b> event is owned by an {@link com.saurabh.logger.sinks.AsyncSink} and gets recycled once written.
+ * 
+ * @author Saurabh
+ */
 public class LoggingEvent implements ILoggingEvent {
 
+	//Initial capacity of the formatting buffer of reusable events
+	private static final int INITIAL_BUFFER_SIZE = 256;
+
+	//Arguments which can be kept inside the event without a caller supplied array
+	private static final int MAX_INLINE_ARGUMENTS = 2;
+	//Argument types returned by getArgumentType
+	public static final byte OBJECT_ARGUMENT = 0;
+	public static final byte LONG_ARGUMENT = 1;
+	public static final byte DOUBLE_ARGUMENT = 2;
+	public static final byte CHAR_ARGUMENT = 3;
+	public static final byte FLOAT_ARGUMENT = 4;
+
     /**
-     * The name of thread in which this logging event was generated.
+     * Identity of thread in which this logging event was generated, shared by all the events of the thread.
      */
-    private String threadName;
+    private ThreadIdentity threadIdentity;
     private Level level;
     private String content;
     private String nameSpace;
     private String formattedMessage;
+    private StringBuilder formattedBuffer;
     private Object[] argumentArray;
 
+    //Formatted message encoded once for all the sinks of a route
+    private ByteBuffer encodedMessage;
+    private boolean encoded;
+
+    //Layout to format the message with once it reaches the sink, null once formatted
+    private Layout deferredLayout;
+
+    //Arguments added one by one, primitive ones are kept unboxed till they are formatted
+    private int argumentCount;
+    private Object[] inlineObjects;
+    private long[] inlinePrimitives;
+    private byte[] inlineTypes;
+
      //The number of milliseconds elapsed from 1/1/1970 until logging event was created.
     private long timeStamp;
     private String tsFormat;
 
+    private boolean reusable;
+    private boolean pooled;
+    private boolean inUse;
+
+    public LoggingEvent() {
+    }
+
     public LoggingEvent(LogMessage message, String tsFormat) {           
-        this.level = message.getLevel();
-        this.content = message.getContent();
-        this.nameSpace = message.getNameSpace();
+        initialize(message.getLevel(), message.getContent(), message.getNameSpace(), tsFormat);
+    }
+
+    /**
+     * Create an event which is meant to be reused by its owner thread
+     * @return
+     */
+    public static LoggingEvent newReusableEvent() {
+        LoggingEvent loggingEvent = new LoggingEvent();
+        loggingEvent.reusable = true;
+        loggingEvent.formattedBuffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+        return loggingEvent;
+    }
+
+    /**
+     * Create an event which is meant to be recycled through an event pool
+     * @return
+     */
+    public static LoggingEvent newPooledEvent() {
+        LoggingEvent loggingEvent = new LoggingEvent();
+        loggingEvent.pooled = true;
+        loggingEvent.formattedBuffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+        return loggingEvent;
+    }
+
+    /**
+     * (Re)fill this event with the given message fields, capturing current timestamp & thread identity
+     * @param level
+     * @param content
+     * @param nameSpace
+     * @param tsFormat
+     */
+    public void initialize(Level level, String content, String nameSpace, String tsFormat) {
+        this.level = level;
+        this.content = content;
+        this.nameSpace = nameSpace;
         this.timeStamp = System.currentTimeMillis();
         this.tsFormat = tsFormat;
-        this.threadName = Thread.currentThread().getName();
+        this.threadIdentity = ThreadIdentity.current();
+        this.argumentArray = null;
+        this.argumentCount = 0;
+        this.formattedMessage = null;
+        if (formattedBuffer != null) {
+            formattedBuffer.setLength(0);
+        }
+        this.encoded = false;
+        this.deferredLayout = null;
+        this.inUse = true;
+    }
+
+    /**
+     * Set arguments to be substituted for <code>{}</code> placeholders of the content
+     * @param argumentArray
+     */
+    public void setArgumentArray(Object[] argumentArray) {
+        this.argumentArray = argumentArray;
+        this.argumentCount = argumentArray == null ? 0 : argumentArray.length;
+    }
+
+    /**
+     * Add next argument to be substituted for <code>{}</code> placeholders of the content
+     * @param argument
+     */
+    public void addArgument(Object argument) {
+        int index = nextInlineIndex();
+        inlineObjects[index] = argument;
+        inlineTypes[index] = OBJECT_ARGUMENT;
+    }
+
+    /**
+     * Add next argument, kept unboxed till formatted
+     * @param argument
+     */
+    public void addArgument(long argument) {
+        int index = nextInlineIndex();
+        inlinePrimitives[index] = argument;
+        inlineTypes[index] = LONG_ARGUMENT;
+    }
+
+    /**
+     * Add next argument, kept unboxed till formatted
+     * @param argument
+     */
+    public void addArgument(double argument) {
+        int index = nextInlineIndex();
+        inlinePrimitives[index] = Double.doubleToRawLongBits(argument);
+        inlineTypes[index] = DOUBLE_ARGUMENT;
+    }
+
+    /**
+     * Add next argument, kept unboxed till formatted & appended as a character
+     * @param argument
+     */
+    public void addArgument(char argument) {
+        int index = nextInlineIndex();
+        inlinePrimitives[index] = argument;
+        inlineTypes[index] = CHAR_ARGUMENT;
+    }
+
+    /**
+     * Add next argument, kept unboxed till formatted & appended with float precision
+     * @param argument
+     */
+    public void addArgument(float argument) {
+        int index = nextInlineIndex();
+        inlinePrimitives[index] = Float.floatToRawIntBits(argument);
+        inlineTypes[index] = FLOAT_ARGUMENT;
+    }
+
+    private int nextInlineIndex() {
+        if (argumentArray != null || argumentCount >= MAX_INLINE_ARGUMENTS) {
+            throw new IllegalStateException("At most " + MAX_INLINE_ARGUMENTS + " arguments can be added to an event");
+        }
+        if (inlineTypes == null) {
+            inlineObjects = new Object[MAX_INLINE_ARGUMENTS];
+            inlinePrimitives = new long[MAX_INLINE_ARGUMENTS];
+            inlineTypes = new byte[MAX_INLINE_ARGUMENTS];
+        }
+        return argumentCount++;
+    }
+
+    /**
+     * Number of arguments to be substituted
+     * @return
+     */
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    /**
+     * Append argument at given index to the buffer, primitive arguments are appended without boxing
+     * @param index
+     * @param sb
+     */
+    public void appendArgument(int index, StringBuilder sb) {
+        if (argumentArray != null) {
+            MessageFormatter.appendArgument(argumentArray[index], sb);
+            return;
+        }
+        switch (inlineTypes[index]) {
+            case LONG_ARGUMENT:
+                sb.append(inlinePrimitives[index]);
+                break;
+            case DOUBLE_ARGUMENT:
+                sb.append(Double.longBitsToDouble(inlinePrimitives[index]));
+                break;
+            case CHAR_ARGUMENT:
+                sb.append((char) inlinePrimitives[index]);
+                break;
+            case FLOAT_ARGUMENT:
+                sb.append(Float.intBitsToFloat((int) inlinePrimitives[index]));
+                break;
+            default:
+                MessageFormatter.appendArgument(inlineObjects[index], sb);
+        }
+    }
+
+    /**
+     * Type of argument at given index, {@link #OBJECT_ARGUMENT} for arguments passed as an array
+     * @param index
+     * @return
+     */
+    public byte getArgumentType(int index) {
+        return argumentArray != null ? OBJECT_ARGUMENT : inlineTypes[index];
+    }
+
+    /**
+     * Value of a primitive argument without boxing it, raw long bits for {@link #DOUBLE_ARGUMENT} & raw int bits for 
+     * {@link #FLOAT_ARGUMENT}
+     * @param index
+     * @return
+     */
+    public long getPrimitiveArgument(int index) {
+        return inlinePrimitives[index];
+    }
+
+    /**
+     * Argument at given index, primitive arguments get boxed
+     * @param index
+     * @return
+     */
+    public Object getArgument(int index) {
+        return argumentArray != null ? argumentArray[index] : boxedArgument(index);
+    }
+
+    private Object boxedArgument(int index) {
+        switch (inlineTypes[index]) {
+            case LONG_ARGUMENT:
+                return Long.valueOf(inlinePrimitives[index]);
+            case DOUBLE_ARGUMENT:
+                return Double.valueOf(Double.longBitsToDouble(inlinePrimitives[index]));
+            case CHAR_ARGUMENT:
+                return Character.valueOf((char) inlinePrimitives[index]);
+            case FLOAT_ARGUMENT:
+                return Float.valueOf(Float.intBitsToFloat((int) inlinePrimitives[index]));
+            default:
+                return inlineObjects[index];
+        }
+    }
+
+    /**
+     * Copy all the fields, including formatted message, of the given event into this one
+     * @param other
+     */
+    public void copyFrom(LoggingEvent other) {
+        this.level = other.level;
+        this.content = other.content;
+        this.nameSpace = other.nameSpace;
+        this.timeStamp = other.timeStamp;
+        this.tsFormat = other.tsFormat;
+        this.threadIdentity = other.threadIdentity;
+        this.argumentArray = other.argumentArray;
+        this.argumentCount = other.argumentCount;
+        if (other.argumentArray == null && other.argumentCount > 0) {
+            if (inlineTypes == null) {
+                inlineObjects = new Object[MAX_INLINE_ARGUMENTS];
+                inlinePrimitives = new long[MAX_INLINE_ARGUMENTS];
+                inlineTypes = new byte[MAX_INLINE_ARGUMENTS];
+            }
+            System.arraycopy(other.inlineObjects, 0, inlineObjects, 0, other.argumentCount);
+            System.arraycopy(other.inlinePrimitives, 0, inlinePrimitives, 0, other.argumentCount);
+            System.arraycopy(other.inlineTypes, 0, inlineTypes, 0, other.argumentCount);
+        }
+        this.formattedMessage = other.formattedMessage;
+        if (formattedBuffer == null) {
+            formattedBuffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+        }
+        formattedBuffer.setLength(0);
+        if (other.formattedMessage == null && other.formattedBuffer != null) {
+            formattedBuffer.append(other.formattedBuffer);
+        }
+        this.deferredLayout = other.deferredLayout;
+        this.encoded = other.encoded;
+        if (other.encoded) {
+            if (encodedMessage == null || encodedMessage.capacity() < other.encodedMessage.position()) {
+                encodedMessage = ByteBuffer.allocate(other.encodedMessage.capacity());
+            }
+            encodedMessage.clear();
+            encodedMessage.put(other.encodedMessage.array(), 0, other.encodedMessage.position());
+        }
+        this.inUse = true;
+    }
+
+    /**
+     * Release references held by this event so it can be reused
+     */
+    public void clear() {
+        this.content = null;
+        this.nameSpace = null;
+        this.threadIdentity = null;
+        this.argumentArray = null;
+        if (inlineObjects != null) {
+            for (int i = 0; i < argumentCount; i++) {
+                inlineObjects[i] = null;
+            }
+        }
+        this.argumentCount = 0;
+        this.formattedMessage = null;
+        if (formattedBuffer != null) {
+            formattedBuffer.setLength(0);
+        }
+        this.encoded = false;
+        this.deferredLayout = null;
+        this.inUse = false;
+    }
+
+    /**
+     * Drop formatted & encoded message so that the event can be formatted again for another route
+     */
+    void resetFormatting() {
+        this.deferredLayout = null;
+        this.formattedMessage = null;
+        if (formattedBuffer != null) {
+            formattedBuffer.setLength(0);
+        }
+        this.encoded = false;
+    }
+
+    /**
+     * Encode the formatted message followed by a new line as UTF-8, so that sinks sharing the route copy these bytes 
+     * instead of encoding the message each
+     * @param encoder
+     * @throws IOException
+     */
+    void encodeMessage(Utf8Encoder encoder) throws IOException {
+        CharSequence message = getFormattedBuffer();
+        if (message == null) {
+            return;
+        }
+        if (encodedMessage == null) {
+            encodedMessage = ByteBuffer.allocate(Math.max(INITIAL_BUFFER_SIZE, message.length() + 1));
+        }
+        encodedMessage.clear();
+        encodedMessage = encoder.encode(message, encodedMessage, Utf8Encoder.GROWING_OUTPUT);
+        encoded = true;
+    }
+
+    /**
+     * Whether formatted message has been encoded, see {@link #getEncodedBytes()}
+     * @return
+     */
+    public boolean isEncoded() {
+        return encoded;
+    }
+
+    /**
+     * UTF-8 bytes of the formatted message followed by a new line, valid till {@link #getEncodedLength()}. 
+     * Must not be modified
+     * @return
+     */
+    public byte[] getEncodedBytes() {
+        return encoded ? encodedMessage.array() : null;
+    }
+
+    public int getEncodedLength() {
+        return encoded ? encodedMessage.position() : 0;
+    }
+
+    void setTsFormat(String tsFormat) {
+        this.tsFormat = tsFormat;
     }
 
     public void setFormattedMessage(String formattedMessage) {
     	this.formattedMessage = formattedMessage;
     }
 
+    /**
+     * Leave formatting to the sink, see {@link #formatDeferred()}
+     * @param layout
+     */
+    void deferFormatting(Layout layout) {
+        this.deferredLayout = layout;
+    }
+
+    /**
+     * Whether the message still has to be formatted through {@link #formatDeferred()}
+     * @return
+     */
+    public boolean isFormattingDeferred() {
+        return deferredLayout != null;
+    }
+
+    /**
+     * Format the message with the layout of its route if formatting was left to the sink, no-op otherwise. 
+     * Called by {@link com.saurabh.logger.sinks.AsyncSink} workers so that the logging thread only captures fields
+     */
+    public void formatDeferred() {
+        if (deferredLayout != null) {
+            MessageFormatter.format(this, deferredLayout, formattedBuffer());
+            deferredLayout = null;
+        }
+    }
+
+    /**
+     * Buffer in which {@link MessageFormatter} renders the message of reusable & pooled events
+     * @return
+     */
+    StringBuilder formattedBuffer() {
+        if (formattedBuffer == null) {
+            formattedBuffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+        }
+        return formattedBuffer;
+    }
+
+    /**
+     * Whether this event is owned by a logging thread and will be refilled on its next log call
+     * @return
+     */
+    public boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * Whether this event belongs to an event pool
+     * @return
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Whether this event is currently carrying a message, used for detecting reentrant logging calls
+     * @return
+     */
+    public boolean isInUse() {
+        return inUse;
+    }
+
 	public String getThreadName() {
-		return threadName;
+		return threadIdentity == null ? null : threadIdentity.name;
+	}
+
+	public long getThreadId() {
+		return threadIdentity == null ? 0 : threadIdentity.id;
+	}
+
+	/**
+	 * Thread id rendered once per thread, used by layouts
+	 * @return
+	 */
+	String getThreadIdText() {
+		return threadIdentity == null ? null : threadIdentity.idText;
 	}
 
 	public Level getLevel() {
@@ -42,13 +478,31 @@ public class LoggingEvent implements ILoggingEvent {
 	}
 
 	public Object[] getArgumentArray() {
-		return argumentArray;
+		if (argumentArray != null || argumentCount == 0) {
+			return argumentArray;
+		}
+		//Arguments were added one by one, box them for the caller
+		Object[] arguments = new Object[argumentCount];
+		for (int i = 0; i < argumentCount; i++) {
+			arguments[i] = boxedArgument(i);
+		}
+		return arguments;
 	}
 
 	public String getFormattedMessage() {
+		if (formattedMessage == null && formattedBuffer != null && formattedBuffer.length() > 0) {
+			formattedMessage = formattedBuffer.toString();
+		}
 		return formattedMessage;
 	}
 
+	public CharSequence getFormattedBuffer() {
+		if (formattedMessage != null || formattedBuffer == null) {
+			return formattedMessage;
+		}
+		return formattedBuffer;
+	}
+
 	public String getNameSpace() {
 		return nameSpace;
 	}
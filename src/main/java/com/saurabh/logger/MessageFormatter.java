@@ -1,36 +1,137 @@
 package com.saurabh.logger;
 
+import java.util.Arrays;
+
+/**
+ * Renders {@link ILoggingEvent} through a compiled {@link Layout}
+ * 
+ * Parameterized content like <code>"user {} took {} ms"</code> gets its arguments substituted only here, 
+ * i.e. when the event is formatted. <code>\\{}</code> escapes a placeholder.
+ * @author Saurabh
+ */
 public final class MessageFormatter {
-	private static final String FORMATTING_SPACE = " ";
 	/**
-	 * Formats {@link ILoggingEvent} message before logging 
-	 * Current format is of type { Datetime [ThreadName] Level nameSpace - content } 
+	 * Formats {@link ILoggingEvent} message before logging using {@link Layout#DEFAULT}
+	 * Default format is of type { Datetime [ThreadName] Level nameSpace - content } 
 	 * like { 01-07-2018 07:01:22 [main] INFO com.phonepe.logger.messageFormatter - Assignment is ready
 	 * 
-	 * Currently formatted message length will be of max 256 characters & exception, throwable logging will be added in future
+	 * Exception, throwable logging will be added in future
 	 * 
 	 * @param event
 	 * 			{@link ILoggingEvent} to be logged
 	 * @return
 	 */
 	public static String format(ILoggingEvent event) {
+		return format(event, Layout.DEFAULT);
+	}
+
+	/**
+	 * Formats {@link ILoggingEvent} message as per given {@link Layout}
+	 * 
+	 * @param event
+	 * 			{@link ILoggingEvent} to be logged
+	 * @param layout
+	 * 			Compiled {@link Layout} of the route
+	 * @return
+	 */
+	public static String format(ILoggingEvent event, Layout layout) {
 		StringBuilder sb = new StringBuilder(256);
-		
-		//Add the date
-		sb.append(Utils.formatTimeStamp(event.getCurrentTs(), event.tsFormat())).append(FORMATTING_SPACE);
-		
-		//Add thread name
-		sb.append(String.format("[%s]", event.getThreadName())).append(FORMATTING_SPACE);
-		
-		//Add log level
-		sb.append(event.getLevel().name()).append(FORMATTING_SPACE);
-		
-		//Add nameSpace
-		sb.append(event.getNameSpace()).append(FORMATTING_SPACE);
-		
-		//Add log content
-		sb.append(event.getContent());
-		
+		layout.format(event, sb);
 		return sb.toString();
 	}
+
+	/**
+	 * Formats {@link ILoggingEvent} message by appending it to the given buffer, used by garbage free logging
+	 * to render messages into reusable buffers
+	 * 
+	 * @param event
+	 * 			{@link ILoggingEvent} to be logged
+	 * @param sb
+	 * 			Buffer to which formatted message will be appended
+	 */
+	public static void format(ILoggingEvent event, StringBuilder sb) {
+		format(event, Layout.DEFAULT, sb);
+	}
+
+	/**
+	 * Formats {@link ILoggingEvent} message as per given {@link Layout} by appending it to the given buffer
+	 * 
+	 * @param event
+	 * 			{@link ILoggingEvent} to be logged
+	 * @param layout
+	 * 			Compiled {@link Layout} of the route
+	 * @param sb
+	 * 			Buffer to which formatted message will be appended
+	 */
+	public static void format(ILoggingEvent event, Layout layout, StringBuilder sb) {
+		layout.format(event, sb);
+	}
+
+	/**
+	 * Append content of the event, substituting its arguments for <code>{}</code> placeholders if any
+	 * @param event
+	 * @param sb
+	 */
+	public static void appendContent(ILoggingEvent event, StringBuilder sb) {
+		String content = event.getContent();
+		LoggingEvent loggingEvent = event instanceof LoggingEvent ? (LoggingEvent) event : null;
+		Object[] arguments = loggingEvent == null ? event.getArgumentArray() : null;
+		int argumentCount = loggingEvent != null ? loggingEvent.getArgumentCount() : arguments == null ? 0 : arguments.length;
+		if ( argumentCount == 0 ) {
+			sb.append(content);
+			return;
+		}
+		
+		int start = 0;
+		int argumentIndex = 0;
+		while ( argumentIndex < argumentCount ) {
+			int placeholder = content.indexOf("{}", start);
+			if ( placeholder < 0 ) {
+				break;
+			}
+			if ( isEscaped(content, placeholder) ) {
+				if ( isEscaped(content, placeholder - 1) ) {
+					//Escaped escape character, keep one backslash and substitute
+					sb.append(content, start, placeholder - 1);
+				} else {
+					//Escaped placeholder, keep it as literal
+					sb.append(content, start, placeholder - 1).append("{}");
+					start = placeholder + 2;
+					continue;
+				}
+			} else {
+				sb.append(content, start, placeholder);
+			}
+			if ( loggingEvent != null ) {
+				loggingEvent.appendArgument(argumentIndex, sb);
+			} else {
+				appendArgument(arguments[argumentIndex], sb);
+			}
+			argumentIndex++;
+			start = placeholder + 2;
+		}
+		sb.append(content, start, content.length());
+	}
+	
+	private static boolean isEscaped(String content, int index) {
+		return index > 0 && content.charAt(index - 1) == '\\';
+	}
+	
+	/**
+	 * Append a single argument, a failing {@link Object#toString()} must never fail the log call
+	 * @param argument
+	 * @param sb
+	 */
+	public static void appendArgument(Object argument, StringBuilder sb) {
+		try {
+			if ( argument instanceof Object[] ) {
+				sb.append(Arrays.deepToString((Object[]) argument));
+			} else {
+				sb.append(argument);
+			}
+		} catch (Throwable ex) {
+			InternalLog.error(ex, "Failed toString() invocation on an object of type " + argument.getClass().getName());
+			sb.append("[FAILED toString()]");
+		}
+	}
 }
@@ -30,6 +30,11 @@ public final class PropertiesLoader {
 	 */
 	public static final String TS_FORMAT_PROPERTY = "ts_format";
 	
+	/**
+	 * Layout pattern property name, see {@link Layout}
+	 */
+	public static final String LAYOUT_PROPERTY = "layout";
+	
 	/**
 	 * Sink Type property name
 	 */
@@ -45,10 +50,98 @@ public final class PropertiesLoader {
 	 */
 	public static final String THREAD_MODEL_PROPERTY = "thread_model";
 	
+	/**
+	 * Async worker count property name, used with MULTI & PARTITIONED thread models
+	 */
+	public static final String WORKER_COUNT_PROPERTY = "worker_count";
+	
+	/**
+	 * Async worker thread type property name, PLATFORM or VIRTUAL
+	 */
+	public static final String WORKER_TYPE_PROPERTY = "worker_type";
+	
 	/**
 	 * Sink write mode property name
 	 */
 	public static final String WRITE_MODE_PROPERTY = "write_mode";
+
+	/**
+	 * Ring buffer wait strategy property name
+	 */
+	public static final String WAIT_STRATEGY_PROPERTY = "wait_strategy";
+
+	/**
+	 * Async queue size property name
+	 */
+	public static final String QUEUE_SIZE_PROPERTY = "queue_size";
+
+	/**
+	 * Async worker batch size property name
+	 */
+	public static final String BATCH_SIZE_PROPERTY = "batch_size";
+
+	/**
+	 * Async queue overflow policy property name
+	 */
+	public static final String OVERFLOW_POLICY_PROPERTY = "overflow_policy";
+
+	/**
+	 * Async queue overflow timeout in ms property name, used with {@link GlobalConstants#OVERFLOW_POLICY_BLOCK_TIMEOUT}
+	 */
+	public static final String OVERFLOW_TIMEOUT_PROPERTY = "overflow_timeout";
+
+	/**
+	 * Lowest level kept on a full async queue property name, used with {@link GlobalConstants#OVERFLOW_POLICY_DROP_BELOW_LEVEL}
+	 */
+	public static final String OVERFLOW_LEVEL_PROPERTY = "overflow_level";
+
+	/**
+	 * Async worker formatting property name, when true messages are formatted by the workers
+	 */
+	public static final String FORMAT_ON_WORKER_PROPERTY = "format_on_worker";
+
+	/**
+	 * Garbage free logging property name, applies to the whole logger
+	 */
+	public static final String GARBAGE_FREE_PROPERTY = "garbage_free";
+
+	/**
+	 * Shutdown timeout in ms property name, applies to the whole logger
+	 */
+	public static final String SHUTDOWN_TIMEOUT_PROPERTY = "shutdown_timeout";
+
+	/**
+	 * Minimum level property name, applies to <b>namespace</b> & every nameSpace below it
+	 */
+	public static final String MIN_LEVEL_PROPERTY = "min_level";
+
+	/**
+	 * NameSpace property name, root nameSpace is used when not given. Applies to <b>min_level</b> and, when given 
+	 * along with a sink, restricts the route to the nameSpace & every nameSpace below it
+	 */
+	public static final String NAMESPACE_PROPERTY = "namespace";
+
+	/**
+	 * Rate limit property name, events per second allowed per nameSpace at & below <b>namespace</b>. Applies to 
+	 * <b>log_level</b> when given, otherwise to all levels
+	 */
+	public static final String RATE_LIMIT_PROPERTY = "rate_limit";
+
+	/**
+	 * Rate limit burst property name, events allowed at once after being idle. <b>rate_limit</b> by default
+	 */
+	public static final String RATE_BURST_PROPERTY = "rate_burst";
+
+	/**
+	 * Duplicate window property name, time in ms repeated identical events are collapsed for. Applies like 
+	 * <b>rate_limit</b>
+	 */
+	public static final String DUPLICATE_WINDOW_PROPERTY = "duplicate_window";
+
+	/**
+	 * Route mode property name, {@link GlobalConstants#ROUTE_MODE_REPLACE} by default
+	 */
+	public static final String ROUTE_MODE_PROPERTY = "route_mode";
 	
 	/**
 	 * Update logger configuration from .
@@ -61,8 +154,24 @@ public final class PropertiesLoader {
 	 *            
 	 */
 	public static LoggerConfig readProperties(final Properties properties, final LoggerConfig loggerConfig) {
+		readGarbageFree(properties, loggerConfig);
+		readLevelThreshold(properties, loggerConfig);
+		readShutdownTimeout(properties, loggerConfig);
+		readThrottling(properties, loggerConfig);
+		if ( !properties.containsKey(SINK_TYPE_PROPERTY) && ( properties.containsKey(GARBAGE_FREE_PROPERTY) 
+				|| properties.containsKey(MIN_LEVEL_PROPERTY) || properties.containsKey(SHUTDOWN_TIMEOUT_PROPERTY) 
+				|| properties.containsKey(RATE_LIMIT_PROPERTY) || properties.containsKey(DUPLICATE_WINDOW_PROPERTY) ) ) {
+			//Only logger wide settings have been passed
+			return loggerConfig;
+		}
+		
 		Level level  = readLevel(properties);
+		if ( level == null ) {
+			InternalLog.error("No " + LOG_LEVEL_PROPERTY + " given, sink can't be routed");
+			return loggerConfig;
+		}
 		String tsFormat = readTsFormat(properties);
+		String layout = readLayout(properties, tsFormat);
 		Sink sink = readSink(properties);
 
 		if ( sink == null ) {
@@ -77,23 +186,52 @@ public final class PropertiesLoader {
 		String writeMode = readWriteMode(properties);
 		
 		//Check if write mode is of Async type, if yes than wrap the current sink class with Async sink implementation
-		if ( writeMode != null && writeMode.equalsIgnoreCase(GlobalConstants.ASYNC_WRITE_MODE) ) {
+		if ( isAsyncWriteMode(writeMode) ) {
 			AsyncSink asyncSink = new AsyncSink();
 			asyncSink.setWrappedSink(sink);
+			asyncSink.setWriteMode(writeMode.toUpperCase(Locale.ENGLISH));
 			if ( threadModel != null ) {
 				asyncSink.setThreadModel(threadModel);
 			}
+			Object workerCount = properties.containsKey(WORKER_COUNT_PROPERTY) ? 
+					convertToDesiredType(int.class, properties.getProperty(WORKER_COUNT_PROPERTY)) : null;
+			if ( workerCount != null ) {
+				asyncSink.setWorkerThreadsCount((Integer) workerCount);
+			}
+			if ( properties.containsKey(WORKER_TYPE_PROPERTY) ) {
+				asyncSink.setWorkerType(properties.getProperty(WORKER_TYPE_PROPERTY));
+			}
+			if ( properties.containsKey(WAIT_STRATEGY_PROPERTY) ) {
+				asyncSink.setWaitStrategy(properties.getProperty(WAIT_STRATEGY_PROPERTY));
+			}
+			Object queueSize = properties.containsKey(QUEUE_SIZE_PROPERTY) ? 
+					convertToDesiredType(int.class, properties.getProperty(QUEUE_SIZE_PROPERTY)) : null;
+			if ( queueSize != null ) {
+				asyncSink.setQueueSize((Integer) queueSize);
+			}
+			Object batchSize = properties.containsKey(BATCH_SIZE_PROPERTY) ? 
+					convertToDesiredType(int.class, properties.getProperty(BATCH_SIZE_PROPERTY)) : null;
+			if ( batchSize != null ) {
+				asyncSink.setBatchSize((Integer) batchSize);
+			}
+			
+			readOverflowPolicy(properties, asyncSink);
+			Object formatOnWorker = properties.containsKey(FORMAT_ON_WORKER_PROPERTY) ? 
+					convertToDesiredType(boolean.class, properties.getProperty(FORMAT_ON_WORKER_PROPERTY)) : null;
+			if ( formatOnWorker != null ) {
+				asyncSink.setFormatOnWorker((Boolean) formatOnWorker);
+			}
 			
 			Sink alreadyActiveAsyncSink = getAlreadyActiveSink(asyncSink, loggerConfig);
 		    asyncSink = alreadyActiveAsyncSink == null ? asyncSink : (AsyncSink)alreadyActiveAsyncSink;
 
 			//Update the level route mapping
-			loggerConfig.addOrUpdateLevelRouteInfo(level, new RouteInfo(tsFormat, asyncSink));
+			addRoute(properties, loggerConfig, level, new RouteInfo(tsFormat, layout, asyncSink));
 			if (alreadyActiveAsyncSink == null) {
 				loggerConfig.addActiveSync(asyncSink);
 			}
 		} else {
-			loggerConfig.addOrUpdateLevelRouteInfo(level, new RouteInfo(tsFormat, sink));
+			addRoute(properties, loggerConfig, level, new RouteInfo(tsFormat, layout, sink));
 		    if (alreadyActiveSink == null) {
 		    	loggerConfig.addActiveSync(sink);
 		    }
@@ -101,6 +239,46 @@ public final class PropertiesLoader {
 		return loggerConfig;
 	}
 	
+	/**
+	 * Replace the level routes of the nameSpace, or add to them in case of {@link GlobalConstants#ROUTE_MODE_APPEND}
+	 */
+	private static void addRoute(final Properties properties, final LoggerConfig loggerConfig, Level level, RouteInfo routeInfo) {
+		String routeMode = properties.getProperty(ROUTE_MODE_PROPERTY);
+		String nameSpace = properties.getProperty(NAMESPACE_PROPERTY);
+		if ( routeMode != null && routeMode.trim().equalsIgnoreCase(GlobalConstants.ROUTE_MODE_APPEND) ) {
+			loggerConfig.appendRouteInfo(nameSpace, level, routeInfo);
+		} else {
+			if ( routeMode != null && !routeMode.trim().equalsIgnoreCase(GlobalConstants.ROUTE_MODE_REPLACE) ) {
+				InternalLog.warn("Unknown route mode " + routeMode + ", level routes will be replaced");
+			}
+			loggerConfig.addOrUpdateRouteInfo(nameSpace, level, routeInfo);
+		}
+	}
+	
+	private static void readOverflowPolicy(final Properties properties, final AsyncSink asyncSink) {
+		if ( properties.containsKey(OVERFLOW_POLICY_PROPERTY) ) {
+			asyncSink.setOverflowPolicy(properties.getProperty(OVERFLOW_POLICY_PROPERTY));
+		}
+		Object overflowTimeout = properties.containsKey(OVERFLOW_TIMEOUT_PROPERTY) ? 
+				convertToDesiredType(long.class, properties.getProperty(OVERFLOW_TIMEOUT_PROPERTY)) : null;
+		if ( overflowTimeout != null ) {
+			asyncSink.setOverflowTimeout((Long) overflowTimeout);
+		}
+		String overflowLevel = properties.getProperty(OVERFLOW_LEVEL_PROPERTY);
+		if ( overflowLevel != null && overflowLevel.length() > 0 ) {
+			try {
+				asyncSink.setOverflowLevel(Level.valueOf(overflowLevel.trim().toUpperCase(Locale.ENGLISH)));
+			} catch (IllegalArgumentException ex) {
+				InternalLog.error(ex, "Invalid overflow level " + overflowLevel + ", default level will be used");
+			}
+		}
+	}
+	
+	private static boolean isAsyncWriteMode(String writeMode) {
+		return writeMode != null && ( writeMode.equalsIgnoreCase(GlobalConstants.ASYNC_WRITE_MODE) 
+				|| writeMode.equalsIgnoreCase(GlobalConstants.RING_WRITE_MODE) );
+	}
+	
 	private static Sink getAlreadyActiveSink(Sink sink, LoggerConfig loggerConfig) {
 		for (Sink activeSink : loggerConfig.getCurrentlyActiveSinks()) {
 			if (activeSink.equals(sink)) {
@@ -119,8 +297,94 @@ public final class PropertiesLoader {
 		}
 	}
 
+	private static void readGarbageFree(final Properties properties, final LoggerConfig loggerConfig) {
+		if ( properties.containsKey(GARBAGE_FREE_PROPERTY) ) {
+			Object garbageFree = convertToDesiredType(boolean.class, properties.getProperty(GARBAGE_FREE_PROPERTY));
+			if ( garbageFree != null ) {
+				loggerConfig.setGarbageFree((Boolean) garbageFree);
+			}
+		}
+	}
+
+	private static void readShutdownTimeout(final Properties properties, final LoggerConfig loggerConfig) {
+		if ( properties.containsKey(SHUTDOWN_TIMEOUT_PROPERTY) ) {
+			Object shutdownTimeout = convertToDesiredType(long.class, properties.getProperty(SHUTDOWN_TIMEOUT_PROPERTY));
+			if ( shutdownTimeout != null ) {
+				loggerConfig.setShutdownTimeout((Long) shutdownTimeout);
+			}
+		}
+	}
+
+	private static void readLevelThreshold(final Properties properties, final LoggerConfig loggerConfig) {
+		String levelName = properties.getProperty(MIN_LEVEL_PROPERTY);
+		if ( levelName == null || levelName.length() == 0 ) {
+			return;
+		}
+		try {
+			Level level = Level.valueOf(levelName.toUpperCase(Locale.ENGLISH));
+			loggerConfig.setLevelThreshold(properties.getProperty(NAMESPACE_PROPERTY), level);
+		} catch (IllegalArgumentException ex) {
+			InternalLog.error(ex, "Invalid minimum level " + levelName + ", threshold not updated");
+		}
+	}
+
+	private static void readThrottling(final Properties properties, final LoggerConfig loggerConfig) {
+		if ( !properties.containsKey(RATE_LIMIT_PROPERTY) && !properties.containsKey(DUPLICATE_WINDOW_PROPERTY) ) {
+			return;
+		}
+		Level level;
+		try {
+			level = readLevel(properties);
+		} catch (IllegalArgumentException ex) {
+			InternalLog.error(ex, "Invalid level " + properties.getProperty(LOG_LEVEL_PROPERTY) + ", throttling not updated");
+			return;
+		}
+		String nameSpace = properties.getProperty(NAMESPACE_PROPERTY);
+		if ( properties.containsKey(RATE_LIMIT_PROPERTY) ) {
+			Object rateLimit = convertToDesiredType(long.class, properties.getProperty(RATE_LIMIT_PROPERTY));
+			Object burst = properties.containsKey(RATE_BURST_PROPERTY) ? 
+					convertToDesiredType(long.class, properties.getProperty(RATE_BURST_PROPERTY)) : null;
+			if ( rateLimit != null ) {
+				loggerConfig.setRateLimit(nameSpace, level, (Long) rateLimit, burst == null ? 0 : (Long) burst);
+			}
+		}
+		if ( properties.containsKey(DUPLICATE_WINDOW_PROPERTY) ) {
+			Object window = convertToDesiredType(long.class, properties.getProperty(DUPLICATE_WINDOW_PROPERTY));
+			if ( window != null ) {
+				loggerConfig.setDuplicateWindow(nameSpace, level, (Long) window);
+			}
+		}
+	}
+
 	private static String readTsFormat(final Properties properties) {
-		return properties.getProperty(TS_FORMAT_PROPERTY);
+		String tsFormat = properties.getProperty(TS_FORMAT_PROPERTY);
+		if ( tsFormat == null ) {
+			return null;
+		}
+		try {
+			TimestampFormatter.forPattern(tsFormat);
+			return tsFormat;
+		} catch (IllegalArgumentException ex) {
+			InternalLog.error(ex, "Invalid timestamp format " + tsFormat + ", default format will be used");
+			return LoggerConfig.DEFAULT_TS_FORMAT;
+		}
+	}
+	
+	/**
+	 * Read & validate the layout pattern, falls back to {@link Layout#DEFAULT_PATTERN} if the pattern can't be compiled
+	 */
+	private static String readLayout(final Properties properties, String tsFormat) {
+		String layout = properties.getProperty(LAYOUT_PROPERTY);
+		if ( layout == null ) {
+			return null;
+		}
+		try {
+			Layout.compile(layout, tsFormat);
+			return layout;
+		} catch (IllegalArgumentException ex) {
+			InternalLog.error(ex, "Invalid layout " + layout + ", default layout will be used");
+			return null;
+		}
 	}
 	
 	private static String readThreadModel(final Properties properties) {
@@ -259,13 +523,20 @@ public final class PropertiesLoader {
 		        InternalLog.error("Invalid number" + value + " passed for property ");
 				return null;
 			}
+		} else if (long.class.equals(type)) {
+			try {
+				obj = Long.parseLong(value);
+			} catch (NumberFormatException ex) {
+		        InternalLog.error("Invalid number" + value + " passed for property ");
+				return null;
+			}
 		} else if (String.class.equals(type)) {
 			obj = value;
 		} else if (String[].class.equals(type)) {
 			obj = parseStrings(value);
 		} else {
 			InternalLog.error(
-		            "An unsupported type" + type.getName() + " is passed, currently supported types are String, String[], int, boolean");
+		            "An unsupported type" + type.getName() + " is passed, currently supported types are String, String[], int, long, boolean");
 		}
 		return obj;
 	}
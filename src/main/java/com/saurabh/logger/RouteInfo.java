@@ -1,24 +1,82 @@
 package com.saurabh.logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import com.saurabh.logger.sinks.Sink;
 
 /**
- * Wraps {@link Sink} & timestamp format info for routing logs based on {@link Level} 
+ * Wraps {@link Sink}, timestamp format & {@link Layout} info for routing logs based on {@link Level} 
+ * Routes are published to logging threads through {@link RoutingTable}, add a new route through
+ * {@link LoggerConfig#addOrUpdateLevelRouteInfo(Level, RouteInfo)} instead of changing a published one
  * @author Saurabh
  */
 public class RouteInfo {
 	//Timestamp format to be used when log message is routed to given sink
 	public String tsFormat;
 	
+	//Compiled layout to be used when log message is routed to given sink
+	public Layout layout;
+	
+	//First sink of the route
 	public Sink routedSink;
+	
+	//All the sinks sharing this timestamp format & layout, messages are formatted once for all of them
+	public final Sink[] sinks;
 
 	public RouteInfo(String tsFormat, Sink roSink ) {
+		this(tsFormat, null, roSink);
+	}
+	
+	/**
+	 * @param tsFormat
+	 * @param layoutPattern
+	 * 			{@link Layout} pattern, {@link Layout#DEFAULT_PATTERN} is used when <code>null</code>
+	 * @param roSink
+	 */
+	public RouteInfo(String tsFormat, String layoutPattern, Sink roSink ) {
 		this.tsFormat = tsFormat;
 		this.routedSink = roSink;
+		this.sinks = new Sink[] { roSink };
+		this.layout = Layout.compile(layoutPattern == null ? Layout.DEFAULT_PATTERN : layoutPattern, tsFormat);
+	}
+	
+	private RouteInfo(String tsFormat, Layout layout, Sink[] sinks) {
+		this.tsFormat = tsFormat;
+		this.layout = layout;
+		this.sinks = sinks;
+		this.routedSink = sinks[0];
+	}
+	
+	/**
+	 * Check whether messages of both routes are formatted the same way
+	 * @param other
+	 * @return
+	 */
+	public boolean sharesFormatting(RouteInfo other) {
+		boolean sameTsFormat = tsFormat == null ? other.tsFormat == null : tsFormat.equals(other.tsFormat);
+		return sameTsFormat && layout.getPattern().equals(other.layout.getPattern());
+	}
+	
+	/**
+	 * Copy of this route with sinks of the other route added, sinks already part of this route are skipped
+	 * @param other
+	 * @return
+	 */
+	RouteInfo withSinks(RouteInfo other) {
+		List<Sink> mergedSinks = new ArrayList<Sink>(Arrays.asList(sinks));
+		for ( Sink sink : other.sinks ) {
+			if ( !mergedSinks.contains(sink) ) {
+				mergedSinks.add(sink);
+			}
+		}
+		return new RouteInfo(tsFormat, layout, mergedSinks.toArray(new Sink[mergedSinks.size()]));
 	}
 	
 	public void setTsFormat(String tsFormat) {
 		this.tsFormat = tsFormat;
+		this.layout = Layout.compile(layout.getPattern(), tsFormat);
 	}
 }
 
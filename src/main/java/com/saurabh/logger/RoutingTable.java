@@ -0,0 +1,328 @@
+package com.saurabh.logger;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.saurabh.logger.sinks.Sink;
+
+/**
+ * Immutable snapshot of level routing used by {@link LogEngine}. Routes are kept in an array indexed by 
+ * {@link Level#ordinal()}, levels without a mapping point at the default route, so routing a message is a single 
+ * array lookup.
+ * <p>
+ * A level can be routed to several sinks. Sinks sharing timestamp format & layout are grouped into one 
+ * {@link RouteInfo} so that messages are formatted once per group.
+ * <p>
+ * Routes can also be bound to a nameSpace, applying to it & every nameSpace below it in the dotted hierarchy. 
+ * NameSpace routes are compiled into a trie on nameSpace segments, the most specific route for the level wins and 
+ * level routes are used when none matches. Resolved routes are cached per nameSpace, so routing cost doesn't depend 
+ * on the number of nameSpace routes.
+ * <p>
+ * {@link LoggerConfig} builds a new table on every routing change & publishes it through a volatile field, 
+ * a message is always routed as per one complete snapshot.
+ *
+ * @author Saurabh
+ */
+public final class RoutingTable {
+
+	public static final String ROOT_NAMESPACE = "";
+
+	/**
+	 * Trie node for a nameSpace segment
+	 */
+	private static final class Node {
+		final Map<String, Node> children = new HashMap<String, Node>();
+		//Routes per level ordinal, null for levels without a route at this nameSpace
+		RouteInfo[][] routes;
+	}
+
+	private final RouteInfo[][] routes;
+	//Route groups per nameSpace & level, root nameSpace holds the level routes
+	private final Map<String, EnumMap<Level, RouteInfo[]>> routeGroups;
+	private final Map<Level, RouteInfo> routingMap;
+	private final RouteInfo defaultRoute;
+	private final Node root = new Node();
+	private final ConcurrentMap<String, RouteInfo[][]> resolvedRoutes = new ConcurrentHashMap<String, RouteInfo[][]>();
+
+	/**
+	 * @param routingMap
+	 * 			Level routes, copied
+	 * @param defaultRoute
+	 * 			Route used for levels without mapping
+	 */
+	RoutingTable(Map<Level, RouteInfo> routingMap, RouteInfo defaultRoute) {
+		this(defaultRoute, toGroups(routingMap));
+	}
+
+	private RoutingTable(RouteInfo defaultRoute, Map<String, EnumMap<Level, RouteInfo[]>> routeGroups) {
+		this.routeGroups = routeGroups;
+		this.defaultRoute = defaultRoute;
+
+		EnumMap<Level, RouteInfo[]> levelGroups = routeGroups.get(ROOT_NAMESPACE);
+		Map<Level, RouteInfo> firstRoutes = new EnumMap<Level, RouteInfo>(Level.class);
+		Level[] levels = Level.values();
+		RouteInfo[] defaultRoutes = new RouteInfo[] { defaultRoute };
+		this.routes = new RouteInfo[levels.length][];
+		for ( Level level : levels ) {
+			RouteInfo[] levelRoutes = levelGroups == null ? null : levelGroups.get(level);
+			routes[level.ordinal()] = levelRoutes == null ? defaultRoutes : levelRoutes;
+			if ( levelRoutes != null ) {
+				firstRoutes.put(level, levelRoutes[0]);
+			}
+		}
+		this.routingMap = Collections.unmodifiableMap(firstRoutes);
+
+		for ( Map.Entry<String, EnumMap<Level, RouteInfo[]>> entry : routeGroups.entrySet() ) {
+			if ( !entry.getKey().equals(ROOT_NAMESPACE) ) {
+				addToTrie(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	private static Map<String, EnumMap<Level, RouteInfo[]>> toGroups(Map<Level, RouteInfo> routingMap) {
+		EnumMap<Level, RouteInfo[]> levelGroups = new EnumMap<Level, RouteInfo[]>(Level.class);
+		for ( Map.Entry<Level, RouteInfo> entry : routingMap.entrySet() ) {
+			levelGroups.put(entry.getKey(), new RouteInfo[] { entry.getValue() });
+		}
+		Map<String, EnumMap<Level, RouteInfo[]>> routeGroups = new HashMap<String, EnumMap<Level, RouteInfo[]>>();
+		routeGroups.put(ROOT_NAMESPACE, levelGroups);
+		return routeGroups;
+	}
+
+	private void addToTrie(String nameSpace, EnumMap<Level, RouteInfo[]> levelGroups) {
+		Node node = root;
+		for ( String segment : nameSpace.split("\\.") ) {
+			Node child = node.children.get(segment);
+			if ( child == null ) {
+				child = new Node();
+				node.children.put(segment, child);
+			}
+			node = child;
+		}
+		node.routes = new RouteInfo[Level.values().length][];
+		for ( Map.Entry<Level, RouteInfo[]> entry : levelGroups.entrySet() ) {
+			node.routes[entry.getKey().ordinal()] = entry.getValue();
+		}
+	}
+
+	/**
+	 * Get the first route for level, default route if no mapping has been provided
+	 * @param level
+	 * @return
+	 */
+	public RouteInfo route(Level level) {
+		return routes[level.ordinal()][0];
+	}
+
+	/**
+	 * Get all the level routes, one per distinct timestamp format & layout
+	 * @param level
+	 * @return
+	 * 		Routes, must not be modified
+	 */
+	public RouteInfo[] routes(Level level) {
+		return routes[level.ordinal()];
+	}
+
+	/**
+	 * Get all the routes for level & nameSpace, falling back to level routes when no nameSpace route matches
+	 * @param level
+	 * @param nameSpace
+	 * @return
+	 * 		Routes, must not be modified
+	 */
+	public RouteInfo[] routes(Level level, String nameSpace) {
+		if ( root.children.isEmpty() ) {
+			return routes[level.ordinal()];
+		}
+		RouteInfo[][] nameSpaceRoutes = resolvedRoutes.get(nameSpace);
+		if ( nameSpaceRoutes == null ) {
+			nameSpaceRoutes = resolve(nameSpace);
+			RouteInfo[][] previous = resolvedRoutes.putIfAbsent(nameSpace, nameSpaceRoutes);
+			if ( previous != null ) {
+				nameSpaceRoutes = previous;
+			}
+		}
+		return nameSpaceRoutes[level.ordinal()];
+	}
+
+	/**
+	 * Walk down the trie along nameSpace segments, deeper routes overriding the ones found above them
+	 */
+	private RouteInfo[][] resolve(String nameSpace) {
+		RouteInfo[][] resolved = routes.clone();
+		Node node = root;
+		int start = 0;
+		while ( start <= nameSpace.length() ) {
+			int end = nameSpace.indexOf('.', start);
+			if ( end < 0 ) {
+				end = nameSpace.length();
+			}
+			node = node.children.get(nameSpace.substring(start, end));
+			if ( node == null ) {
+				break;
+			}
+			if ( node.routes != null ) {
+				for ( int i = 0; i < resolved.length; i++ ) {
+					if ( node.routes[i] != null ) {
+						resolved[i] = node.routes[i];
+					}
+				}
+			}
+			start = end + 1;
+		}
+		return resolved;
+	}
+
+	/**
+	 * Configured level routes, default route & nameSpace routes excluded. Levels routed with several formats map to 
+	 * their first route
+	 * @return
+	 * 		Unmodifiable map
+	 */
+	public Map<Level, RouteInfo> getRoutingMap() {
+		return routingMap;
+	}
+
+	/**
+	 * Routes configured for exactly this nameSpace
+	 * @param nameSpace
+	 * @param level
+	 * @return
+	 * 		Routes, <code>null</code> if none configured. Must not be modified
+	 */
+	public RouteInfo[] getConfiguredRoutes(String nameSpace, Level level) {
+		EnumMap<Level, RouteInfo[]> levelGroups = routeGroups.get(normalize(nameSpace));
+		return levelGroups == null ? null : levelGroups.get(level);
+	}
+
+	public RouteInfo getDefaultRoute() {
+		return defaultRoute;
+	}
+
+	/**
+	 * Whether any route of this table, default route included, writes to this very sink instance
+	 * @param sink
+	 * @return
+	 */
+	boolean routesTo(Sink sink) {
+		if ( contains(defaultRoute, sink) ) {
+			return true;
+		}
+		for ( EnumMap<Level, RouteInfo[]> levelGroups : routeGroups.values() ) {
+			for ( RouteInfo[] levelRoutes : levelGroups.values() ) {
+				for ( RouteInfo routeInfo : levelRoutes ) {
+					if ( contains(routeInfo, sink) ) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean contains(RouteInfo routeInfo, Sink sink) {
+		for ( Sink routedSink : routeInfo.sinks ) {
+			if ( routedSink == sink ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copy of this table with all the routes of given level replaced
+	 * @param level
+	 * @param routeInfo
+	 * @return
+	 */
+	RoutingTable withRoute(Level level, RouteInfo routeInfo) {
+		return withRoute(ROOT_NAMESPACE, level, routeInfo);
+	}
+
+	/**
+	 * Copy of this table with all the routes of given nameSpace & level replaced
+	 * @param nameSpace
+	 * @param level
+	 * @param routeInfo
+	 * @return
+	 */
+	RoutingTable withRoute(String nameSpace, Level level, RouteInfo routeInfo) {
+		return withRoutes(normalize(nameSpace), level, new RouteInfo[] { routeInfo });
+	}
+
+	/**
+	 * Copy of this table with given route added to the level routes. Sinks are added to the route sharing their 
+	 * formatting, if any
+	 * @param level
+	 * @param routeInfo
+	 * @return
+	 */
+	RoutingTable withAppendedRoute(Level level, RouteInfo routeInfo) {
+		return withAppendedRoute(ROOT_NAMESPACE, level, routeInfo);
+	}
+
+	/**
+	 * Copy of this table with given route added to the nameSpace & level routes. Sinks are added to the route 
+	 * sharing their formatting, if any
+	 * @param nameSpace
+	 * @param level
+	 * @param routeInfo
+	 * @return
+	 */
+	RoutingTable withAppendedRoute(String nameSpace, Level level, RouteInfo routeInfo) {
+		String key = normalize(nameSpace);
+		RouteInfo[] levelRoutes = getConfiguredRoutes(key, level);
+		if ( levelRoutes == null ) {
+			return withRoutes(key, level, new RouteInfo[] { routeInfo });
+		}
+		RouteInfo[] updatedRoutes = null;
+		for ( int i = 0; i < levelRoutes.length; i++ ) {
+			if ( levelRoutes[i].sharesFormatting(routeInfo) ) {
+				updatedRoutes = levelRoutes.clone();
+				updatedRoutes[i] = levelRoutes[i].withSinks(routeInfo);
+				break;
+			}
+		}
+		if ( updatedRoutes == null ) {
+			updatedRoutes = new RouteInfo[levelRoutes.length + 1];
+			System.arraycopy(levelRoutes, 0, updatedRoutes, 0, levelRoutes.length);
+			updatedRoutes[levelRoutes.length] = routeInfo;
+		}
+		return withRoutes(key, level, updatedRoutes);
+	}
+
+	private RoutingTable withRoutes(String nameSpace, Level level, RouteInfo[] levelRoutes) {
+		Map<String, EnumMap<Level, RouteInfo[]>> updatedGroups = new HashMap<String, EnumMap<Level, RouteInfo[]>>();
+		for ( Map.Entry<String, EnumMap<Level, RouteInfo[]>> entry : routeGroups.entrySet() ) {
+			updatedGroups.put(entry.getKey(), new EnumMap<Level, RouteInfo[]>(entry.getValue()));
+		}
+		EnumMap<Level, RouteInfo[]> levelGroups = updatedGroups.get(nameSpace);
+		if ( levelGroups == null ) {
+			levelGroups = new EnumMap<Level, RouteInfo[]>(Level.class);
+			updatedGroups.put(nameSpace, levelGroups);
+		}
+		levelGroups.put(level, levelRoutes);
+		return new RoutingTable(defaultRoute, updatedGroups);
+	}
+
+	/**
+	 * NameSpace route key, a trailing <code>.*</code> is accepted as in <code>audit.*</code>
+	 */
+	private static String normalize(String nameSpace) {
+		if ( nameSpace == null ) {
+			return ROOT_NAMESPACE;
+		}
+		String key = nameSpace.trim();
+		if ( key.endsWith(".*") ) {
+			key = key.substring(0, key.length() - 2);
+		} else if ( key.equals("*") ) {
+			key = ROOT_NAMESPACE;
+		}
+		return key;
+	}
+}
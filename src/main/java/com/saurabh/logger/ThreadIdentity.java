@@ -0,0 +1,40 @@
+package com.saurabh.logger;
+
+/**
+ * Identity of a logging thread captured by every {@link LoggingEvent}.
+ * <p>
+ * One instance is cached per thread so that capturing it doesn't build any string, the id is rendered once when the 
+ * instance is created. Instances are immutable & replaced when the thread gets renamed, so events may keep sharing 
+ * them after being handed over to other threads.
+ * @author Saurabh
+ */
+final class ThreadIdentity {
+
+	private static final ThreadLocal<ThreadIdentity> CURRENT = new ThreadLocal<ThreadIdentity>();
+
+	final String name;
+	final long id;
+	final String idText;
+
+	private ThreadIdentity(String name, long id) {
+		this.name = name;
+		this.id = id;
+		this.idText = Long.toString(id);
+	}
+
+	/**
+	 * Identity of the calling thread, created again only if the thread name has changed since the last call
+	 * @return
+	 */
+	static ThreadIdentity current() {
+		ThreadIdentity identity = CURRENT.get();
+		Thread thread = Thread.currentThread();
+		String name = thread.getName();
+		//Name is normally the very same instance, equals only matters for runtimes copying it on every call
+		if ( identity == null || (identity.name != name && !identity.name.equals(name)) ) {
+			identity = new ThreadIdentity(name, thread.getId());
+			CURRENT.set(identity);
+		}
+		return identity;
+	}
+}
@@ -0,0 +1,187 @@
+package com.saurabh.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rate limiter & duplicate suppressor of a single nameSpace & level, created by {@link Throttling}. Lock free, safe
+ * for any number of logging threads.
+ * <p>
+ * The rate limit is a token bucket kept as a theoretical arrival time (GCRA): every admitted event pushes it one
+ * emission interval further, an event is admitted while that keeps it within burst intervals of now. Admitting
+ * costs a read & a CAS, rejecting a read & an increment.
+ * <p>
+ * Duplicates are events with the same content & arguments as the last admitted one. They are counted instead of
+ * logged till the window of that event expires or another message comes, the count is then handed over once. Counts
+ * still pending when the logger shuts down are taken by {@link #takeRepeated()}.
+ * @author Saurabh
+ */
+final class Throttle {
+
+	private final long intervalNanos;
+	private final long burstNanos;
+	private final long windowNanos;
+
+	//Theoretical arrival time of the next event, in System.nanoTime() terms
+	private final AtomicLong arrivalTime = new AtomicLong(Long.MIN_VALUE / 2);
+	private final AtomicLong rateSuppressed = new AtomicLong();
+
+	private final AtomicReference<LastMessage> lastMessage = new AtomicReference<LastMessage>();
+
+	/**
+	 * @param eventsPerSecond
+	 * 		Sustained rate, 0 for no rate limit
+	 * @param burst
+	 * 		Events admitted at once after being idle
+	 * @param windowMillis
+	 * 		Time duplicates of a message are suppressed for, 0 for no duplicate suppression
+	 */
+	Throttle(long eventsPerSecond, long burst, long windowMillis) {
+		this.intervalNanos = eventsPerSecond > 0 ? Math.max(1, TimeUnit.SECONDS.toNanos(1) / eventsPerSecond) : 0;
+		this.burstNanos = intervalNanos * Math.max(1, burst);
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+	}
+
+	boolean isRateLimited() {
+		return intervalNanos > 0;
+	}
+
+	boolean isDeduplicating() {
+		return windowNanos > 0;
+	}
+
+	/**
+	 * Take a token, events without one are counted as suppressed
+	 * @param now
+	 * 		Current System.nanoTime()
+	 * @return
+	 * 		<code>true</code> if the event may be logged
+	 */
+	boolean tryAcquire(long now) {
+		while ( true ) {
+			long current = arrivalTime.get();
+			long next = Math.max(current, now) + intervalNanos;
+			if ( next - now > burstNanos ) {
+				rateSuppressed.incrementAndGet();
+				return false;
+			}
+			if ( arrivalTime.compareAndSet(current, next) ) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Count events suppressed along with one rejected by the rate limit
+	 * @param events
+	 */
+	void countRateSuppressed(long events) {
+		if ( events > 0 ) {
+			rateSuppressed.addAndGet(events);
+		}
+	}
+
+	/**
+	 * Events suppressed by the rate limit since the last call
+	 * @return
+	 */
+	long takeRateSuppressed() {
+		return rateSuppressed.get() == 0 ? 0 : rateSuppressed.getAndSet(0);
+	}
+
+	/**
+	 * Check the event against the last message
+	 * @param loggingEvent
+	 * @param now
+	 * 		Current System.nanoTime()
+	 * @return
+	 * 		-1 if the event is a duplicate to be suppressed, otherwise the number of duplicates of the previous message
+	 * 		which weren't reported yet
+	 */
+	long checkDuplicate(LoggingEvent loggingEvent, long now) {
+		while ( true ) {
+			LastMessage last = lastMessage.get();
+			if ( last != null && now - last.firstSeen < windowNanos && last.matches(loggingEvent) ) {
+				//Counter is sealed with a negative value once the message got replaced
+				if ( last.repeats.incrementAndGet() > 0 ) {
+					return -1;
+				}
+				continue;
+			}
+			if ( lastMessage.compareAndSet(last, new LastMessage(loggingEvent, now)) ) {
+				return last == null ? 0 : last.repeats.getAndSet(Long.MIN_VALUE);
+			}
+		}
+	}
+
+	/**
+	 * Duplicates of the last message which weren't reported yet, the next event is compared against no message
+	 * @return
+	 */
+	long takeRepeated() {
+		LastMessage last = lastMessage.getAndSet(null);
+		if ( last == null ) {
+			return 0;
+		}
+		return Math.max(0, last.repeats.getAndSet(Long.MIN_VALUE));
+	}
+
+	/**
+	 * Content & arguments of the last admitted message, primitives are kept unboxed. Object arguments are kept as 
+	 * their string value, the way they are logged, so that mutable arguments aren't held on to or compared after 
+	 * being changed
+	 */
+	private static final class LastMessage {
+		final String content;
+		final int argumentCount;
+		final byte[] types;
+		final long[] primitives;
+		final String[] objects;
+		final long firstSeen;
+		final AtomicLong repeats = new AtomicLong();
+
+		LastMessage(LoggingEvent loggingEvent, long firstSeen) {
+			this.content = loggingEvent.getContent();
+			this.argumentCount = loggingEvent.getArgumentCount();
+			this.firstSeen = firstSeen;
+			if ( argumentCount == 0 ) {
+				types = null;
+				primitives = null;
+				objects = null;
+				return;
+			}
+			types = new byte[argumentCount];
+			primitives = new long[argumentCount];
+			objects = new String[argumentCount];
+			for ( int i = 0; i < argumentCount; i++ ) {
+				types[i] = loggingEvent.getArgumentType(i);
+				if ( types[i] == LoggingEvent.OBJECT_ARGUMENT ) {
+					objects[i] = String.valueOf(loggingEvent.getArgument(i));
+				} else {
+					primitives[i] = loggingEvent.getPrimitiveArgument(i);
+				}
+			}
+		}
+
+		boolean matches(LoggingEvent loggingEvent) {
+			if ( argumentCount != loggingEvent.getArgumentCount() || !content.equals(loggingEvent.getContent()) ) {
+				return false;
+			}
+			for ( int i = 0; i < argumentCount; i++ ) {
+				byte type = loggingEvent.getArgumentType(i);
+				if ( type != types[i] ) {
+					return false;
+				}
+				if ( type == LoggingEvent.OBJECT_ARGUMENT ) {
+					if ( !objects[i].equals(String.valueOf(loggingEvent.getArgument(i))) ) {
+						return false;
+					}
+				} else if ( loggingEvent.getPrimitiveArgument(i) != primitives[i] ) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
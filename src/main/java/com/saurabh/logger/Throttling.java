@@ -0,0 +1,173 @@
+package com.saurabh.logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rate limits & duplicate suppression per nameSpace & level. Rules are hierarchical on dotted nameSpace like
+ * {@link LevelThresholds}: a rule set for <code>com.app</code> applies to <code>com.app.db</code> too unless it has
+ * its own. A rule is set either for one level or for all levels, the most specific rule applies as a whole.
+ * <p>
+ * Every nameSpace gets its own {@link Throttle} per level, so a noisy nameSpace can't use up the budget of the others.
+ * Without any rule checking an event costs a volatile read, otherwise a map lookup, see {@link Throttle} for the cost
+ * of the checks themselves. Throttles are created again, with fresh budgets, whenever a rule changes.
+ *
+ * @author Saurabh
+ */
+public final class Throttling {
+
+	private static final Level[] LEVELS = Level.values();
+
+	/**
+	 * Limits of a rule, 0 disables a limit
+	 */
+	private static final class Rule {
+		final long eventsPerSecond;
+		final long burst;
+		final long windowMillis;
+
+		Rule(long eventsPerSecond, long burst, long windowMillis) {
+			this.eventsPerSecond = eventsPerSecond;
+			this.burst = burst;
+			this.windowMillis = windowMillis;
+		}
+
+		boolean isEmpty() {
+			return eventsPerSecond <= 0 && windowMillis <= 0;
+		}
+	}
+
+	//Configured rules keyed by ruleKey, replaced as a whole on every update
+	private volatile Map<String, Rule> rules = Collections.emptyMap();
+
+	//Throttles of a nameSpace indexed by level ordinal, null where no rule applies
+	private final ConcurrentMap<String, Throttle[]> resolved = new ConcurrentHashMap<String, Throttle[]>();
+
+	/**
+	 * Limit the rate of events of the nameSpace & nameSpaces below it
+	 * @param nameSpace
+	 * 			NameSpace or {@link LevelThresholds#ROOT_NAMESPACE}
+	 * @param level
+	 * 			Level limited, <code>null</code> for all levels
+	 * @param eventsPerSecond
+	 * 			Sustained rate per nameSpace, 0 to remove the limit
+	 * @param burst
+	 * 			Events admitted at once after being idle, <code>eventsPerSecond</code> when not positive
+	 */
+	public synchronized void setRateLimit(String nameSpace, Level level, long eventsPerSecond, long burst) {
+		Rule current = rules.get(ruleKey(nameSpace, level));
+		long windowMillis = current == null ? 0 : current.windowMillis;
+		update(nameSpace, level, new Rule(Math.max(0, eventsPerSecond), burst > 0 ? burst : eventsPerSecond, windowMillis));
+	}
+
+	/**
+	 * Collapse repeated identical events of the nameSpace & nameSpaces below it into a single count
+	 * @param nameSpace
+	 * 			NameSpace or {@link LevelThresholds#ROOT_NAMESPACE}
+	 * @param level
+	 * 			Level deduplicated, <code>null</code> for all levels
+	 * @param windowMillis
+	 * 			Time duplicates of a message are suppressed for after it was logged, 0 to stop suppressing
+	 */
+	public synchronized void setDuplicateWindow(String nameSpace, Level level, long windowMillis) {
+		Rule current = rules.get(ruleKey(nameSpace, level));
+		long eventsPerSecond = current == null ? 0 : current.eventsPerSecond;
+		long burst = current == null ? 0 : current.burst;
+		update(nameSpace, level, new Rule(eventsPerSecond, burst, Math.max(0, windowMillis)));
+	}
+
+	/**
+	 * Whether any rule is configured
+	 * @return
+	 */
+	public boolean isActive() {
+		return !rules.isEmpty();
+	}
+
+	/**
+	 * Throttle for events of the nameSpace & level
+	 * @return
+	 * 		Throttle or <code>null</code> if no rule applies
+	 */
+	Throttle throttleFor(String nameSpace, Level level) {
+		if ( rules.isEmpty() ) {
+			return null;
+		}
+		Throttle[] throttles = resolved.get(nameSpace);
+		if ( throttles == null ) {
+			throttles = resolveAndCache(nameSpace);
+		}
+		return throttles[level.ordinal()];
+	}
+
+	private void update(String nameSpace, Level level, Rule rule) {
+		Map<String, Rule> updatedRules = new HashMap<String, Rule>(rules);
+		if ( rule.isEmpty() ) {
+			updatedRules.remove(ruleKey(nameSpace, level));
+		} else {
+			updatedRules.put(ruleKey(nameSpace, level), rule);
+		}
+		rules = Collections.unmodifiableMap(updatedRules);
+		resolved.clear();
+	}
+
+	/**
+	 * Throttles created so far keyed by nameSpace, indexed by level ordinal
+	 */
+	Map<String, Throttle[]> getResolvedThrottles() {
+		return resolved;
+	}
+
+	private Throttle[] resolveAndCache(String nameSpace) {
+		Map<String, Rule> currentRules = rules;
+		Throttle[] throttles = resolve(nameSpace, currentRules);
+		Throttle[] previous = resolved.putIfAbsent(nameSpace, throttles);
+		if ( previous != null ) {
+			return previous;
+		}
+		//Rules may have changed after resolving but before caching, drop the stale entry so it is resolved again
+		if ( currentRules != rules ) {
+			resolved.remove(nameSpace, throttles);
+		}
+		return throttles;
+	}
+
+	private static Throttle[] resolve(String nameSpace, Map<String, Rule> rules) {
+		Throttle[] throttles = new Throttle[LEVELS.length];
+		for ( Level level : LEVELS ) {
+			Rule rule = findRule(nameSpace, level, rules);
+			if ( rule != null ) {
+				throttles[level.ordinal()] = new Throttle(rule.eventsPerSecond, rule.burst, rule.windowMillis);
+			}
+		}
+		return throttles;
+	}
+
+	/**
+	 * Walk up the nameSpace hierarchy till a rule for the level, or for all levels, is found
+	 */
+	private static Rule findRule(String nameSpace, Level level, Map<String, Rule> rules) {
+		String current = nameSpace == null ? LevelThresholds.ROOT_NAMESPACE : nameSpace;
+		while ( true ) {
+			Rule rule = rules.get(ruleKey(current, level));
+			if ( rule == null ) {
+				rule = rules.get(ruleKey(current, null));
+			}
+			if ( rule != null ) {
+				return rule;
+			}
+			if ( current.length() == 0 ) {
+				return null;
+			}
+			int separator = current.lastIndexOf('.');
+			current = separator < 0 ? LevelThresholds.ROOT_NAMESPACE : current.substring(0, separator);
+		}
+	}
+
+	private static String ruleKey(String nameSpace, Level level) {
+		return (level == null ? "*" : level.name()) + ":" + (nameSpace == null ? LevelThresholds.ROOT_NAMESPACE : nameSpace);
+	}
+}
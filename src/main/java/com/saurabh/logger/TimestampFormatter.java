@@ -0,0 +1,214 @@
+package com.saurabh.logger;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread safe timestamp formatter compiled once per timestamp format. Use {@link #forPattern(String)} to get the
+ * shared instance for a format.
+ * <p>
+ * Pattern is split around its milliseconds field (<code>S</code>). Text before and after that field only changes
+ * once per second, so it is rendered through {@link SimpleDateFormat} once per second and cached, every call then
+ * only appends the milliseconds digits in between. Patterns without milliseconds are cached as a whole for the
+ * current second. Patterns having more than one milliseconds field are cached per millisecond.
+ *
+ * @author Saurabh
+ */
+public final class TimestampFormatter {
+
+	private static final ConcurrentMap<String, TimestampFormatter> FORMATTERS = new ConcurrentHashMap<String, TimestampFormatter>();
+
+	private final String pattern;
+
+	//Patterns rendered through SimpleDateFormat, suffix pattern is null when nothing follows the millis field
+	private final SimpleDateFormat prefixFormat;
+	private final SimpleDateFormat suffixFormat;
+
+	//Minimum digits for the milliseconds field, 0 when pattern has no milliseconds field
+	private final int millisDigits;
+
+	//Length of cached period in milliseconds
+	private final long period;
+
+	private volatile CachedPeriod cachedPeriod;
+	private final ReentrantLock renderLock = new ReentrantLock();
+
+	/**
+	 * Rendered text for a single period, immutable so that it can be shared between threads
+	 */
+	private static final class CachedPeriod {
+		final long periodStart;
+		final String prefix;
+		final String suffix;
+
+		CachedPeriod(long periodStart, String prefix, String suffix) {
+			this.periodStart = periodStart;
+			this.prefix = prefix;
+			this.suffix = suffix;
+		}
+	}
+
+	private TimestampFormatter(String pattern) {
+		this.pattern = pattern;
+		int[] millisField = findMillisField(pattern);
+		if ( millisField == null ) {
+			//No milliseconds or multiple milliseconds fields, render the whole pattern
+			prefixFormat = new SimpleDateFormat(pattern);
+			suffixFormat = null;
+			millisDigits = 0;
+			period = hasMillisField(pattern) ? 1 : 1000;
+		} else {
+			String prefixPattern = pattern.substring(0, millisField[0]);
+			String suffixPattern = pattern.substring(millisField[1]);
+			prefixFormat = new SimpleDateFormat(prefixPattern);
+			suffixFormat = suffixPattern.length() == 0 ? null : new SimpleDateFormat(suffixPattern);
+			millisDigits = millisField[1] - millisField[0];
+			period = 1000;
+		}
+	}
+
+	/**
+	 * Get the shared formatter for the given timestamp format, compiling it on first use
+	 * @param tsFormat
+	 * 			{@link SimpleDateFormat} compatible pattern
+	 * @return
+	 */
+	public static TimestampFormatter forPattern(String tsFormat) {
+		TimestampFormatter formatter = FORMATTERS.get(tsFormat);
+		if ( formatter == null ) {
+			formatter = new TimestampFormatter(tsFormat);
+			TimestampFormatter previous = FORMATTERS.putIfAbsent(tsFormat, formatter);
+			if ( previous != null ) {
+				formatter = previous;
+			}
+		}
+		return formatter;
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * Format the given timestamp
+	 * @param timeStamp
+	 * 			Milliseconds since epoch
+	 * @return
+	 */
+	public String format(long timeStamp) {
+		CachedPeriod cached = periodFor(timeStamp);
+		if ( millisDigits == 0 ) {
+			return cached.prefix;
+		}
+		StringBuilder sb = new StringBuilder(cached.prefix.length() + millisDigits + cached.suffix.length());
+		appendTo(timeStamp, cached, sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Format the given timestamp by appending it to the given buffer, allocates nothing unless a new second has
+	 * to be rendered
+	 * @param timeStamp
+	 * 			Milliseconds since epoch
+	 * @param sb
+	 * 			Buffer to append to
+	 */
+	public void formatTo(long timeStamp, StringBuilder sb) {
+		appendTo(timeStamp, periodFor(timeStamp), sb);
+	}
+
+	private void appendTo(long timeStamp, CachedPeriod cached, StringBuilder sb) {
+		sb.append(cached.prefix);
+		if ( millisDigits > 0 ) {
+			int millis = (int) (timeStamp - cached.periodStart);
+			for ( int digits = numberOfDigits(millis); digits < millisDigits; digits++ ) {
+				sb.append('0');
+			}
+			sb.append(millis);
+			sb.append(cached.suffix);
+		}
+	}
+
+	private CachedPeriod periodFor(long timeStamp) {
+		long periodStart = timeStamp - floorMod(timeStamp, period);
+		CachedPeriod cached = cachedPeriod;
+		if ( cached == null || cached.periodStart != periodStart ) {
+			cached = render(periodStart);
+			cachedPeriod = cached;
+		}
+		return cached;
+	}
+
+	/**
+	 * Render the cached text for a new period, {@link SimpleDateFormat} is not thread safe so calls are serialized.
+	 * This happens once per period so there is no contention in practice. A lock is used instead of a monitor so that
+	 * virtual threads waiting for it don't pin their carrier
+	 */
+	private CachedPeriod render(long periodStart) {
+		renderLock.lock();
+		try {
+			CachedPeriod cached = cachedPeriod;
+			if ( cached != null && cached.periodStart == periodStart ) {
+				return cached;
+			}
+			Date date = new Date(periodStart);
+			String prefix = prefixFormat.format(date);
+			String suffix = suffixFormat == null ? "" : suffixFormat.format(date);
+			return new CachedPeriod(periodStart, prefix, suffix);
+		} finally {
+			renderLock.unlock();
+		}
+	}
+
+	private static long floorMod(long value, long divisor) {
+		long mod = value % divisor;
+		return mod < 0 ? mod + divisor : mod;
+	}
+
+	private static int numberOfDigits(int value) {
+		return value < 10 ? 1 : value < 100 ? 2 : 3;
+	}
+
+	/**
+	 * Find start (inclusive) and end (exclusive) of the only milliseconds field outside of quoted text
+	 * @return
+	 * 		<code>null</code> if the pattern has no or more than one milliseconds field
+	 */
+	private static int[] findMillisField(String pattern) {
+		int[] field = null;
+		boolean quoted = false;
+		for ( int i = 0; i < pattern.length(); i++ ) {
+			char c = pattern.charAt(i);
+			if ( c == '\'' ) {
+				quoted = !quoted;
+			} else if ( !quoted && c == 'S' ) {
+				if ( field != null ) {
+					return null;
+				}
+				int end = i;
+				while ( end < pattern.length() && pattern.charAt(end) == 'S' ) {
+					end++;
+				}
+				field = new int[] { i, end };
+				i = end - 1;
+			}
+		}
+		return field;
+	}
+
+	private static boolean hasMillisField(String pattern) {
+		boolean quoted = false;
+		for ( int i = 0; i < pattern.length(); i++ ) {
+			char c = pattern.charAt(i);
+			if ( c == '\'' ) {
+				quoted = !quoted;
+			} else if ( !quoted && c == 'S' ) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -3,10 +3,7 @@ package com.saurabh.logger;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.Enumeration;
 import java.util.List;
 
@@ -85,10 +82,13 @@ public class Utils {
 		return null;
 	}
 
+	/**
+	 * Format timestamp as per given format through the shared {@link TimestampFormatter} of the format
+	 * @param timeStamp
+	 * @param tsFormat
+	 * @return
+	 */
 	public static String formatTimeStamp(long timeStamp, String tsFormat) {
-    	DateFormat formatter = new SimpleDateFormat(tsFormat);
-		//Reduce IST -5.30 UTC difference
-		Date date = new Date((timeStamp));
-		return formatter.format(date);
+		return TimestampFormatter.forPattern(tsFormat).format(timeStamp);
 	}
 }
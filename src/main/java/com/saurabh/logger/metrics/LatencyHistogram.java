@@ -0,0 +1,120 @@
+package com.saurabh.logger.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of latencies in nanoseconds with log-linear buckets, in the spirit of HdrHistogram.
+ * <p>
+ * Values below {@link #SUB_BUCKETS} get a bucket each, above that every power of two is split into
+ * {@link #SUB_BUCKETS} buckets of equal width, so a value is reported within about 6% of what was recorded.
+ * Recording is an increment of the bucket & total counters plus a CAS when the maximum grows, any number of threads
+ * can record while another one reads. Reads are not atomic as a whole, a snapshot may miss values recorded meanwhile.
+ * @author Saurabh
+ */
+public final class LatencyHistogram {
+
+	static final int SUB_BUCKET_BITS = 4;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	//Powers of two from SUB_BUCKETS up to 2^62 each get SUB_BUCKETS buckets, above the linear ones
+	static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Record a latency, negative values are counted as 0
+	 * @param nanos
+	 */
+	public void record(long nanos) {
+		long value = nanos < 0 ? 0 : nanos;
+		counts.incrementAndGet(bucketOf(value));
+		totalCount.incrementAndGet();
+		totalNanos.addAndGet(value);
+		long max = maxNanos.get();
+		while ( value > max && !maxNanos.compareAndSet(max, value) ) {
+			max = maxNanos.get();
+		}
+	}
+
+	static int bucketOf(long value) {
+		if ( value < SUB_BUCKETS ) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Highest value falling in the bucket
+	 */
+	static long highestValueOf(int bucket) {
+		if ( bucket < SUB_BUCKETS ) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int subBucket = bucket % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return ((long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+	}
+
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	public long getMax() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Value below or at which the given percentage of the recorded values fall
+	 * @param percentile
+	 * 		Between 0 & 100
+	 * @return
+	 * 		Highest value of the bucket holding the percentile, capped at the maximum. 0 if nothing was recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long[] snapshot = new long[BUCKET_COUNT];
+		long count = copyCounts(snapshot);
+		return valueAtPercentile(snapshot, count, percentile);
+	}
+
+	/**
+	 * Copy of the counts, all the percentiles of a snapshot are computed from the same copy
+	 */
+	public LatencySnapshot snapshot() {
+		long[] snapshot = new long[BUCKET_COUNT];
+		long count = copyCounts(snapshot);
+		long mean = count == 0 ? 0 : totalNanos.get() / count;
+		return new LatencySnapshot(count, mean, valueAtPercentile(snapshot, count, 50),
+				valueAtPercentile(snapshot, count, 90), valueAtPercentile(snapshot, count, 99),
+				valueAtPercentile(snapshot, count, 99.9), maxNanos.get());
+	}
+
+	private long copyCounts(long[] snapshot) {
+		long count = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			snapshot[i] = counts.get(i);
+			count += snapshot[i];
+		}
+		return count;
+	}
+
+	private long valueAtPercentile(long[] snapshot, long count, double percentile) {
+		if ( count == 0 ) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+		long seen = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			seen += snapshot[i];
+			if ( seen >= rank ) {
+				return Math.min(highestValueOf(i), maxNanos.get());
+			}
+		}
+		return maxNanos.get();
+	}
+}
@@ -0,0 +1,61 @@
+package com.saurabh.logger.metrics;
+
+/**
+ * Percentiles of a {@link LatencyHistogram} at a point in time, all values in nanoseconds
+ * @author Saurabh
+ */
+public final class LatencySnapshot {
+
+	private final long count;
+	private final long mean;
+	private final long median;
+	private final long percentile90;
+	private final long percentile99;
+	private final long percentile999;
+	private final long max;
+
+	public LatencySnapshot(long count, long mean, long median, long percentile90, long percentile99,
+			long percentile999, long max) {
+		this.count = count;
+		this.mean = mean;
+		this.median = median;
+		this.percentile90 = percentile90;
+		this.percentile99 = percentile99;
+		this.percentile999 = percentile999;
+		this.max = max;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMean() {
+		return mean;
+	}
+
+	public long getMedian() {
+		return median;
+	}
+
+	public long getPercentile90() {
+		return percentile90;
+	}
+
+	public long getPercentile99() {
+		return percentile99;
+	}
+
+	public long getPercentile999() {
+		return percentile999;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + count + " mean=" + mean + "ns p50=" + median + "ns p90=" + percentile90 + "ns p99="
+				+ percentile99 + "ns p99.9=" + percentile999 + "ns max=" + max + "ns";
+	}
+}
@@ -0,0 +1,68 @@
+package com.saurabh.logger.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Metrics of every active sink at a point in time, see {@link com.saurabh.logger.Logger#metrics()}.
+ * An async sink & the sink it wraps are listed separately
+ * @author Saurabh
+ */
+public final class LoggerMetrics {
+
+	private final long timestamp;
+	private final List<SinkMetricsSnapshot> sinks;
+
+	public LoggerMetrics(long timestamp, List<SinkMetricsSnapshot> sinks) {
+		this.timestamp = timestamp;
+		this.sinks = Collections.unmodifiableList(sinks);
+	}
+
+	/**
+	 * Time in ms the snapshot was taken at
+	 * @return
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public List<SinkMetricsSnapshot> getSinks() {
+		return sinks;
+	}
+
+	/**
+	 * First sink with the given name
+	 * @param name
+	 * @return
+	 * 		Sink metrics or <code>null</code> if no active sink has the name
+	 */
+	public SinkMetricsSnapshot getSink(String name) {
+		for ( SinkMetricsSnapshot sink : sinks ) {
+			if ( name.equals(sink.getName()) ) {
+				return sink;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Events dropped by all the sinks
+	 * @return
+	 */
+	public long getDroppedEvents() {
+		long dropped = 0;
+		for ( SinkMetricsSnapshot sink : sinks ) {
+			dropped += sink.getDroppedEvents();
+		}
+		return dropped;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for ( SinkMetricsSnapshot sink : sinks ) {
+			sb.append(sink).append('\n');
+		}
+		return sb.toString();
+	}
+}
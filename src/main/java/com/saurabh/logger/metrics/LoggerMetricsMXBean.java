@@ -0,0 +1,20 @@
+package com.saurabh.logger.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link com.saurabh.logger.Logger#metrics()}, registered as {@link MetricsExporter#OBJECT_NAME}
+ * @author Saurabh
+ */
+public interface LoggerMetricsMXBean {
+
+	List<SinkMetricsSnapshot> getSinks();
+
+	long getDroppedEvents();
+
+	/**
+	 * Metrics of the current sinks as text, one line per sink
+	 * @return
+	 */
+	String dump();
+}
@@ -0,0 +1,57 @@
+package com.saurabh.logger.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.saurabh.logger.InternalLog;
+import com.saurabh.logger.Logger;
+
+/**
+ * Exposes the metrics of the current configuration through the platform MBean server. Every attribute read takes a
+ * new snapshot, so configurations loaded later are reflected without registering again
+ * @author Saurabh
+ */
+public final class MetricsExporter implements LoggerMetricsMXBean {
+
+	public static final String OBJECT_NAME = "com.saurabh.logger:type=Metrics";
+
+	public List<SinkMetricsSnapshot> getSinks() {
+		return Logger.metrics().getSinks();
+	}
+
+	public long getDroppedEvents() {
+		return Logger.metrics().getDroppedEvents();
+	}
+
+	public String dump() {
+		return Logger.metrics().toString();
+	}
+
+	/**
+	 * Register the bean unless already registered, failures are reported & otherwise ignored
+	 * @return
+	 * 		<code>true</code> if the bean is registered
+	 */
+	public static boolean register() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if ( !server.isRegistered(name) ) {
+				server.registerMBean(new MetricsExporter(), name);
+			}
+			return true;
+		} catch (InstanceAlreadyExistsException ex) {
+			return true;
+		} catch (Exception ex) {
+			InternalLog.warn(ex, "Failed to register logger metrics with JMX");
+		} catch (LinkageError ex) {
+			//JMX is not available on this platform
+			InternalLog.warn(ex, "Failed to register logger metrics with JMX");
+		}
+		return false;
+	}
+}
@@ -0,0 +1,85 @@
+package com.saurabh.logger.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters & latency histograms recorded by a sink while writing. Every method is lock free & can be called from any
+ * thread, sinks record while holding their own lock anyway.
+ * @author Saurabh
+ */
+public final class SinkMetrics {
+
+	private final AtomicLong eventsWritten = new AtomicLong();
+	private final AtomicLong bytesWritten = new AtomicLong();
+	private final AtomicLong queueHighWaterMark = new AtomicLong();
+	private final LatencyHistogram writeLatency = new LatencyHistogram();
+	private final LatencyHistogram flushLatency = new LatencyHistogram();
+
+	/**
+	 * Record a write call
+	 * @param events
+	 * 		Events written by the call, a batch is recorded as a single latency
+	 * @param nanos
+	 * 		Time taken by the call
+	 */
+	public void recordWrite(int events, long nanos) {
+		eventsWritten.addAndGet(events);
+		writeLatency.record(nanos);
+	}
+
+	/**
+	 * Record bytes handed over to the destination
+	 * @param bytes
+	 */
+	public void recordBytes(long bytes) {
+		bytesWritten.addAndGet(bytes);
+	}
+
+	public void recordFlush(long nanos) {
+		flushLatency.record(nanos);
+	}
+
+	/**
+	 * Record an observed queue depth, only the highest one is kept
+	 * @param depth
+	 */
+	public void recordQueueDepth(long depth) {
+		long highWaterMark = queueHighWaterMark.get();
+		while ( depth > highWaterMark && !queueHighWaterMark.compareAndSet(highWaterMark, depth) ) {
+			highWaterMark = queueHighWaterMark.get();
+		}
+	}
+
+	public long getEventsWritten() {
+		return eventsWritten.get();
+	}
+
+	public long getBytesWritten() {
+		return bytesWritten.get();
+	}
+
+	public LatencyHistogram getWriteLatency() {
+		return writeLatency;
+	}
+
+	public LatencyHistogram getFlushLatency() {
+		return flushLatency;
+	}
+
+	/**
+	 * Snapshot of the counters together with the values the sink keeps itself
+	 * @param name
+	 * 		Sink name
+	 * @param target
+	 * 		What the sink writes to, a file location for example. May be <code>null</code>
+	 * @param queueDepth
+	 * 		Events currently queued, 0 for sinks without a queue
+	 * @param droppedEvents
+	 * 		Events discarded by the sink so far
+	 * @return
+	 */
+	public SinkMetricsSnapshot snapshot(String name, String target, long queueDepth, long droppedEvents) {
+		return new SinkMetricsSnapshot(name, target, eventsWritten.get(), bytesWritten.get(), droppedEvents,
+				queueDepth, queueHighWaterMark.get(), writeLatency.snapshot(), flushLatency.snapshot());
+	}
+}
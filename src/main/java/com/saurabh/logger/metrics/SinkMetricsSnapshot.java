@@ -0,0 +1,86 @@
+package com.saurabh.logger.metrics;
+
+/**
+ * Metrics of a single sink at a point in time
+ * @author Saurabh
+ */
+public final class SinkMetricsSnapshot {
+
+	private final String name;
+	private final String target;
+	private final long eventsWritten;
+	private final long bytesWritten;
+	private final long droppedEvents;
+	private final long queueDepth;
+	private final long queueHighWaterMark;
+	private final LatencySnapshot writeLatency;
+	private final LatencySnapshot flushLatency;
+
+	public SinkMetricsSnapshot(String name, String target, long eventsWritten, long bytesWritten, long droppedEvents,
+			long queueDepth, long queueHighWaterMark, LatencySnapshot writeLatency, LatencySnapshot flushLatency) {
+		this.name = name;
+		this.target = target;
+		this.eventsWritten = eventsWritten;
+		this.bytesWritten = bytesWritten;
+		this.droppedEvents = droppedEvents;
+		this.queueDepth = queueDepth;
+		this.queueHighWaterMark = queueHighWaterMark;
+		this.writeLatency = writeLatency;
+		this.flushLatency = flushLatency;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * What the sink writes to, <code>null</code> if it has nothing to tell it apart from sinks of the same name
+	 * @return
+	 */
+	public String getTarget() {
+		return target;
+	}
+
+	/**
+	 * Events written, for an async sink events accepted into its queue
+	 * @return
+	 */
+	public long getEventsWritten() {
+		return eventsWritten;
+	}
+
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	public long getDroppedEvents() {
+		return droppedEvents;
+	}
+
+	public long getQueueDepth() {
+		return queueDepth;
+	}
+
+	public long getQueueHighWaterMark() {
+		return queueHighWaterMark;
+	}
+
+	/**
+	 * Latency of write calls, for an async sink time taken to queue an event
+	 * @return
+	 */
+	public LatencySnapshot getWriteLatency() {
+		return writeLatency;
+	}
+
+	public LatencySnapshot getFlushLatency() {
+		return flushLatency;
+	}
+
+	@Override
+	public String toString() {
+		return name + (target == null ? "" : "[" + target + "]") + " events=" + eventsWritten + " bytes=" + bytesWritten
+				+ " dropped=" + droppedEvents + " queueDepth=" + queueDepth + " queueHighWaterMark=" + queueHighWaterMark
+				+ " write{" + writeLatency + "} flush{" + flushLatency + "}";
+	}
+}
@@ -1,25 +1,76 @@
 package com.saurabh.logger.sinks;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.saurabh.logger.GlobalConstants;
 import com.saurabh.logger.ILoggingEvent;
 import com.saurabh.logger.InternalLog;
+import com.saurabh.logger.Level;
+import com.saurabh.logger.LoggingEvent;
+import com.saurabh.logger.metrics.SinkMetrics;
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
+import com.saurabh.logger.sinks.queue.BlockingEventQueue;
+import com.saurabh.logger.sinks.queue.BusySpinWaitStrategy;
+import com.saurabh.logger.sinks.queue.EventQueue;
+import com.saurabh.logger.sinks.queue.ParkingWaitStrategy;
+import com.saurabh.logger.sinks.queue.RingBufferEventQueue;
+import com.saurabh.logger.sinks.queue.WaitStrategy;
+import com.saurabh.logger.sinks.queue.YieldingWaitStrategy;
 
 /**
  * AsyncSink log events asynchronously while wrapping the actual sink. In order to avoid loss of logging events, this
  * sink should be closed accurately. It is the user's  responsibility to close this sink when work is done.
  * <p>
- * This sink buffers events in a {@link BlockingQueue}. {@link Worker} threads created by this sink takes
+ * This sink buffers events in an {@link EventQueue}. {@link Worker} threads created by this sink takes
  * events from the head of the queue, and dispatches them to the wrapped sink object.
  * <p>
+ * Queue engine is selected through the write mode. {@link GlobalConstants#ASYNC_WRITE_MODE} uses a lock based
+ * {@link BlockingEventQueue} while {@link GlobalConstants#RING_WRITE_MODE} uses the lock free 
+ * {@link RingBufferEventQueue} together with the configured {@link WaitStrategy}.
+ * <p>
+ * Workers drain the queue in chunks of up to {@link #DEFAULT_BATCH_SIZE} events, a chunk is handed over in a single
+ * call when the wrapped sink is a {@link BatchSink}. When it is an {@link EncodingSink} workers encode the chunk 
+ * into their own buffer first, so that only appending the bytes is done under the sink lock.
+ * <p>
+ * With {@link GlobalConstants#THREAD_MODEL_MULTI} all the workers share one queue. 
+ * {@link GlobalConstants#THREAD_MODEL_PARTITIONED} gives every worker its own queue instead, events being assigned 
+ * by producer thread, so that messages of a thread are written in the order they were logged.
+ * <p>
+ * With format on worker set, {@link com.saurabh.logger.LogEngine} queues the captured fields only & workers format 
+ * the message, so that the logging thread doesn't pay for formatting. Arguments are then formatted after the log 
+ * call returns, mutable arguments must not be changed once logged.
+ * <p>
+ * Reusable events handed over by garbage free logging belong to the calling thread, so they are copied into 
+ * pooled {@link LoggingEvent} instances before being queued. Workers give pooled events back once written.
+ * <p>
+ * What happens when the queue is full is decided by the overflow policy. By default writers block till a slot is 
+ * free, {@link GlobalConstants#OVERFLOW_POLICY_DROP_NEW}, {@link GlobalConstants#OVERFLOW_POLICY_DROP_OLDEST}, 
+ * {@link GlobalConstants#OVERFLOW_POLICY_DROP_BELOW_LEVEL} & {@link GlobalConstants#OVERFLOW_POLICY_BLOCK_TIMEOUT} 
+ * discard events instead so that a slow sink can't stall the application. Dropped events are counted and reported 
+ * through {@link InternalLog} by the workers at most once every {@link #DROP_REPORT_INTERVAL} ms.
+ * <p>
+ * {@link #flush()} is a barrier, it returns once every event queued before the call has been written & the wrapped 
+ * sink has been flushed. Queued & taken events are counted so that no marker has to go through the queue.
+ * {@link #stop(long)} lets workers finish their current batch, writes what is left in the queue on the calling 
+ * thread & closes the wrapped sink, all within the given time.
+ * <p>
+ * Workers run on platform daemon threads by default, {@link GlobalConstants#WORKER_TYPE_VIRTUAL} runs them on 
+ * virtual threads instead where the JVM supports them. Nothing on the write path blocks while holding a monitor, 
+ * queues & sinks use {@link ReentrantLock} or parking, so that blocked virtual threads release their carrier.
+ * <p>
  * 
  * @author Saurabh
  */
-public class AsyncSink implements Sink {
+public class AsyncSink implements MeteredSink {
 
     private String name;
     
@@ -28,11 +79,20 @@ public class AsyncSink implements Sink {
      */
     public static final int DEFAULT_QUEUE_SIZE = 256;
     int queueSize = DEFAULT_QUEUE_SIZE;
+    
+    /**
+     * The default maximum number of events a worker drains from the queue at once
+     */
+    public static final int DEFAULT_BATCH_SIZE = 128;
+    int batchSize = DEFAULT_BATCH_SIZE;
 
     //Sink getting wrapped
     private Sink wrappedSink;
-    private boolean started = false;
-    private BlockingQueue<ILoggingEvent> blockingQueue;
+    private volatile boolean started = false;
+    private Partition[] partitions;
+    private EventQueue eventPool;
+    private String writeMode = GlobalConstants.ASYNC_WRITE_MODE;
+    private String waitStrategy = GlobalConstants.WAIT_STRATEGY_PARK;
 
     /**
      * The default maximum queue flush time allowed during appender stop. If the 
@@ -42,8 +102,55 @@ public class AsyncSink implements Sink {
     public static final int DEFAULT_MAX_FLUSH_TIME = 1000;
     int maxFlushTime = DEFAULT_MAX_FLUSH_TIME;
     
-    List<Worker> workers = new ArrayList<AsyncSink.Worker>();    
+    /**
+     * The default time a writer waits for a free slot with {@link GlobalConstants#OVERFLOW_POLICY_BLOCK_TIMEOUT}
+     */
+    public static final long DEFAULT_OVERFLOW_TIMEOUT = 100;
+
+    /**
+     * Minimum time in ms between two reports of dropped events
+     */
+    public static final long DROP_REPORT_INTERVAL = 10 * 1000;
+
+    private String overflowPolicy = GlobalConstants.OVERFLOW_POLICY_BLOCK;
+    private long overflowTimeout = DEFAULT_OVERFLOW_TIMEOUT;
+    private Level overflowLevel = Level.WARN;
+
+    //Initial & maximum retained size of a worker's encoding buffer
+    private static final int ENCODED_BATCH_SIZE = 64 * 1024;
+    private static final int MAX_RETAINED_BATCH_SIZE = 1024 * 1024;
+
+    //Time between two checks of a waiting flush
+    private static final long FLUSH_POLL_NANOS = 100 * 1000;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+    //Events queued & time taken to queue them, queue high water mark is sampled by workers before every batch
+    private final SinkMetrics metrics = new SinkMetrics();
+    //Written while holding the report lock
+    private final ReentrantLock reportLock = new ReentrantLock();
+    private volatile long reportedDrops;
+    private long lastDropReport;
+    
+    List<Worker> workers = new CopyOnWriteArrayList<AsyncSink.Worker>();    
     private int workerThreads = 1;
+    private boolean partitioned;
+    private boolean formatOnWorker;
+    private String workerType = GlobalConstants.WORKER_TYPE_PLATFORM;
+
+    /**
+     * Queue with its counters, shared by all the workers unless partitioned
+     */
+    static final class Partition {
+    	final EventQueue eventQueue;
+    	//Events counted before being offered, uncounted if dropped without being queued
+    	final AtomicLong queuedEvents = new AtomicLong();
+    	//Events taken out of the queue, by workers or to make room
+    	final AtomicLong takenEvents = new AtomicLong();
+
+    	Partition(EventQueue eventQueue) {
+    		this.eventQueue = eventQueue;
+    	}
+    }
     
     public boolean isStarted() {
     	return started;
@@ -66,18 +173,165 @@ public class AsyncSink implements Sink {
         this.queueSize = queueSize;
     }
     
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public String getWriteMode() {
+        return writeMode;
+    }
+
+    public void setWriteMode(String writeMode) {
+        this.writeMode = writeMode;
+    }
+
+    public String getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(String waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Policy applied when the queue is full, one of the <code>OVERFLOW_POLICY_*</code> {@link GlobalConstants}
+     * @param overflowPolicy
+     */
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy == null ? GlobalConstants.OVERFLOW_POLICY_BLOCK 
+                : overflowPolicy.trim().toUpperCase(Locale.ENGLISH);
+    }
+
+    public long getOverflowTimeout() {
+        return overflowTimeout;
+    }
+
+    /**
+     * Time in ms a writer waits for a free slot before dropping the event with 
+     * {@link GlobalConstants#OVERFLOW_POLICY_BLOCK_TIMEOUT}
+     * @param overflowTimeout
+     */
+    public void setOverflowTimeout(long overflowTimeout) {
+        this.overflowTimeout = overflowTimeout;
+    }
+
+    public Level getOverflowLevel() {
+        return overflowLevel;
+    }
+
+    /**
+     * Events below this level are dropped on a full queue with {@link GlobalConstants#OVERFLOW_POLICY_DROP_BELOW_LEVEL},
+     * others wait for a free slot
+     * @param overflowLevel
+     */
+    public void setOverflowLevel(Level overflowLevel) {
+        this.overflowLevel = overflowLevel;
+    }
+
+    /**
+     * Number of events dropped so far because the queue was full
+     * @return
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Metrics of the queue, events are counted once queued. The wrapped sink reports its own writes
+     */
+    public SinkMetricsSnapshot getMetrics() {
+        long queueDepth = 0;
+        Partition[] current = partitions;
+        if ( current != null ) {
+            for ( Partition partition : current ) {
+                queueDepth += Math.max(0, partition.queuedEvents.get() - partition.takenEvents.get());
+            }
+        }
+        String target = wrappedSink instanceof MeteredSink ? ((MeteredSink) wrappedSink).getMetrics().getTarget() : null;
+        return metrics.snapshot(name == null ? "async" : name, target, queueDepth, droppedEvents.get());
+    }
+
+    /**
+     * Returns queue engine currently used, the first one when partitioned. Will be <code>null</code> till the sink 
+     * has been initialized
+     * @return
+     */
+    public EventQueue getEventQueue() {
+        Partition[] current = partitions;
+        return current == null ? null : current[0].eventQueue;
+    }
+
+    /**
+     * Number of queues events are spread over, one per worker when partitioned
+     * @return
+     */
+    public int getPartitionCount() {
+        Partition[] current = partitions;
+        return current == null ? 0 : current.length;
+    }
+
     public void setWrappedSink(Sink sink) {
     	this.wrappedSink = sink;
     }
     
     public void setThreadModel(String threadModel) {
-    	if ( threadModel.equalsIgnoreCase(GlobalConstants.THREAD_MODEL_MULTI ) ) {
+    	partitioned = threadModel.equalsIgnoreCase(GlobalConstants.THREAD_MODEL_PARTITIONED);
+    	if ( threadModel.equalsIgnoreCase(GlobalConstants.THREAD_MODEL_MULTI ) || partitioned ) {
     		workerThreads = GlobalConstants.DEFAULT_ASYNC_WORKERS;
     	} else {
     		workerThreads = 1;
     	}
     }
 
+    public boolean isFormatOnWorker() {
+    	return formatOnWorker;
+    }
+
+    /**
+     * Let workers format messages instead of the logging threads
+     * @param formatOnWorker
+     */
+    public void setFormatOnWorker(boolean formatOnWorker) {
+    	this.formatOnWorker = formatOnWorker;
+    }
+
+    public String getWorkerType() {
+    	return workerType;
+    }
+
+    /**
+     * Kind of threads workers run on, {@link GlobalConstants#WORKER_TYPE_PLATFORM} or 
+     * {@link GlobalConstants#WORKER_TYPE_VIRTUAL}. Falls back to platform threads on init if the JVM has no virtual threads
+     * @param workerType
+     */
+    public void setWorkerType(String workerType) {
+    	this.workerType = workerType == null ? GlobalConstants.WORKER_TYPE_PLATFORM 
+    			: workerType.trim().toUpperCase(Locale.ENGLISH);
+    }
+
+    public boolean isPartitioned() {
+    	return partitioned;
+    }
+
+    /**
+     * Override the number of workers, applies to {@link GlobalConstants#THREAD_MODEL_MULTI} & 
+     * {@link GlobalConstants#THREAD_MODEL_PARTITIONED}
+     * @param workerThreads
+     */
+    public void setWorkerThreadsCount(int workerThreads) {
+    	if ( this.workerThreads > 1 || partitioned ) {
+    		this.workerThreads = workerThreads;
+    	}
+    }
+
     public Sink getWrappedSink() {
     	return wrappedSink;
     }
@@ -92,7 +346,39 @@ public class AsyncSink implements Sink {
         	InternalLog.warn("Invalid queue size :" + queueSize);
             return;
         }
-        blockingQueue = new ArrayBlockingQueue<ILoggingEvent>(queueSize);
+        if (batchSize < 1) {
+        	InternalLog.warn("Invalid batch size :" + batchSize + ", events will be written one by one");
+        	batchSize = 1;
+        }
+        if ( !isKnownOverflowPolicy(overflowPolicy) ) {
+        	InternalLog.warn("Unknown overflow policy " + overflowPolicy + ", falling back to " + GlobalConstants.OVERFLOW_POLICY_BLOCK);
+        	overflowPolicy = GlobalConstants.OVERFLOW_POLICY_BLOCK;
+        }
+        if ( workerThreads < 1 ) {
+        	InternalLog.warn("Invalid worker count :" + workerThreads + ", a single worker will be used");
+        	workerThreads = 1;
+        }
+        if ( GlobalConstants.WORKER_TYPE_VIRTUAL.equals(workerType) ) {
+        	if ( !WorkerThreads.isVirtualSupported() ) {
+        		InternalLog.warn("Virtual threads are not supported by this JVM, " + getName() + " workers will use platform threads");
+        		workerType = GlobalConstants.WORKER_TYPE_PLATFORM;
+        	} else if ( GlobalConstants.RING_WRITE_MODE.equalsIgnoreCase(writeMode) 
+        			&& GlobalConstants.WAIT_STRATEGY_BUSY_SPIN.equalsIgnoreCase(waitStrategy) ) {
+        		InternalLog.warn("Busy spinning virtual workers of " + getName() + " never release their carrier thread");
+        	}
+        } else if ( !GlobalConstants.WORKER_TYPE_PLATFORM.equals(workerType) ) {
+        	InternalLog.warn("Unknown worker type " + workerType + ", falling back to " + GlobalConstants.WORKER_TYPE_PLATFORM);
+        	workerType = GlobalConstants.WORKER_TYPE_PLATFORM;
+        }
+        Partition[] created = new Partition[partitioned ? workerThreads : 1];
+        int capacity = 0;
+        for ( int i = 0; i < created.length; i++ ) {
+        	created[i] = new Partition(createEventQueue());
+        	capacity += created[i].eventQueue.capacity();
+        }
+        partitions = created;
+        //Enough free events for full queues plus one in flight per worker
+        eventPool = new RingBufferEventQueue(capacity + workerThreads, new ParkingWaitStrategy());
         
         //Initialize the wrapped sink
         wrappedSink.init();
@@ -106,24 +392,103 @@ public class AsyncSink implements Sink {
         
 	}
 	
+	private EventQueue createEventQueue() {
+		if ( GlobalConstants.RING_WRITE_MODE.equalsIgnoreCase(writeMode) ) {
+			return new RingBufferEventQueue(queueSize, createWaitStrategy());
+		}
+		return new BlockingEventQueue(queueSize);
+	}
+
+	private static boolean isKnownOverflowPolicy(String overflowPolicy) {
+		return GlobalConstants.OVERFLOW_POLICY_BLOCK.equals(overflowPolicy) 
+				|| GlobalConstants.OVERFLOW_POLICY_DROP_NEW.equals(overflowPolicy)
+				|| GlobalConstants.OVERFLOW_POLICY_DROP_OLDEST.equals(overflowPolicy)
+				|| GlobalConstants.OVERFLOW_POLICY_DROP_BELOW_LEVEL.equals(overflowPolicy)
+				|| GlobalConstants.OVERFLOW_POLICY_BLOCK_TIMEOUT.equals(overflowPolicy);
+	}
+
+	private WaitStrategy createWaitStrategy() {
+		if ( GlobalConstants.WAIT_STRATEGY_BUSY_SPIN.equalsIgnoreCase(waitStrategy) ) {
+			return new BusySpinWaitStrategy();
+		} else if ( GlobalConstants.WAIT_STRATEGY_YIELD.equalsIgnoreCase(waitStrategy) ) {
+			return new YieldingWaitStrategy();
+		} else if ( waitStrategy != null && !GlobalConstants.WAIT_STRATEGY_PARK.equalsIgnoreCase(waitStrategy) ) {
+			InternalLog.warn("Unknown wait strategy " + waitStrategy + ", falling back to " + GlobalConstants.WAIT_STRATEGY_PARK);
+		}
+		return new ParkingWaitStrategy();
+	}
+
 	public void startWorkers() {
 		for ( int i=0; i < workerThreads; i++ ) {
 			Worker worker = new Worker(i);
-			worker.setDaemon(true);
-			worker.setName(getName() + " -Worker-" + i);
-			worker.start();
+			worker.thread = WorkerThreads.newThread(worker, getName() + " -Worker-" + i, 
+					GlobalConstants.WORKER_TYPE_VIRTUAL.equals(workerType));
+			worker.thread.start();
 			workers.add(worker);
 		}
 	}
 
 	public void write(ILoggingEvent loggingEvent) {
 		// TODO Auto-generated method stub
+        long start = System.nanoTime();
+        ILoggingEvent queuedEvent = loggingEvent;
+        if ( loggingEvent instanceof LoggingEvent && ((LoggingEvent) loggingEvent).isReusable() ) {
+            queuedEvent = copyToPooledEvent((LoggingEvent) loggingEvent);
+        }
+        Partition partition = partitionOf(Thread.currentThread());
+        EventQueue eventQueue = partition.eventQueue;
+        partition.queuedEvents.incrementAndGet();
+        //Fast path, queue has room
+        if ( eventQueue.offer(queuedEvent) ) {
+        	metrics.recordWrite(1, System.nanoTime() - start);
+        	return;
+        }
+        boolean queued;
+        String policy = overflowPolicy;
+        if ( GlobalConstants.OVERFLOW_POLICY_DROP_NEW.equals(policy) ) {
+        	queued = false;
+        } else if ( GlobalConstants.OVERFLOW_POLICY_DROP_OLDEST.equals(policy) ) {
+        	queued = offerDroppingOldest(partition, queuedEvent);
+        } else if ( GlobalConstants.OVERFLOW_POLICY_BLOCK_TIMEOUT.equals(policy) ) {
+        	queued = offerWithTimeout(eventQueue, queuedEvent);
+        } else if ( GlobalConstants.OVERFLOW_POLICY_DROP_BELOW_LEVEL.equals(policy) 
+        		&& queuedEvent.getLevel() != null && queuedEvent.getLevel().ordinal() < overflowLevel.ordinal() ) {
+        	queued = false;
+        } else {
+        	queued = put(eventQueue, queuedEvent);
+        }
+        if ( queued ) {
+        	metrics.recordWrite(1, System.nanoTime() - start);
+        } else {
+        	partition.queuedEvents.decrementAndGet();
+        	droppedEvents.incrementAndGet();
+        	recycle(queuedEvent);
+        }
+	}
+
+	/**
+	 * Queue of the producer thread, a thread always maps to the same partition
+	 */
+	private Partition partitionOf(Thread producer) {
+		Partition[] current = partitions;
+		if ( current.length == 1 ) {
+			return current[0];
+		}
+		long id = producer.getId();
+		int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return current[(hash >>> 1) % current.length];
+	}
+
+	/**
+	 * Wait till the event is queued, interrupts are remembered and restored once done
+	 */
+	private boolean put(EventQueue eventQueue, ILoggingEvent queuedEvent) {
         boolean interrupted = false;
         try {
             while (true) {
                 try {
-                    blockingQueue.put(loggingEvent);
-                    break;
+                    eventQueue.put(queuedEvent);
+                    return true;
                 } catch (InterruptedException e) {
                     interrupted = true;
                 }
@@ -133,46 +498,250 @@ public class AsyncSink implements Sink {
                 Thread.currentThread().interrupt();
             }
         }
+	}
+
+	/**
+	 * Make room by discarding events from the head of the queue
+	 */
+	private boolean offerDroppingOldest(Partition partition, ILoggingEvent queuedEvent) {
+		while ( !partition.eventQueue.offer(queuedEvent) ) {
+			ILoggingEvent oldestEvent = partition.eventQueue.poll();
+			if ( oldestEvent != null ) {
+				partition.takenEvents.incrementAndGet();
+				droppedEvents.incrementAndGet();
+				recycle(oldestEvent);
+			}
+		}
+		return true;
+	}
 
+	private boolean offerWithTimeout(EventQueue eventQueue, ILoggingEvent queuedEvent) {
+		try {
+			return eventQueue.offer(queuedEvent, overflowTimeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
 	}
 
+	/**
+	 * Report events dropped since the last report, unless one was made less than {@link #DROP_REPORT_INTERVAL} ago.
+	 * Workers skip reporting while another one is at it
+	 * @param force
+	 * 			Report regardless of the interval
+	 */
+	void reportDroppedEvents(boolean force) {
+		if ( force ) {
+			reportLock.lock();
+		} else if ( !reportLock.tryLock() ) {
+			return;
+		}
+		try {
+			long dropped = droppedEvents.get();
+			if ( dropped == reportedDrops ) {
+				return;
+			}
+			long now = System.currentTimeMillis();
+			if ( !force && now - lastDropReport < DROP_REPORT_INTERVAL ) {
+				return;
+			}
+			InternalLog.warn("Queue full, " + (dropped - reportedDrops) + " events dropped by " + getName() 
+					+ " as per " + overflowPolicy + " overflow policy, " + dropped + " in total");
+			reportedDrops = dropped;
+			lastDropReport = now;
+		} finally {
+			reportLock.unlock();
+		}
+	}
+
+	/**
+	 * Copy calling thread owned event into a free pooled event, a new one is created only if the pool is exhausted
+	 */
+	private LoggingEvent copyToPooledEvent(LoggingEvent loggingEvent) {
+		LoggingEvent pooledEvent = (LoggingEvent) eventPool.poll();
+		if ( pooledEvent == null ) {
+			pooledEvent = LoggingEvent.newPooledEvent();
+		}
+		pooledEvent.copyFrom(loggingEvent);
+		return pooledEvent;
+	}
+
+	/**
+	 * Give a written event back to the pool
+	 */
+	void recycle(ILoggingEvent loggingEvent) {
+		if ( loggingEvent instanceof LoggingEvent && ((LoggingEvent) loggingEvent).isPooled() ) {
+			LoggingEvent pooledEvent = (LoggingEvent) loggingEvent;
+			pooledEvent.clear();
+			eventPool.offer(pooledEvent);
+		}
+	}
+
+	/**
+	 * Wait till every event queued before the call has been written, then flush the wrapped sink
+	 */
 	public void flush() {
-		// TODO Auto-generated method stub
-		
+		flush(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Wait till every event queued before the call has been written, then flush the wrapped sink
+	 * @param timeoutMillis
+	 * @return
+	 * 		<code>false</code> if events were still pending after timeout or the sink got stopped meanwhile
+	 */
+	public boolean flush(long timeoutMillis) {
+		if ( !started ) {
+			return false;
+		}
+		long start = System.nanoTime();
+		long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		Partition[] current = partitions;
+		long[] targets = new long[current.length];
+		for ( int i = 0; i < current.length; i++ ) {
+			targets[i] = current[i].queuedEvents.get();
+		}
+		//Queue is FIFO, once as many events have been taken as were queued before the call all of those have been taken.
+		//Events dropped meanwhile are uncounted, so stop waiting as well once everything queued so far has been taken
+		for ( int i = 0; i < current.length; i++ ) {
+			while ( true ) {
+				long taken = current[i].takenEvents.get();
+				if ( taken >= targets[i] || taken >= current[i].queuedEvents.get() ) {
+					break;
+				}
+				if ( !started || System.nanoTime() - start >= timeoutNanos ) {
+					return false;
+				}
+				LockSupport.parkNanos(FLUSH_POLL_NANOS);
+			}
+		}
+		//Workers mark themselves busy before counting taken events, wait for the batches in progress
+		for ( Worker worker : workers ) {
+			long completedBatches = worker.completedBatches;
+			while ( worker.busy && worker.completedBatches == completedBatches ) {
+				if ( !started || System.nanoTime() - start >= timeoutNanos ) {
+					return false;
+				}
+				LockSupport.parkNanos(FLUSH_POLL_NANOS);
+			}
+		}
+		wrappedSink.flush();
+		metrics.recordFlush(System.nanoTime() - start);
+		return true;
 	}
 
+	/**
+	 * Stop within {@link #DEFAULT_MAX_FLUSH_TIME} ms, see {@link #stop(long)}
+	 */
 	public void close() {
-		// TODO Auto-generated method stub
+		stop(maxFlushTime);
+	}
+
+	/**
+	 * Stop the workers, write remaining events & close the wrapped sink. Workers finish the batch they are writing, 
+	 * events still queued are drained in batches on the calling thread. Events left after timeout are discarded
+	 * @param timeoutMillis
+	 * @return
+	 * 		<code>true</code> if every event was written within timeout
+	 */
+	public boolean stop(long timeoutMillis) {
+		if ( !started ) {
+			return true;
+		}
 		started = false;
+		long start = System.nanoTime();
+		long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
 
-		interruptWorkers();
-	}
-	
-	private void interruptWorkers() {
+		boolean stopped = true;
+		for ( Worker worker : workers ) {
+			worker.thread.interrupt();
+		}
 		for ( Worker worker : workers ) {
-			worker.interrupt();
-			if ( worker.getWorkerOrder() != 0 ) {
-				continue;
-			}
 			try {
-	            worker.join(maxFlushTime);
-
-	            // check to see if the thread ended and if not add a warning message
-	            if (worker.isAlive()) {
-	            	InternalLog.warn("Max queue flush timeout (" + maxFlushTime + " ms) exceeded. Approximately " + blockingQueue.size()
-	                                + " queued events will be discarded.");
-	            } else {
-	            	InternalLog.warn("Queue flush finished successfully within timeout");
-	            }
+				long remainingMillis = TimeUnit.NANOSECONDS.toMillis(timeoutNanos - (System.nanoTime() - start));
+				worker.thread.join(Math.max(1, remainingMillis));
 			} catch (InterruptedException e) {
-	            int remaining = blockingQueue.size();
-	            InternalLog.warn("Failed to join worker thread. " + remaining + " queued events may be discarded.");
-	        }
+				Thread.currentThread().interrupt();
+			}
+			if ( worker.thread.isAlive() ) {
+				InternalLog.warn("Worker " + worker.thread.getName() + " didn't finish its batch within " + timeoutMillis + " ms");
+				stopped = false;
+			}
+		}
+		workers.clear();
+
+		//Write whatever is left in the queues
+		List<ILoggingEvent> batch = new ArrayList<ILoggingEvent>(batchSize);
+		for ( Partition partition : partitions ) {
+			while ( partition.eventQueue.drainTo(batch, batchSize) > 0 ) {
+				partition.takenEvents.addAndGet(batch.size());
+				try {
+					if ( System.nanoTime() - start < timeoutNanos ) {
+						formatBatch(batch);
+						writeBatch(wrappedSink, batch);
+					} else {
+						droppedEvents.addAndGet(batch.size());
+						stopped = false;
+					}
+				} catch (Exception e) {
+					InternalLog.error(e, "Exception while writing remaining events");
+				} finally {
+					recycleBatch(batch);
+				}
+			}
+		}
+		if ( !stopped ) {
+			InternalLog.warn("Queue flush timeout (" + timeoutMillis + " ms) exceeded for " + getName());
+		}
+		reportDroppedEvents(true);
+		wrappedSink.close();
+		return stopped;
+	}
+
+	/**
+	 * Format events whose formatting was left to the workers
+	 */
+	private void formatBatch(List<ILoggingEvent> batch) {
+		if ( !formatOnWorker ) {
+			return;
+		}
+		for ( int i = 0; i < batch.size(); i++ ) {
+			ILoggingEvent loggingEvent = batch.get(i);
+			if ( loggingEvent instanceof LoggingEvent ) {
+				((LoggingEvent) loggingEvent).formatDeferred();
+			}
+		}
+	}
+
+	private void writeBatch(Sink sink, List<ILoggingEvent> batch) {
+		if ( sink instanceof BatchSink ) {
+			((BatchSink) sink).writeBatch(batch);
+		} else {
+			for ( int i = 0; i < batch.size(); i++ ) {
+				sink.write(batch.get(i));
+			}
 		}
 	}
 
-    public class Worker extends Thread {
+	private void recycleBatch(List<ILoggingEvent> batch) {
+		for ( int i = 0; i < batch.size(); i++ ) {
+			recycle(batch.get(i));
+		}
+		batch.clear();
+	}
+
+    public class Worker implements Runnable {
     	int order;
+    	//Platform or virtual thread running this worker
+    	Thread thread;
+    	
+    	//Encoding state of this worker, so that only appending is serialized on the wrapped sink
+    	private final Utf8Encoder encoder = new Utf8Encoder();
+    	private ByteBuffer encodedBatch;
+    	
+    	//Set while holding taken events, completedBatches is bumped once they are written
+    	volatile boolean busy;
+    	volatile long completedBatches;
     	
     	public Worker(int order) {
     		this.order = order;
@@ -182,29 +751,66 @@ public class AsyncSink implements Sink {
     		return order;
     	}
     	
+    	public Thread getThread() {
+    		return thread;
+    	}
+    	
         public void run() {
             AsyncSink parent = AsyncSink.this;
             Sink sink = parent.wrappedSink;
+            Partition partition = parent.partitions[order % parent.partitions.length];
+            List<ILoggingEvent> batch = new ArrayList<ILoggingEvent>(parent.batchSize);
 
-            // loop while the parent is started
+            // loop while the parent is started, remaining events are written by stop
             while ( parent.isStarted() ) {
                 try {
-                    ILoggingEvent loggingEvent = parent.blockingQueue.take();
-                    sink.write(loggingEvent);
+                    //Block for the first event, then take whatever else is already queued
+                    ILoggingEvent loggingEvent = partition.eventQueue.take();
+                    busy = true;
+                    batch.add(loggingEvent);
+                    partition.eventQueue.drainTo(batch, parent.batchSize - 1);
+                    //Events queued but not yet taken, including this batch
+                    parent.metrics.recordQueueDepth(partition.queuedEvents.get() - partition.takenEvents.get());
+                    partition.takenEvents.addAndGet(batch.size());
+                    parent.formatBatch(batch);
+                    if ( sink instanceof EncodingSink ) {
+                        writeEncoded((EncodingSink) sink, batch);
+                    } else {
+                        parent.writeBatch(sink, batch);
+                    }
+                    if ( parent.droppedEvents.get() != parent.reportedDrops ) {
+                        parent.reportDroppedEvents(false);
+                    }
                 } catch (InterruptedException ie) {
                     break;
                 } catch (Exception e) {
+                	InternalLog.error(e, "Exception while writing batch of " + batch.size() + " events by " + parent.getName());
+				} finally {
+					parent.recycleBatch(batch);
+					if ( busy ) {
+						completedBatches++;
+						busy = false;
+					}
 				}
             }
+        }
 
-            //Worker thread with lowest order will flush remaining events before exiting
-            if ( order == 0 ) {
-                for ( ILoggingEvent loggingEvent : parent.blockingQueue) {
-                    sink.write(loggingEvent);
-                    parent.blockingQueue.remove(loggingEvent);
-                }
-                //Close the current sink 
-                sink.close();
+        /**
+         * Encode the batch outside of the sink lock & hand the bytes over in one call
+         */
+        private void writeEncoded(EncodingSink sink, List<ILoggingEvent> batch) throws IOException {
+            if ( encodedBatch == null ) {
+                encodedBatch = ByteBuffer.allocate(ENCODED_BATCH_SIZE);
+            }
+            encodedBatch.clear();
+            for ( int i = 0; i < batch.size(); i++ ) {
+                encodedBatch = sink.encode(batch.get(i), encodedBatch, encoder, Utf8Encoder.GROWING_OUTPUT);
+            }
+            encodedBatch.flip();
+            sink.writeEncoded(batch, encodedBatch);
+            if ( encodedBatch.capacity() > MAX_RETAINED_BATCH_SIZE ) {
+                //Don't hold on to a buffer grown by a burst of large messages
+                encodedBatch = null;
             }
         }
     }
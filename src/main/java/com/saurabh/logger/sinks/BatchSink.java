@@ -0,0 +1,24 @@
+package com.saurabh.logger.sinks;
+
+import java.util.List;
+
+import com.saurabh.logger.ILoggingEvent;
+
+/**
+ * {@link Sink} able to write several events in one go. {@link AsyncSink} workers drain their queue in chunks and hand
+ * every chunk over to wrapped sinks implementing this interface, other sinks get the events one by one.
+ * <p>
+ * Implementations must write events in the order of the list & must not keep references to them once the call returns.
+ * 
+ * @author Saurabh
+ */
+public interface BatchSink extends Sink {
+
+	/**
+	 * Write a batch of log entries.
+	 *
+	 * @param loggingEvents
+	 *            Events to output, in order
+	 */
+	void writeBatch(List<? extends ILoggingEvent> loggingEvents);
+}
@@ -0,0 +1,547 @@
+package com.saurabh.logger.sinks;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.saurabh.logger.ILoggingEvent;
+import com.saurabh.logger.InternalLog;
+import com.saurabh.logger.LoggingEvent;
+import com.saurabh.logger.MessageFormatter;
+import com.saurabh.logger.metrics.SinkMetrics;
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
+
+/**
+ * BinaryFileSink writes events as compact binary records instead of text, see {@link BinaryLogFormat} for the layout.
+ * <p>
+ * Messages are never formatted, the level, timestamp, namespace, thread, content & raw arguments are recorded as they
+ * were captured. Namespaces, threads & contents are interned through a {@link DictionaryEncoder}, every dictionary 
+ * holding up to <b>dictionary_size</b> entries, further values are written inline. Long, double & float arguments are 
+ * written without boxing, other arguments are written as their string value. {@link BinaryLogDecoder} renders the 
+ * file back into text with any layout.
+ * <p>
+ * The file is written in segments of about <b>segment_size</b> bytes, each one starting with a header record & 
+ * new dictionaries. Entries are defined again in every segment they are used in, so dictionaries of long running 
+ * processes don't stay full of stale entries & a segment can be decoded on its own.
+ * <p>
+ * Records are encoded into a direct {@link ByteBuffer} which is written through the file's {@link FileChannel}, once
+ * per message or per batch. When appending, a record torn by a crash at the end of the file is cut off before the 
+ * new segment is written, so that the file stays decodable. After a failed write the next record starts a new segment,
+ * as dictionary records buffered along with the failed one are lost.
+ * @author Saurabh
+ */
+@SinkType(type = "binaryfile")
+public class BinaryFileSink implements BatchSink, UnformattedSink, MeteredSink {
+
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	public static final int DEFAULT_DICTIONARY_SIZE = 16 * 1024;
+	public static final long DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	private static final int INITIAL_RECORD_SIZE = 256;
+
+	private String fileName = null;
+	private String name;
+	private boolean append = true;
+	private int dictionarySize = DEFAULT_DICTIONARY_SIZE;
+	private long segmentSize = DEFAULT_SEGMENT_SIZE;
+	private volatile boolean started;
+
+	/**
+	 * All synchronization in this class is done via the lock object.
+	 */
+	protected final ReentrantLock lock = new ReentrantLock(false);
+
+	private FileOutputStream stream;
+	private FileChannel channel;
+	private ByteBuffer outputBuffer;
+
+	//Record being encoded, grown on demand
+	private ByteBuffer record = ByteBuffer.allocate(INITIAL_RECORD_SIZE);
+	private final StringBuilder argumentText = new StringBuilder();
+
+	//Dictionaries of current segment, guarded by the lock
+	private final DictionaryEncoder dictionaries = new DictionaryEncoder(DEFAULT_DICTIONARY_SIZE, 
+			new DictionaryEncoder.Output() {
+				public void define(byte recordType, int id, long threadId, String value) throws IOException {
+					writeDefinition(recordType, id, threadId, value);
+				}
+			});
+	//Bytes of records written to current segment, including buffered ones
+	private long segmentBytes;
+	private int segmentCount;
+	//Set when a write failed, buffered dictionary records may be lost so the next record starts a new segment
+	private boolean segmentDamaged;
+	private final SinkMetrics metrics = new SinkMetrics();
+
+	public String getFile() {
+		return fileName;
+	}
+
+	@MethodParam(name="file_location", type=String.class)
+	public void setFile(String file) {
+		fileName = file == null ? null : file.trim();
+	}
+
+	public boolean isAppending() {
+		return append;
+	}
+
+	@MethodParam(name="append", type=boolean.class)
+	public void setAppend(boolean append) {
+		this.append = append;
+	}
+
+	public int getDictionarySize() {
+		return dictionarySize;
+	}
+
+	/**
+	 * Maximum number of entries per dictionary, values seen once a dictionary is full are written inline
+	 * @param dictionarySize
+	 */
+	@MethodParam(name="dictionary_size", type=int.class)
+	public void setDictionarySize(int dictionarySize) {
+		this.dictionarySize = dictionarySize;
+	}
+
+	public long getSegmentSize() {
+		return segmentSize;
+	}
+
+	/**
+	 * Bytes after which a new segment is started with new dictionaries
+	 * @param segmentSize
+	 */
+	@MethodParam(name="segment_size", type=long.class)
+	public void setSegmentSize(long segmentSize) {
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Number of segments started since the sink was initialized
+	 * @return
+	 */
+	public int getSegmentCount() {
+		lock.lock();
+		try {
+			return segmentCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public SinkMetricsSnapshot getMetrics() {
+		return metrics.snapshot(name, fileName, 0, 0);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public boolean isStarted() {
+		return started;
+	}
+
+	public void init() {
+		if ( fileName == null ) {
+			return;
+		}
+		lock.lock();
+		try {
+			File file = new File(fileName);
+			File parent = file.getParentFile();
+			if ( parent != null ) {
+				parent.mkdirs();
+			}
+			try {
+				if ( append ) {
+					truncateTornRecord(file);
+				}
+				stream = new FileOutputStream(file, append);
+				channel = stream.getChannel();
+				if ( outputBuffer == null ) {
+					outputBuffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+				}
+				//Every opening starts a new segment
+				segmentCount = 0;
+				startSegment();
+				drainBuffer();
+			} catch ( Exception ex ) {
+				InternalLog.error(ex, "Exception while opening output stream for file : " + file);
+			}
+			started = true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Cut the file after its last complete record
+	 */
+	private static void truncateTornRecord(File file) throws IOException {
+		long fileLength = file.length();
+		if ( fileLength == 0 ) {
+			return;
+		}
+		long completeLength = completeLength(file, fileLength);
+		if ( completeLength == fileLength ) {
+			return;
+		}
+		InternalLog.warn("Truncating " + (fileLength - completeLength) + " bytes of a torn record at the end of " + file);
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.setLength(completeLength);
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Length of the file up to the end of its last complete length prefixed record
+	 */
+	private static long completeLength(File file, long fileLength) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			long position = 0;
+			while ( position < fileLength ) {
+				long length = 0;
+				int prefixSize = 0;
+				try {
+					byte b;
+					do {
+						b = input.readByte();
+						length |= (long) (b & 0x7F) << (7 * prefixSize);
+						prefixSize++;
+					} while ( (b & 0x80) != 0 && prefixSize < BinaryLogFormat.MAX_VARINT_SIZE );
+				} catch (EOFException ex) {
+					return position;
+				}
+				if ( length < 1 || position + prefixSize + length > fileLength ) {
+					return position;
+				}
+				input.skipBytes((int) length);
+				position += prefixSize + length;
+			}
+			return position;
+		} finally {
+			input.close();
+		}
+	}
+
+	public void write(ILoggingEvent loggingEvent) {
+		if ( channel == null ) {
+			InternalLog.error("OutputStream is not opened, won't be able to write");
+			return;
+		}
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			encode(loggingEvent);
+			drainBuffer();
+			metrics.recordWrite(1, System.nanoTime() - start);
+		} catch (Exception ex) {
+			segmentDamaged = true;
+			InternalLog.error(ex, "Exception while writing record for message :" + loggingEvent.getContent());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Encode all the events into the output buffer and write them with a single call, unless they don't fit in
+	 * {@link #DEFAULT_BUFFER_SIZE} bytes
+	 */
+	public void writeBatch(List<? extends ILoggingEvent> loggingEvents) {
+		if ( channel == null ) {
+			InternalLog.error("OutputStream is not opened, won't be able to write");
+			return;
+		}
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			for ( int i = 0; i < loggingEvents.size(); i++ ) {
+				encode(loggingEvents.get(i));
+			}
+			drainBuffer();
+			metrics.recordWrite(loggingEvents.size(), System.nanoTime() - start);
+		} catch (Exception ex) {
+			segmentDamaged = true;
+			InternalLog.error(ex, "Exception while writing batch of " + loggingEvents.size() + " records");
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Write a header & forget dictionary entries of the previous segment. Must be called while holding the lock
+	 */
+	private void startSegment() throws IOException {
+		dictionaries.reset(dictionarySize);
+		segmentDamaged = false;
+		segmentBytes = 0;
+		segmentCount++;
+		startRecord(BinaryLogFormat.RECORD_HEADER, BinaryLogFormat.MAGIC.length + 1);
+		record.put(BinaryLogFormat.MAGIC);
+		record.put(BinaryLogFormat.VERSION);
+		commitRecord();
+	}
+
+	private void writeDefinition(byte recordType, int id, long threadId, String value) throws IOException {
+		startRecord(recordType, 2 * BinaryLogFormat.MAX_VARINT_SIZE);
+		BinaryLogFormat.putVarint(record, id);
+		if ( recordType == BinaryLogFormat.RECORD_THREAD ) {
+			BinaryLogFormat.putVarint(record, threadId);
+		}
+		putString(value);
+		commitRecord();
+	}
+
+	/**
+	 * Append the event record, preceded by dictionary records of values seen for the first time. Must be called while
+	 * holding the lock
+	 */
+	private void encode(ILoggingEvent loggingEvent) throws IOException {
+		//Entries whose definitions were lost with a failed write must not be referred to, all of them are defined again
+		if ( segmentDamaged || (segmentSize > 0 && segmentBytes >= segmentSize) ) {
+			startSegment();
+		}
+		String nameSpace = loggingEvent.getNameSpace();
+		String content = loggingEvent.getContent();
+		int nameSpaceId = dictionaries.nameSpaceId(nameSpace);
+		int threadId = dictionaries.threadId(loggingEvent.getThreadId(), loggingEvent.getThreadName());
+		int templateId = dictionaries.templateId(content);
+
+		startRecord(BinaryLogFormat.RECORD_EVENT, 1 + 5 * BinaryLogFormat.MAX_VARINT_SIZE);
+		record.put((byte) loggingEvent.getLevel().ordinal());
+		BinaryLogFormat.putVarint(record, loggingEvent.getCurrentTs());
+		BinaryLogFormat.putVarint(record, nameSpaceId);
+		if ( nameSpaceId == BinaryLogFormat.INLINE_ID ) {
+			putString(nameSpace);
+		}
+		BinaryLogFormat.putVarint(record, threadId);
+		if ( threadId == BinaryLogFormat.INLINE_ID ) {
+			ensureRecordCapacity(BinaryLogFormat.MAX_VARINT_SIZE);
+			BinaryLogFormat.putVarint(record, loggingEvent.getThreadId());
+			putString(loggingEvent.getThreadName());
+		}
+		ensureRecordCapacity(2 * BinaryLogFormat.MAX_VARINT_SIZE);
+		BinaryLogFormat.putVarint(record, templateId);
+		if ( templateId == BinaryLogFormat.INLINE_ID ) {
+			putString(content);
+		}
+		putArguments(loggingEvent);
+		commitRecord();
+	}
+
+	private void putArguments(ILoggingEvent loggingEvent) {
+		if ( loggingEvent instanceof LoggingEvent ) {
+			//Primitive arguments are read without boxing them
+			LoggingEvent event = (LoggingEvent) loggingEvent;
+			int argumentCount = event.getArgumentCount();
+			ensureRecordCapacity(BinaryLogFormat.MAX_VARINT_SIZE);
+			BinaryLogFormat.putVarint(record, argumentCount);
+			for ( int i = 0; i < argumentCount; i++ ) {
+				byte type = event.getArgumentType(i);
+				if ( type == LoggingEvent.LONG_ARGUMENT ) {
+					putLong(event.getPrimitiveArgument(i));
+				} else if ( type == LoggingEvent.DOUBLE_ARGUMENT ) {
+					putDouble(Double.longBitsToDouble(event.getPrimitiveArgument(i)));
+				} else if ( type == LoggingEvent.FLOAT_ARGUMENT ) {
+					putFloat(Float.intBitsToFloat((int) event.getPrimitiveArgument(i)));
+				} else {
+					putArgument(event.getArgument(i));
+				}
+			}
+			return;
+		}
+		Object[] arguments = loggingEvent.getArgumentArray();
+		int argumentCount = arguments == null ? 0 : arguments.length;
+		ensureRecordCapacity(BinaryLogFormat.MAX_VARINT_SIZE);
+		BinaryLogFormat.putVarint(record, argumentCount);
+		for ( int i = 0; i < argumentCount; i++ ) {
+			putArgument(arguments[i]);
+		}
+	}
+
+	private void putArgument(Object argument) {
+		if ( argument == null ) {
+			ensureRecordCapacity(1);
+			record.put(BinaryLogFormat.ARGUMENT_NULL);
+		} else if ( argument instanceof Long || argument instanceof Integer || argument instanceof Short
+				|| argument instanceof Byte ) {
+			putLong(((Number) argument).longValue());
+		} else if ( argument instanceof Double ) {
+			putDouble(((Double) argument).doubleValue());
+		} else if ( argument instanceof Float ) {
+			//Kept as a float, widening it would render more digits than the text layout does
+			putFloat(((Float) argument).floatValue());
+		} else {
+			argumentText.setLength(0);
+			MessageFormatter.appendArgument(argument, argumentText);
+			ensureRecordCapacity(1);
+			record.put(BinaryLogFormat.ARGUMENT_STRING);
+			putString(argumentText.toString());
+		}
+	}
+
+	private void putLong(long value) {
+		ensureRecordCapacity(1 + BinaryLogFormat.MAX_VARINT_SIZE);
+		record.put(BinaryLogFormat.ARGUMENT_LONG);
+		BinaryLogFormat.putVarint(record, BinaryLogFormat.zigZag(value));
+	}
+
+	private void putDouble(double value) {
+		ensureRecordCapacity(9);
+		record.put(BinaryLogFormat.ARGUMENT_DOUBLE);
+		record.putDouble(value);
+	}
+
+	private void putFloat(float value) {
+		ensureRecordCapacity(5);
+		record.put(BinaryLogFormat.ARGUMENT_FLOAT);
+		record.putFloat(value);
+	}
+
+	private void putString(String value) {
+		byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+		ensureRecordCapacity(BinaryLogFormat.MAX_VARINT_SIZE + utf8.length);
+		BinaryLogFormat.putString(record, utf8);
+	}
+
+	private void startRecord(byte recordType, int capacity) {
+		record.clear();
+		ensureRecordCapacity(1 + capacity);
+		record.put(recordType);
+	}
+
+	private void ensureRecordCapacity(int bytes) {
+		if ( record.remaining() < bytes ) {
+			ByteBuffer largerRecord = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes));
+			record.flip();
+			largerRecord.put(record);
+			record = largerRecord;
+		}
+	}
+
+	/**
+	 * Append the length prefixed record to the output buffer, records larger than the buffer are written directly.
+	 * Must be called while holding the lock
+	 */
+	private void commitRecord() throws IOException {
+		record.flip();
+		int length = record.remaining();
+		segmentBytes += BinaryLogFormat.varintSize(length) + length;
+		if ( outputBuffer.remaining() < BinaryLogFormat.MAX_VARINT_SIZE + length ) {
+			drainBuffer();
+		}
+		BinaryLogFormat.putVarint(outputBuffer, length);
+		if ( length <= outputBuffer.remaining() ) {
+			outputBuffer.put(record);
+		} else {
+			drainBuffer();
+			writeFully(record);
+		}
+	}
+
+	/**
+	 * Write whatever is in the output buffer to the file channel. Must be called while holding the lock
+	 */
+	private void drainBuffer() throws IOException {
+		outputBuffer.flip();
+		try {
+			writeFully(outputBuffer);
+		} finally {
+			outputBuffer.clear();
+		}
+	}
+
+	/**
+	 * Write all the remaining bytes of the buffer to the file channel. Must be called while holding the lock
+	 */
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		metrics.recordBytes(buffer.remaining());
+		boolean interrupted = false;
+		try {
+			while ( buffer.hasRemaining() ) {
+				try {
+					channel.write(buffer);
+				} catch (ClosedByInterruptException ex) {
+					//Interrupting the writing thread closes the channel, reopen it & write the remaining bytes
+					Thread.interrupted();
+					interrupted = true;
+					stream = new FileOutputStream(fileName, true);
+					channel = stream.getChannel();
+				}
+			}
+		} finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	public void flush() {
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			if ( channel != null ) {
+				drainBuffer();
+				metrics.recordFlush(System.nanoTime() - start);
+			}
+		} catch (Exception ex) {
+			segmentDamaged = true;
+			InternalLog.error(ex, "Exception while flushing binary file");
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void close() {
+		lock.lock();
+		try {
+			if ( stream != null ) {
+				try {
+					drainBuffer();
+				} finally {
+					stream.close();
+					stream = null;
+					channel = null;
+				}
+			}
+		} catch (Exception ex) {
+			InternalLog.error(ex, "Exception while closing binary file");
+		} finally {
+			lock.unlock();
+			started = false;
+		}
+	}
+
+	public boolean equals(Object obj) {
+		if (obj == null) return false;
+		if (this == obj) return true;
+		if ( getClass() != obj.getClass()) {
+			return false;
+		}
+		BinaryFileSink binaryFileSink = (BinaryFileSink)obj;
+		return getFile().equals(binaryFileSink.getFile());
+	}
+
+	public int hashCode() {
+		String file = getFile();
+		return file == null ? 0 : file.hashCode();
+	}
+}
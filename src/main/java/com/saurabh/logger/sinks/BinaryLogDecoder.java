@@ -0,0 +1,315 @@
+package com.saurabh.logger.sinks;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.saurabh.logger.ILoggingEvent;
+import com.saurabh.logger.Layout;
+import com.saurabh.logger.Level;
+import com.saurabh.logger.LoggerConfig;
+import com.saurabh.logger.MessageFormatter;
+
+/**
+ * Reads files written by {@link BinaryFileSink} back into {@link ILoggingEvent} instances & renders them as text with
+ * a {@link Layout}, so that formatting is done offline.
+ * <p>
+ * Reading stops quietly at a truncated last record, as left by a process which died while writing.
+ * <pre>
+ * java -cp logger.jar com.saurabh.logger.sinks.BinaryLogDecoder &lt;file&gt; [layout] [ts_format]
+ * </pre>
+ * @author Saurabh
+ */
+public final class BinaryLogDecoder implements Closeable {
+
+	private static final Level[] LEVELS = Level.values();
+
+	private final DataInputStream input;
+	private byte[] recordBytes = new byte[256];
+	private boolean headerRead;
+
+	//Dictionaries of current segment, index is id - 1
+	private final List<String> namespaces = new ArrayList<String>();
+	private final List<String> templates = new ArrayList<String>();
+	private final List<String> threadNames = new ArrayList<String>();
+	private final List<Long> threadIds = new ArrayList<Long>();
+
+	public BinaryLogDecoder(InputStream inputStream) {
+		this.input = new DataInputStream(new BufferedInputStream(inputStream));
+	}
+
+	/**
+	 * Read the next event
+	 * @return
+	 * 		Decoded event or <code>null</code> at the end of the file
+	 * @throws IOException
+	 * 		If the file wasn't written by {@link BinaryFileSink} or is corrupt
+	 */
+	public ILoggingEvent next() throws IOException {
+		while ( true ) {
+			ByteBuffer record = readRecord();
+			if ( record == null ) {
+				return null;
+			}
+			byte recordType = record.get();
+			if ( !headerRead && recordType != BinaryLogFormat.RECORD_HEADER ) {
+				throw new IOException("Not a binary log file, header is missing");
+			}
+			switch ( recordType ) {
+				case BinaryLogFormat.RECORD_HEADER:
+					readHeader(record);
+					break;
+				case BinaryLogFormat.RECORD_NAMESPACE:
+					define(namespaces, record);
+					namespaces.add(BinaryLogFormat.getString(record));
+					break;
+				case BinaryLogFormat.RECORD_TEMPLATE:
+					define(templates, record);
+					templates.add(BinaryLogFormat.getString(record));
+					break;
+				case BinaryLogFormat.RECORD_THREAD:
+					define(threadNames, record);
+					threadIds.add(BinaryLogFormat.getVarint(record));
+					threadNames.add(BinaryLogFormat.getString(record));
+					break;
+				case BinaryLogFormat.RECORD_EVENT:
+					return readEvent(record);
+				default:
+					throw new IOException("Unknown record type " + recordType);
+			}
+		}
+	}
+
+	/**
+	 * Read a length prefixed record
+	 * @return
+	 * 		Record or <code>null</code> if there are no more complete records
+	 */
+	private ByteBuffer readRecord() throws IOException {
+		int length;
+		try {
+			length = (int) readVarint();
+		} catch (EOFException ex) {
+			return null;
+		}
+		if ( length < 1 ) {
+			throw new IOException("Malformed record of length " + length);
+		}
+		if ( recordBytes.length < length ) {
+			recordBytes = new byte[Math.max(length, recordBytes.length * 2)];
+		}
+		try {
+			input.readFully(recordBytes, 0, length);
+		} catch (EOFException ex) {
+			return null;
+		}
+		return ByteBuffer.wrap(recordBytes, 0, length);
+	}
+
+	private long readVarint() throws IOException {
+		long value = 0;
+		for ( int shift = 0; shift < 64; shift += 7 ) {
+			byte b = input.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ( (b & 0x80) == 0 ) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	private void readHeader(ByteBuffer record) throws IOException {
+		byte[] magic = new byte[BinaryLogFormat.MAGIC.length];
+		record.get(magic);
+		if ( !Arrays.equals(magic, BinaryLogFormat.MAGIC) ) {
+			throw new IOException("Not a binary log file, bad magic");
+		}
+		byte version = record.get();
+		if ( version != BinaryLogFormat.VERSION ) {
+			throw new IOException("Unsupported binary log version " + version);
+		}
+		//New segment, its own dictionaries follow
+		namespaces.clear();
+		templates.clear();
+		threadNames.clear();
+		threadIds.clear();
+		headerRead = true;
+	}
+
+	private static void define(List<String> dictionary, ByteBuffer record) throws IOException {
+		long id = BinaryLogFormat.getVarint(record);
+		if ( id != dictionary.size() + 1 ) {
+			throw new IOException("Dictionary id " + id + " out of sequence");
+		}
+	}
+
+	private ILoggingEvent readEvent(ByteBuffer record) throws IOException {
+		DecodedEvent event = new DecodedEvent();
+		int levelOrdinal = record.get();
+		if ( levelOrdinal < 0 || levelOrdinal >= LEVELS.length ) {
+			throw new IOException("Unknown level " + levelOrdinal);
+		}
+		event.level = LEVELS[levelOrdinal];
+		event.timeStamp = BinaryLogFormat.getVarint(record);
+
+		int nameSpaceId = (int) BinaryLogFormat.getVarint(record);
+		event.nameSpace = nameSpaceId == BinaryLogFormat.INLINE_ID ? BinaryLogFormat.getString(record)
+				: lookup(namespaces, nameSpaceId);
+
+		int threadId = (int) BinaryLogFormat.getVarint(record);
+		if ( threadId == BinaryLogFormat.INLINE_ID ) {
+			event.threadId = BinaryLogFormat.getVarint(record);
+			event.threadName = BinaryLogFormat.getString(record);
+		} else {
+			event.threadName = lookup(threadNames, threadId);
+			event.threadId = threadIds.get(threadId - 1);
+		}
+
+		int templateId = (int) BinaryLogFormat.getVarint(record);
+		event.content = templateId == BinaryLogFormat.INLINE_ID ? BinaryLogFormat.getString(record)
+				: lookup(templates, templateId);
+
+		int argumentCount = (int) BinaryLogFormat.getVarint(record);
+		if ( argumentCount > 0 ) {
+			event.arguments = new Object[argumentCount];
+			for ( int i = 0; i < argumentCount; i++ ) {
+				event.arguments[i] = readArgument(record);
+			}
+		}
+		return event;
+	}
+
+	private static Object readArgument(ByteBuffer record) throws IOException {
+		byte tag = record.get();
+		switch ( tag ) {
+			case BinaryLogFormat.ARGUMENT_NULL:
+				return null;
+			case BinaryLogFormat.ARGUMENT_LONG:
+				return Long.valueOf(BinaryLogFormat.unZigZag(BinaryLogFormat.getVarint(record)));
+			case BinaryLogFormat.ARGUMENT_DOUBLE:
+				return Double.valueOf(record.getDouble());
+			case BinaryLogFormat.ARGUMENT_STRING:
+				return BinaryLogFormat.getString(record);
+			case BinaryLogFormat.ARGUMENT_FLOAT:
+				return Float.valueOf(record.getFloat());
+			default:
+				throw new IOException("Unknown argument tag " + tag);
+		}
+	}
+
+	private static String lookup(List<String> dictionary, int id) throws IOException {
+		if ( id < 1 || id > dictionary.size() ) {
+			throw new IOException("Undefined dictionary id " + id);
+		}
+		return dictionary.get(id - 1);
+	}
+
+	public void close() throws IOException {
+		input.close();
+	}
+
+	/**
+	 * Render every event of the file followed by a new line
+	 * @param file
+	 * @param layout
+	 * @param output
+	 * @return
+	 * 		Number of events rendered
+	 * @throws IOException
+	 */
+	public static long decode(File file, Layout layout, Appendable output) throws IOException {
+		BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(file));
+		try {
+			StringBuilder sb = new StringBuilder(256);
+			long events = 0;
+			ILoggingEvent event;
+			while ( (event = decoder.next()) != null ) {
+				sb.setLength(0);
+				MessageFormatter.format(event, layout, sb);
+				sb.append(FileSink.NEWLINE_CHARACTER);
+				output.append(sb);
+				events++;
+			}
+			return events;
+		} finally {
+			decoder.close();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if ( args.length < 1 ) {
+			System.err.println("Usage: BinaryLogDecoder <file> [layout] [ts_format]");
+			System.exit(1);
+		}
+		String pattern = args.length > 1 ? args[1] : Layout.DEFAULT_PATTERN;
+		String tsFormat = args.length > 2 ? args[2] : LoggerConfig.DEFAULT_TS_FORMAT;
+		Writer output = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+		decode(new File(args[0]), Layout.compile(pattern, tsFormat), output);
+		output.flush();
+	}
+
+	/**
+	 * Event read from a binary log file
+	 */
+	private static final class DecodedEvent implements ILoggingEvent {
+		Level level;
+		long timeStamp;
+		String nameSpace;
+		String threadName;
+		long threadId;
+		String content;
+		Object[] arguments;
+
+		public String getThreadName() {
+			return threadName;
+		}
+
+		public long getThreadId() {
+			return threadId;
+		}
+
+		public Level getLevel() {
+			return level;
+		}
+
+		public String getContent() {
+			return content;
+		}
+
+		public Object[] getArgumentArray() {
+			return arguments;
+		}
+
+		public String getFormattedMessage() {
+			return null;
+		}
+
+		public CharSequence getFormattedBuffer() {
+			return null;
+		}
+
+		public String getNameSpace() {
+			return nameSpace;
+		}
+
+		public String tsFormat() {
+			return null;
+		}
+
+		public long getCurrentTs() {
+			return timeStamp;
+		}
+	}
+}
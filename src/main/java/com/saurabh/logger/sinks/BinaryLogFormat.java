@@ -0,0 +1,105 @@
+package com.saurabh.logger.sinks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Record layout shared by {@link BinaryFileSink} & {@link BinaryLogDecoder}.
+ * <p>
+ * A file is a sequence of records, each one being its varint length followed by a record type byte & its fields.
+ * Every segment starts with a header record, which starts new dictionaries. Namespaces, threads &
+ * message templates are written once into a dictionary record and referred to by id afterwards, id 0 means the value
+ * follows inline because its dictionary is full.
+ * <ul>
+ * 		<li><b>HEADER</b> : magic bytes, version</li>
+ * 		<li><b>NAMESPACE</b> : id, string</li>
+ * 		<li><b>THREAD</b> : id, thread id, thread name</li>
+ * 		<li><b>TEMPLATE</b> : id, content string</li>
+ * 		<li><b>EVENT</b> : level ordinal byte, timestamp, namespace id, thread id, template id, argument count, arguments</li>
+ * </ul>
+ * Integers are unsigned varints, long arguments are zig-zag encoded, doubles take 8 bytes, floats 4 bytes & strings 
+ * are a varint length followed by UTF-8 bytes. Every argument starts with a tag byte.
+ * 
+ * @author Saurabh
+ */
+final class BinaryLogFormat {
+
+	static final byte[] MAGIC = { 'S', 'L', 'O', 'G' };
+	static final byte VERSION = 1;
+
+	static final byte RECORD_HEADER = 0;
+	static final byte RECORD_NAMESPACE = 1;
+	static final byte RECORD_THREAD = 2;
+	static final byte RECORD_TEMPLATE = 3;
+	static final byte RECORD_EVENT = 4;
+
+	static final byte ARGUMENT_NULL = 0;
+	static final byte ARGUMENT_LONG = 1;
+	static final byte ARGUMENT_DOUBLE = 2;
+	static final byte ARGUMENT_STRING = 3;
+	static final byte ARGUMENT_FLOAT = 4;
+
+	//Id written instead of a dictionary reference when the value follows inline
+	static final int INLINE_ID = 0;
+
+	static final int MAX_VARINT_SIZE = 10;
+
+	private BinaryLogFormat() {
+	}
+
+	static void putVarint(ByteBuffer buffer, long value) {
+		while ( (value & ~0x7FL) != 0 ) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	static int varintSize(long value) {
+		int size = 1;
+		while ( (value & ~0x7FL) != 0 ) {
+			size++;
+			value >>>= 7;
+		}
+		return size;
+	}
+
+	static long getVarint(ByteBuffer buffer) throws IOException {
+		long value = 0;
+		for ( int shift = 0; shift < 64; shift += 7 ) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ( (b & 0x80) == 0 ) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Write a string, buffer must have room for {@link #MAX_VARINT_SIZE} plus the given bytes
+	 */
+	static void putString(ByteBuffer buffer, byte[] utf8) {
+		putVarint(buffer, utf8.length);
+		buffer.put(utf8);
+	}
+
+	static String getString(ByteBuffer buffer) throws IOException {
+		int length = (int) getVarint(buffer);
+		if ( length < 0 || length > buffer.remaining() ) {
+			throw new IOException("Malformed string of length " + length);
+		}
+		String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+}
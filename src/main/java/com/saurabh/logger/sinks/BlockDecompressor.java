@@ -0,0 +1,181 @@
+package com.saurabh.logger.sinks;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.saurabh.logger.InternalLog;
+
+/**
+ * Streams the log lines out of a file written by {@link FileSink} with <b>compression</b> set to 
+ * {@link com.saurabh.logger.GlobalConstants#COMPRESSION_DEFLATE}, see {@link DeflateBlockCompressor} for the frame layout.
+ * <p>
+ * A truncated last frame, as left by a crash, ends decompression quietly. Damaged frames, cut short ones followed 
+ * by frames appended later included, are skipped & reported, decompression carries on from the next frame magic.
+ * <pre>
+ * java -cp logger.jar com.saurabh.logger.sinks.BlockDecompressor &lt;file&gt; [output file]
+ * </pre>
+ * @author Saurabh
+ */
+public final class BlockDecompressor implements Closeable {
+
+	private final DataInputStream input;
+	private final Inflater inflater = new Inflater(true);
+	private final CRC32 checksum = new CRC32();
+	private byte[] compressed = new byte[0];
+	private byte[] block = new byte[0];
+	private long skippedFrames;
+
+	public BlockDecompressor(InputStream inputStream) {
+		this.input = new DataInputStream(new BufferedInputStream(inputStream));
+	}
+
+	/**
+	 * Number of damaged frames skipped so far
+	 * @return
+	 */
+	public long getSkippedFrames() {
+		return skippedFrames;
+	}
+
+	/**
+	 * Decompress every intact frame into the output stream
+	 * @param output
+	 * @return
+	 * 		Number of decompressed bytes
+	 * @throws IOException
+	 */
+	public long decompressTo(OutputStream output) throws IOException {
+		long total = 0;
+		boolean torn = false;
+		while ( findMagic() ) {
+			if ( torn ) {
+				//A frame was cut short & more frames were appended after it
+				skip("frame cut short");
+				torn = false;
+			}
+			//Damaged frames are rescanned from right after their magic, frames appended after a crash may start within
+			input.mark(DeflateBlockCompressor.FRAME_HEADER_SIZE + 2 * DeflateBlockCompressor.MAX_BLOCK_SIZE);
+			int length;
+			try {
+				length = input.readInt();
+				int compressedLength = input.readInt();
+				int expectedChecksum = input.readInt();
+				if ( length < 0 || length > DeflateBlockCompressor.MAX_BLOCK_SIZE || compressedLength < 0 
+						|| compressedLength > 2 * DeflateBlockCompressor.MAX_BLOCK_SIZE ) {
+					skip("bad frame lengths");
+					input.reset();
+					continue;
+				}
+				if ( compressed.length < compressedLength ) {
+					compressed = new byte[compressedLength];
+				}
+				input.readFully(compressed, 0, compressedLength);
+				if ( !inflate(length, compressedLength, expectedChecksum) ) {
+					input.reset();
+					continue;
+				}
+			} catch (EOFException ex) {
+				//Reported once a later frame is found, a cut short last frame is expected after a crash
+				torn = true;
+				input.reset();
+				continue;
+			}
+			output.write(block, 0, length);
+			total += length;
+		}
+		return total;
+	}
+
+	/**
+	 * Read up to the next frame magic, skipping anything else
+	 * @return
+	 * 		<code>false</code> at the end of the stream
+	 */
+	private boolean findMagic() throws IOException {
+		int window = 0;
+		int read = 0;
+		long skipped = 0;
+		while ( true ) {
+			int b = input.read();
+			if ( b < 0 ) {
+				return false;
+			}
+			window = (window << 8) | b;
+			if ( ++read >= 4 ) {
+				if ( window == DeflateBlockCompressor.MAGIC ) {
+					if ( skipped > 0 ) {
+						InternalLog.warn("Skipped " + skipped + " bytes not belonging to any frame");
+					}
+					return true;
+				}
+				skipped++;
+			}
+		}
+	}
+
+	private boolean inflate(int length, int compressedLength, int expectedChecksum) {
+		if ( block.length < length ) {
+			block = new byte[length];
+		}
+		inflater.reset();
+		inflater.setInput(compressed, 0, compressedLength);
+		try {
+			int inflated = 0;
+			while ( inflated < length && !inflater.finished() ) {
+				int count = inflater.inflate(block, inflated, length - inflated);
+				if ( count == 0 && (inflater.needsInput() || inflater.needsDictionary()) ) {
+					break;
+				}
+				inflated += count;
+			}
+			checksum.reset();
+			checksum.update(block, 0, length);
+			if ( inflated != length || (int) checksum.getValue() != expectedChecksum ) {
+				skip("checksum mismatch");
+				return false;
+			}
+			return true;
+		} catch (DataFormatException ex) {
+			skip(ex.getMessage());
+			return false;
+		}
+	}
+
+	private void skip(String reason) {
+		skippedFrames++;
+		InternalLog.warn("Skipping damaged frame, " + reason);
+	}
+
+	public void close() throws IOException {
+		inflater.end();
+		input.close();
+	}
+
+	public static void main(String[] args) throws IOException {
+		if ( args.length < 1 ) {
+			System.err.println("Usage: BlockDecompressor <file> [output file]");
+			System.exit(1);
+		}
+		BlockDecompressor decompressor = new BlockDecompressor(new FileInputStream(args[0]));
+		OutputStream output = args.length > 1 ? new FileOutputStream(args[1]) : System.out;
+		try {
+			decompressor.decompressTo(output);
+			output.flush();
+		} finally {
+			decompressor.close();
+			if ( output != System.out ) {
+				output.close();
+			}
+		}
+	}
+}
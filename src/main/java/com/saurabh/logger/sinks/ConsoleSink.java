@@ -1,19 +1,50 @@
 package com.saurabh.logger.sinks;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
 import com.saurabh.logger.GlobalConstants;
 import com.saurabh.logger.ILoggingEvent;
+import com.saurabh.logger.metrics.SinkMetrics;
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
 
 /**
  * ConsoleSink writes log events to <code>System.out</code>. 
  * Since all logging level are equivalent for the time being, we will logging them to the same system stream.
+ * <p>
+ * When platform charset is UTF-8 messages are encoded into a reusable buffer by {@link Utf8Encoder} and written as
+ * bytes, otherwise they are printed through the stream's own encoding.
  *
  * @author Saurabh
  */
 @SinkType(type = GlobalConstants.CONSOLE_SINK_DEFAULT_TYPE)
-public class ConsoleSink implements Sink {
+public class ConsoleSink implements BatchSink, MeteredSink {
+	
+	private static final int BUFFER_SIZE = 8 * 1024;
+	private static final boolean UTF8_PLATFORM = StandardCharsets.UTF_8.equals(Charset.defaultCharset());
 	
 	private String name;
 	
+	/**
+	 * Encoder & buffer reused for every write, guarded by the lock
+	 */
+	private final ReentrantLock lock = new ReentrantLock(false);
+	private final Utf8Encoder encoder = new Utf8Encoder();
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	private final SinkMetrics metrics = new SinkMetrics();
+	
+	private final Utf8Encoder.Output printingOutput = new Utf8Encoder.Output() {
+		public ByteBuffer drain(ByteBuffer fullBuffer) {
+			print(fullBuffer);
+			return fullBuffer;
+		}
+	};
+	
 	public ConsoleSink() {
 		
 	}
@@ -22,6 +53,10 @@ public class ConsoleSink implements Sink {
 		this.name = name;
 	}
 	
+	public SinkMetricsSnapshot getMetrics() {
+		return metrics.snapshot(name, null, 0, 0);
+	}
+
 	public String getName() {
 		// TODO Auto-generated method stub
 		return name;
@@ -56,8 +91,61 @@ public class ConsoleSink implements Sink {
 	}
 
 	public void write(ILoggingEvent loggingEvent) {
-		// TODO Auto-generated method stub
-		System.out.println(loggingEvent.getFormattedMessage());
+		long start = System.nanoTime();
+		if ( !UTF8_PLATFORM ) {
+			System.out.println(loggingEvent.getFormattedMessage());
+			metrics.recordWrite(1, System.nanoTime() - start);
+			return;
+		}
+		lock.lock();
+		try {
+			encoder.write(loggingEvent, loggingEvent.getFormattedBuffer(), buffer, printingOutput);
+			print(buffer);
+			metrics.recordWrite(1, System.nanoTime() - start);
+		} catch (IOException ex) {
+			buffer.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Encode the whole batch & print it with a single write, unless it doesn't fit into the buffer
+	 */
+	public void writeBatch(List<? extends ILoggingEvent> loggingEvents) {
+		long start = System.nanoTime();
+		if ( !UTF8_PLATFORM ) {
+			for ( int i = 0; i < loggingEvents.size(); i++ ) {
+				System.out.println(loggingEvents.get(i).getFormattedMessage());
+			}
+			metrics.recordWrite(loggingEvents.size(), System.nanoTime() - start);
+			return;
+		}
+		lock.lock();
+		try {
+			for ( int i = 0; i < loggingEvents.size(); i++ ) {
+				ILoggingEvent loggingEvent = loggingEvents.get(i);
+				encoder.write(loggingEvent, loggingEvent.getFormattedBuffer(), buffer, printingOutput);
+			}
+			print(buffer);
+			metrics.recordWrite(loggingEvents.size(), System.nanoTime() - start);
+		} catch (IOException ex) {
+			buffer.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Print buffered bytes, must be called while holding the lock
+	 */
+	private void print(ByteBuffer bytes) {
+		//Stream is looked up on every write so that System.setOut is honoured
+		PrintStream out = System.out;
+		metrics.recordBytes(bytes.position());
+		out.write(bytes.array(), 0, bytes.position());
+		out.flush();
+		bytes.clear();
 	}
 
 	public boolean equals(Object obj) {
@@ -0,0 +1,116 @@
+package com.saurabh.logger.sinks;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses blocks of encoded log lines into self contained frames, every block being deflated on its own so that 
+ * it can be decompressed without the ones before it.
+ * <p>
+ * Frame layout, integers being big endian
+ * <pre>
+ * magic (4 bytes) | uncompressed length (4) | compressed length (4) | CRC32 of uncompressed bytes (4) | raw deflate data
+ * </pre>
+ * A frame cut short by a crash is detected through its lengths, a damaged one through its checksum, 
+ * {@link BlockDecompressor} then looks for the magic of the next frame. Not thread safe, used while holding the sink lock.
+ * @author Saurabh
+ */
+final class DeflateBlockCompressor {
+
+	static final int MAGIC = 0x534C5A42;
+	static final int FRAME_HEADER_SIZE = 16;
+	static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+	private final Deflater deflater;
+	private final CRC32 checksum = new CRC32();
+	private byte[] frame;
+
+	DeflateBlockCompressor(int level, int blockSize) {
+		this.deflater = new Deflater(level, true);
+		//Incompressible data grows by a few bytes per 16K
+		this.frame = new byte[FRAME_HEADER_SIZE + blockSize + blockSize / 1000 + 64];
+	}
+
+	/**
+	 * Compress the bytes into a frame
+	 * @return
+	 * 		Frame between position & limit, valid till the next call
+	 */
+	ByteBuffer compress(byte[] data, int offset, int length) {
+		deflater.reset();
+		deflater.setInput(data, offset, length);
+		deflater.finish();
+		int compressedLength = 0;
+		while ( !deflater.finished() ) {
+			if ( FRAME_HEADER_SIZE + compressedLength == frame.length ) {
+				frame = Arrays.copyOf(frame, frame.length * 2);
+			}
+			compressedLength += deflater.deflate(frame, FRAME_HEADER_SIZE + compressedLength, 
+					frame.length - FRAME_HEADER_SIZE - compressedLength);
+		}
+		checksum.reset();
+		checksum.update(data, offset, length);
+
+		ByteBuffer framed = ByteBuffer.wrap(frame, 0, FRAME_HEADER_SIZE + compressedLength);
+		framed.putInt(0, MAGIC);
+		framed.putInt(4, length);
+		framed.putInt(8, compressedLength);
+		framed.putInt(12, (int) checksum.getValue());
+		return framed;
+	}
+
+	/**
+	 * Length of the file without a frame cut short at its end. Frames are followed through their headers only, a 
+	 * damaged header before the end leaves the file as it is for {@link BlockDecompressor} to skip
+	 * @param file
+	 * @return
+	 * 		End of the last complete frame if the file ends in a cut short one, otherwise the file length
+	 * @throws IOException
+	 */
+	static long completeLength(File file) throws IOException {
+		long fileLength = file.length();
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			long position = 0;
+			while ( position < fileLength ) {
+				if ( fileLength - position < FRAME_HEADER_SIZE ) {
+					return position;
+				}
+				if ( input.readInt() != MAGIC ) {
+					return fileLength;
+				}
+				input.readInt();
+				int compressedLength = input.readInt();
+				input.readInt();
+				if ( compressedLength < 0 ) {
+					return fileLength;
+				}
+				if ( position + FRAME_HEADER_SIZE + compressedLength > fileLength ) {
+					return position;
+				}
+				input.skipBytes(compressedLength);
+				position += FRAME_HEADER_SIZE + compressedLength;
+			}
+			return position;
+		} catch (EOFException ex) {
+			return fileLength;
+		} finally {
+			input.close();
+		}
+	}
+
+	/**
+	 * Release the native deflater
+	 */
+	void end() {
+		deflater.end();
+	}
+}
@@ -0,0 +1,116 @@
+package com.saurabh.logger.sinks;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns small integer ids to namespaces, threads & message templates the first time they are seen in a segment, so 
+ * that records refer to ids instead of repeating the strings. New entries are handed over to the {@link Output} to be
+ * written before the record using them. Ids start at 1 per dictionary, {@link BinaryLogFormat#INLINE_ID} is returned 
+ * once a dictionary holds the maximum number of entries & the value has to be written inline.
+ * <p>
+ * Not thread safe, sinks use it while holding their lock.
+ * @author Saurabh
+ */
+final class DictionaryEncoder {
+
+	/**
+	 * Receives dictionary entries the first time they are assigned an id
+	 */
+	interface Output {
+		/**
+		 * Write the entry definition
+		 * @param recordType
+		 * 			One of the dictionary record types of {@link BinaryLogFormat}
+		 * @param id
+		 * @param threadId
+		 * 			Thread id for {@link BinaryLogFormat#RECORD_THREAD} entries
+		 * @param value
+		 * @throws IOException
+		 */
+		void define(byte recordType, int id, long threadId, String value) throws IOException;
+	}
+
+	private final Output output;
+	private int maxEntries;
+
+	private final Map<String, Integer> namespaces = new HashMap<String, Integer>();
+	private final Map<String, Integer> templates = new HashMap<String, Integer>();
+	private final Map<Long, ThreadEntry> threads = new HashMap<Long, ThreadEntry>();
+	private int threadCount;
+
+	//Entry of the last thread seen, most batches come from a single thread
+	private long lastThreadId;
+	private ThreadEntry lastThread;
+
+	DictionaryEncoder(int maxEntries, Output output) {
+		this.maxEntries = maxEntries;
+		this.output = output;
+	}
+
+	/**
+	 * Forget every entry, used when a new segment starts
+	 * @param maxEntries
+	 * 			Maximum number of entries per dictionary in the new segment
+	 */
+	void reset(int maxEntries) {
+		this.maxEntries = maxEntries;
+		namespaces.clear();
+		templates.clear();
+		threads.clear();
+		threadCount = 0;
+		lastThread = null;
+	}
+
+	int nameSpaceId(String nameSpace) throws IOException {
+		return idOf(namespaces, BinaryLogFormat.RECORD_NAMESPACE, nameSpace);
+	}
+
+	int templateId(String content) throws IOException {
+		return idOf(templates, BinaryLogFormat.RECORD_TEMPLATE, content);
+	}
+
+	/**
+	 * Id of the thread, a renamed thread gets a new id
+	 */
+	int threadId(long threadId, String threadName) throws IOException {
+		ThreadEntry entry = lastThread != null && lastThreadId == threadId ? lastThread : threads.get(threadId);
+		if ( entry != null && (entry.name == threadName || entry.name.equals(threadName)) ) {
+			lastThreadId = threadId;
+			lastThread = entry;
+			return entry.id;
+		}
+		if ( threadCount >= maxEntries ) {
+			return BinaryLogFormat.INLINE_ID;
+		}
+		entry = new ThreadEntry(threadName, ++threadCount);
+		threads.put(threadId, entry);
+		output.define(BinaryLogFormat.RECORD_THREAD, entry.id, threadId, threadName);
+		return entry.id;
+	}
+
+	private int idOf(Map<String, Integer> ids, byte recordType, String value) throws IOException {
+		Integer id = ids.get(value);
+		if ( id != null ) {
+			return id;
+		}
+		if ( ids.size() >= maxEntries ) {
+			return BinaryLogFormat.INLINE_ID;
+		}
+		int newId = ids.size() + 1;
+		ids.put(value, newId);
+		output.define(recordType, newId, 0, value);
+		return newId;
+	}
+
+	private static final class ThreadEntry {
+		final String name;
+		final int id;
+
+		ThreadEntry(String name, int id) {
+			this.name = name;
+			this.id = id;
+		}
+	}
+}
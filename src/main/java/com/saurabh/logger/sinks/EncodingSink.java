@@ -0,0 +1,45 @@
+package com.saurabh.logger.sinks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.saurabh.logger.ILoggingEvent;
+
+/**
+ * {@link BatchSink} whose messages can be encoded by the caller. {@link AsyncSink} workers encode their chunk into 
+ * their own buffer in parallel & the sink only has to append the bytes while holding its lock.
+ * <p>
+ * {@link #encode(ILoggingEvent, ByteBuffer, Utf8Encoder, Utf8Encoder.Output)} may be called concurrently & must not
+ * depend on sink state guarded by its lock.
+ * 
+ * @author Saurabh
+ */
+public interface EncodingSink extends BatchSink {
+
+	/**
+	 * Encode the message of the event exactly as this sink would write it
+	 *
+	 * @param loggingEvent
+	 * @param buffer
+	 * 			Buffer to encode into
+	 * @param encoder
+	 * 			Encoder owned by the caller
+	 * @param output
+	 * 			Called whenever the buffer gets full
+	 * @return
+	 * 			Buffer holding the encoded bytes
+	 * @throws IOException
+	 */
+	ByteBuffer encode(ILoggingEvent loggingEvent, ByteBuffer buffer, Utf8Encoder encoder, Utf8Encoder.Output output) throws IOException;
+
+	/**
+	 * Append bytes encoded through {@link #encode(ILoggingEvent, ByteBuffer, Utf8Encoder, Utf8Encoder.Output)}
+	 *
+	 * @param loggingEvents
+	 * 			Events the bytes were encoded from, in order
+	 * @param encoded
+	 * 			Encoded bytes between position & limit
+	 */
+	void writeEncoded(List<? extends ILoggingEvent> loggingEvents, ByteBuffer encoded);
+}
@@ -1,7 +1,6 @@
 package com.saurabh.logger.sinks;
 
 import com.saurabh.logger.ILoggingEvent;
-import com.saurabh.logger.LoggingEvent;
 
 
 /**
@@ -28,10 +27,8 @@ public class FileExtraInfoSink extends FileSink {
 	}
 	
 	@Override
-	public void write(ILoggingEvent loggingEvent) {
-		LoggingEvent loggingEvent2 = (LoggingEvent)loggingEvent;
-		loggingEvent2.setFormattedMessage(String.format("%s %s", new Object[] { loggingEvent2.getFormattedMessage(), extraInfo }));
-		super.write(loggingEvent);
+	protected CharSequence getMessage(ILoggingEvent loggingEvent) {
+		return String.format("%s %s", new Object[] { loggingEvent.getFormattedMessage(), extraInfo });
 	}
   
 	@Override
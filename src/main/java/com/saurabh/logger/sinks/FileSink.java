@@ -1,23 +1,44 @@
 package com.saurabh.logger.sinks;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
 
+import com.saurabh.logger.GlobalConstants;
 import com.saurabh.logger.ILoggingEvent;
 import com.saurabh.logger.InternalLog;
+import com.saurabh.logger.metrics.SinkMetrics;
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
 
 /**
  * FileSink logs message to a file
+ * <p>
+ * Messages are encoded into a direct {@link ByteBuffer} which is written through the file's {@link FileChannel}. 
+ * A single write is issued per message, or per batch when called through {@link #writeBatch(List)}. When buffered 
+ * the buffer is only written once full, flushed or closed.
+ * <p>
+ * Messages encoded by the caller through {@link #encode(ILoggingEvent, ByteBuffer, Utf8Encoder, Utf8Encoder.Output)} 
+ * are appended as they are, {@link #beforeWrite(ILoggingEvent)} is then called once per chunk with its first event.
+ * <p>
+ * With <b>compression</b> set to {@link GlobalConstants#COMPRESSION_DEFLATE} the file is a sequence of independently 
+ * compressed blocks of <b>block_size</b> bytes of log lines, see {@link DeflateBlockCompressor}. Blocks are compressed 
+ * by the thread writing them, the worker when wrapped by {@link AsyncSink}. Lines are kept in memory till their block 
+ * is full or the sink is flushed or closed, {@link BlockDecompressor} reads the file back. When appending, a block cut 
+ * short by a crash at the end of the file is truncated first.
  * @author Saurabh
  */
 @SinkType(type = "file")
-public class FileSink implements Sink {
+public class FileSink implements EncodingSink, MeteredSink {
 
     public static final int DEFAULT_BUFFER_SIZE = 64* 1024;
     public static final String DEFAULT_CHARSET = StandardCharsets.UTF_8.name(); 
@@ -31,15 +52,30 @@ public class FileSink implements Sink {
     private boolean append = true;
 	private boolean buffered = false;
 	private OutputStream stream;
+	private FileChannel channel;
+	private long writtenBytes;	//Bytes written to current file, excluding buffered ones
+	private long drains;	//Times the output buffer was written out, tells whether a rollback mark is still valid
     private String fileName = null;
     private String name;
     private boolean started;	//Will be used for lazy initialization
+    private String compression = GlobalConstants.COMPRESSION_NONE;
+    private int compressionLevel = Deflater.BEST_SPEED;
+    private int blockSize = DEFAULT_BUFFER_SIZE;
 
     /**
      * All synchronization in this class is done via the lock object.
      */
     protected final ReentrantLock lock = new ReentrantLock(false);
 
+    /**
+     * Encoder & buffers reused for every write, guarded by the lock. Output buffer is allocated on init
+     */
+    private final Utf8Encoder encoder = new Utf8Encoder();
+    private ByteBuffer outputBuffer;
+    //Set while block compression is enabled, guarded by the lock
+    private DeflateBlockCompressor compressor;
+    private final SinkMetrics metrics = new SinkMetrics();
+
     /**
      * Returns the value of the <b>File</b> property.
      */
@@ -91,6 +127,61 @@ public class FileSink implements Sink {
         this.buffered = buffered;
     }
 
+    public String getCompression() {
+        return compression;
+    }
+
+    /**
+     * {@link GlobalConstants#COMPRESSION_NONE} or {@link GlobalConstants#COMPRESSION_DEFLATE}, applies from the next init
+     * @param compression
+     */
+    @MethodParam(name="compression", type=String.class)
+    public void setCompression(String compression) {
+        this.compression = compression == null ? GlobalConstants.COMPRESSION_NONE 
+                : compression.trim().toUpperCase(Locale.ENGLISH);
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Deflate level from 1 (fastest, default) to 9 (smallest)
+     * @param compressionLevel
+     */
+    @MethodParam(name="compression_level", type=int.class)
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Bytes of log lines compressed together into a block
+     * @param blockSize
+     */
+    @MethodParam(name="block_size", type=int.class)
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Whether the file is written as compressed blocks
+     * @return
+     */
+    public boolean isBlockCompressed() {
+        return GlobalConstants.COMPRESSION_DEFLATE.equals(compression);
+    }
+
+    /**
+     * Bytes written are the ones reaching the file, compressed when block compression is enabled
+     */
+    public SinkMetricsSnapshot getMetrics() {
+        return metrics.snapshot(name, fileName, 0, 0);
+    }
+
 	public String getName() {
 		// TODO Auto-generated method stub
 		return name;
@@ -113,11 +204,17 @@ public class FileSink implements Sink {
 	                parent.mkdirs();
 	            }
 	            try {
-		    		if (buffered) {
-		    			stream = new BufferedOutputStream(new FileOutputStream(file, append), DEFAULT_BUFFER_SIZE);
-		    		} else {
-		    			stream = new FileOutputStream(file, append);
-		    		}
+	            	if ( append && isBlockCompressed() && file.exists() ) {
+	            		truncateTornFrame(file);
+	            	}
+	            	FileOutputStream fileStream = new FileOutputStream(file, append);
+	            	channel = fileStream.getChannel();
+	            	stream = fileStream;
+	            	writtenBytes = append ? file.length() : 0;
+	            	initCompression();
+	            	if ( outputBuffer == null ) {
+	            		outputBuffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+	            	}
 	            } catch ( Exception ex) {
 	            	InternalLog.error("Exception while opening output stream for file : " + file);
 	            }
@@ -129,36 +226,327 @@ public class FileSink implements Sink {
 		}
 	}
 
+	/**
+	 * Cut a frame left incomplete by a crash off the end of the file, so that blocks appended now follow whole frames
+	 */
+	private static void truncateTornFrame(File file) throws IOException {
+		long fileLength = file.length();
+		long completeLength = DeflateBlockCompressor.completeLength(file);
+		if ( completeLength == fileLength ) {
+			return;
+		}
+		InternalLog.warn("Truncating " + (fileLength - completeLength) + " bytes of a torn block at the end of " + file);
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.setLength(completeLength);
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Create the compressor & its block sized heap buffer, deflater only takes arrays. Must be called while holding the lock
+	 */
+	private void initCompression() {
+		if ( !isBlockCompressed() ) {
+			if ( !GlobalConstants.COMPRESSION_NONE.equals(compression) ) {
+				InternalLog.warn("Unknown compression " + compression + ", " + fileName + " will not be compressed");
+				compression = GlobalConstants.COMPRESSION_NONE;
+			}
+			return;
+		}
+		if ( blockSize < 1 || blockSize > DeflateBlockCompressor.MAX_BLOCK_SIZE ) {
+			InternalLog.warn("Invalid block size :" + blockSize + ", default block size will be used");
+			blockSize = DEFAULT_BUFFER_SIZE;
+		}
+		if ( compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION ) {
+			InternalLog.warn("Invalid compression level :" + compressionLevel + ", fastest level will be used");
+			compressionLevel = Deflater.BEST_SPEED;
+		}
+		if ( compressor == null ) {
+			compressor = new DeflateBlockCompressor(compressionLevel, blockSize);
+		}
+		if ( outputBuffer == null || outputBuffer.isDirect() || outputBuffer.capacity() != blockSize ) {
+			outputBuffer = ByteBuffer.allocate(blockSize);
+		}
+	}
+
 	public void write(ILoggingEvent loggingEvent) {
 		// TODO Auto-generated method stub
 		if (stream == null) {
 	        InternalLog.error("OutputStream is not opened, won't be able to write");
 	        return;
 	    }
-		byte[] byteArray = null;
-		try {
-	        byteArray = loggingEvent.getFormattedMessage().getBytes(DEFAULT_CHARSET);
-		} catch ( UnsupportedEncodingException ex) {
-			InternalLog.error(ex, "Exception while generating byte array for message :" + loggingEvent);
-		}
-        if ( byteArray == null || byteArray.length == 0 )
+		CharSequence message = getMessage(loggingEvent);
+        if ( message == null || message.length() == 0 )
             return;
         
+        long start = System.nanoTime();
         lock.lock();
+        int mark = outputBuffer.position();
+        long drainsAtMark = drains;
         try {
-            this.stream.write(byteArray);
-            stream.write(NEWLINE_CHARACTER.getBytes());
+        	beforeWrite(loggingEvent);
+        	//Message & new line are encoded together so that they are written in a single call
+        	encode(loggingEvent, message);
+        	if ( !buffered && compressor == null ) {
+        		drainBuffer();
+        	}
+        	metrics.recordWrite(1, System.nanoTime() - start);
         } catch (Exception ex) {
+        	rollBack(mark, drainsAtMark);
 			InternalLog.error(ex, "Exception while writing byte array for message :" + loggingEvent);
         } finally {
             lock.unlock();
         }
 	}
 
+	/**
+	 * Encode all the events into the output buffer and write them with a single call, unless they don't fit in 
+	 * {@link #DEFAULT_BUFFER_SIZE} bytes
+	 */
+	public void writeBatch(List<? extends ILoggingEvent> loggingEvents) {
+		if (stream == null) {
+	        InternalLog.error("OutputStream is not opened, won't be able to write");
+	        return;
+	    }
+        long start = System.nanoTime();
+        lock.lock();
+        int mark = outputBuffer.position();
+        long drainsAtMark = drains;
+        try {
+        	int events = 0;
+        	for ( int i = 0; i < loggingEvents.size(); i++ ) {
+        		CharSequence message = getMessage(loggingEvents.get(i));
+        		if ( message != null && message.length() > 0 ) {
+        			//Events of the batch encoded before a failing one are kept
+        			mark = outputBuffer.position();
+        			drainsAtMark = drains;
+        			beforeWrite(loggingEvents.get(i));
+        			encode(loggingEvents.get(i), message);
+        			events++;
+        		}
+        	}
+        	if ( !buffered && compressor == null ) {
+        		drainBuffer();
+        	}
+        	metrics.recordWrite(events, System.nanoTime() - start);
+        } catch (Exception ex) {
+        	rollBack(mark, drainsAtMark);
+			InternalLog.error(ex, "Exception while writing batch of " + loggingEvents.size() + " messages");
+        } finally {
+            lock.unlock();
+        }
+	}
+
+	public ByteBuffer encode(ILoggingEvent loggingEvent, ByteBuffer buffer, Utf8Encoder encoder, Utf8Encoder.Output output) 
+			throws IOException {
+		CharSequence message = getMessage(loggingEvent);
+		if ( message == null || message.length() == 0 ) {
+			return buffer;
+		}
+		return encoder.write(loggingEvent, message, buffer, output);
+	}
+
+	public void writeEncoded(List<? extends ILoggingEvent> loggingEvents, ByteBuffer encoded) {
+		if (stream == null) {
+	        InternalLog.error("OutputStream is not opened, won't be able to write");
+	        return;
+	    }
+		if ( !encoded.hasRemaining() ) {
+			return;
+		}
+        long start = System.nanoTime();
+        lock.lock();
+        int mark = outputBuffer.position();
+        long drainsAtMark = drains;
+        try {
+        	if ( !loggingEvents.isEmpty() ) {
+        		beforeWrite(loggingEvents.get(0));
+        	}
+        	if ( encoded.remaining() <= outputBuffer.remaining() ) {
+        		outputBuffer.put(encoded);
+        		if ( !buffered && compressor == null ) {
+        			drainBuffer();
+        		}
+        	} else {
+        		//Keep the order, buffered bytes go first
+        		drainBuffer();
+        		writtenBytes += writeOut(encoded);
+        	}
+        	metrics.recordWrite(loggingEvents.size(), System.nanoTime() - start);
+        } catch (Exception ex) {
+        	rollBack(mark, drainsAtMark);
+			InternalLog.error(ex, "Exception while writing batch of " + loggingEvents.size() + " messages");
+        } finally {
+            lock.unlock();
+        }
+	}
+
+	/**
+	 * Message to be written for the event, subclasses can override it to decorate the formatted message
+	 * @param loggingEvent
+	 * @return
+	 */
+	protected CharSequence getMessage(ILoggingEvent loggingEvent) {
+		return loggingEvent.getFormattedBuffer();
+	}
+
+	/**
+	 * Called while holding the lock before every message gets encoded, subclasses can override it to switch files
+	 * through {@link #rollFile(File)}
+	 * @param loggingEvent
+	 * @throws IOException
+	 */
+	protected void beforeWrite(ILoggingEvent loggingEvent) throws IOException {
+	}
+
+	/**
+	 * Length of current file including bytes not written out yet. Must be called while holding the lock
+	 * @return
+	 */
+	protected long getFileLength() {
+		return writtenBytes + (outputBuffer == null ? 0 : outputBuffer.position());
+	}
+
+	/**
+	 * Move current file to the given one & continue with a new empty file. Buffered bytes are written to the moved 
+	 * file first. If the file can't be moved, writing continues in current file. Must be called while holding the lock
+	 * @param rolledFile
+	 * 			File current one is renamed to
+	 * @return
+	 * 			<code>true</code> if the file was moved
+	 * @throws IOException
+	 */
+	protected boolean rollFile(File rolledFile) throws IOException {
+		drainBuffer();
+		stream.close();
+		File file = new File(fileName);
+		boolean rolled = file.renameTo(rolledFile);
+		if ( !rolled ) {
+			InternalLog.error("Failed to rename " + file + " to " + rolledFile + ", continuing with current file");
+		}
+		FileOutputStream fileStream = new FileOutputStream(file, !rolled);
+		channel = fileStream.getChannel();
+		stream = fileStream;
+		writtenBytes = rolled ? 0 : file.length();
+		return rolled;
+	}
+
+	/**
+	 * Encode the message followed by new line into {@link #outputBuffer}, writing the buffer out whenever it gets full.
+	 * Must be called while holding the lock
+	 */
+	private void encode(ILoggingEvent loggingEvent, CharSequence message) throws IOException {
+		encoder.write(loggingEvent, message, outputBuffer, drainingOutput);
+	}
+
+	private final Utf8Encoder.Output drainingOutput = new Utf8Encoder.Output() {
+		public ByteBuffer drain(ByteBuffer fullBuffer) throws IOException {
+			drainBuffer();
+			return fullBuffer;
+		}
+	};
+
+	/**
+	 * Write whatever is in the output buffer to the file channel. Must be called while holding the lock
+	 */
+	private void drainBuffer() throws IOException {
+		outputBuffer.flip();
+		try {
+			writtenBytes += writeOut(outputBuffer);
+		} finally {
+			outputBuffer.clear();
+			drains++;
+		}
+	}
+
+	/**
+	 * Drop the bytes of an event which failed to be written, keeping the ones buffered before it. Once the buffer got 
+	 * written out meanwhile it only holds bytes of the failed event. Must be called while holding the lock
+	 * @param mark
+	 * 			Buffer position before the event was encoded
+	 * @param drainsAtMark
+	 * 			{@link #drains} when the mark was taken
+	 */
+	private void rollBack(int mark, long drainsAtMark) {
+		if ( drains == drainsAtMark && mark <= outputBuffer.position() ) {
+			outputBuffer.position(mark);
+		} else {
+			outputBuffer.clear();
+		}
+	}
+
+	/**
+	 * Write the remaining bytes of the buffer, as compressed blocks when enabled. Must be called while holding the lock
+	 * @return
+	 * 		Number of bytes written to the file
+	 */
+	private long writeOut(ByteBuffer buffer) throws IOException {
+		if ( compressor == null ) {
+			int length = buffer.remaining();
+			writeFully(buffer);
+			return length;
+		}
+		long written = 0;
+		byte[] copy = null;
+		while ( buffer.hasRemaining() ) {
+			int length = Math.min(buffer.remaining(), blockSize);
+			ByteBuffer frame;
+			if ( buffer.hasArray() ) {
+				frame = compressor.compress(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+			} else {
+				if ( copy == null ) {
+					copy = new byte[blockSize];
+				}
+				buffer.duplicate().get(copy, 0, length);
+				frame = compressor.compress(copy, 0, length);
+			}
+			buffer.position(buffer.position() + length);
+			written += frame.remaining();
+			writeFully(frame);
+		}
+		return written;
+	}
+
+	/**
+	 * Write all the remaining bytes of the buffer to the file channel. Must be called while holding the lock
+	 */
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		metrics.recordBytes(buffer.remaining());
+		boolean interrupted = false;
+		try {
+			while ( buffer.hasRemaining() ) {
+				try {
+					channel.write(buffer);
+				} catch (ClosedByInterruptException ex) {
+					//Interrupting the writing thread closes the channel, reopen it & write the remaining bytes
+					Thread.interrupted();
+					interrupted = true;
+					reopenChannel();
+				}
+			}
+		} finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void reopenChannel() throws IOException {
+		FileOutputStream fileStream = new FileOutputStream(fileName, true);
+		channel = fileStream.getChannel();
+		stream = fileStream;
+	}
+
 	public void flush() {
+        long start = System.nanoTime();
         lock.lock();
         try {
-            this.stream.flush();
+        	if ( this.channel != null ) {
+        		drainBuffer();
+        		metrics.recordFlush(System.nanoTime() - start);
+        	}
         } catch (Exception ex) {
 			InternalLog.error(ex, "Exception while flusing outputStream");
         } finally {
@@ -171,8 +559,17 @@ public class FileSink implements Sink {
         lock.lock();
         try {
             if (this.stream != null) {
-                this.stream.close();
-                this.stream = null;
+            	try {
+            		drainBuffer();
+            	} finally {
+            		this.stream.close();
+            		this.stream = null;
+            		this.channel = null;
+            		if ( compressor != null ) {
+            			compressor.end();
+            			compressor = null;
+            		}
+            	}
             }
         } catch (Exception ex) {
 			InternalLog.error(ex, "Exception while closing outputStream");
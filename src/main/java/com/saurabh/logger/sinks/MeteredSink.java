@@ -0,0 +1,17 @@
+package com.saurabh.logger.sinks;
+
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
+
+/**
+ * Sink recording its own metrics through a {@link com.saurabh.logger.metrics.SinkMetrics}, they are reported by
+ * {@link com.saurabh.logger.Logger#metrics()} & JMX
+ * @author Saurabh
+ */
+public interface MeteredSink extends Sink {
+
+	/**
+	 * Current metrics of this sink
+	 * @return
+	 */
+	SinkMetricsSnapshot getMetrics();
+}
@@ -0,0 +1,320 @@
+package com.saurabh.logger.sinks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.saurabh.logger.ILoggingEvent;
+import com.saurabh.logger.InternalLog;
+import com.saurabh.logger.metrics.SinkMetrics;
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
+
+/**
+ * MmapFileSink appends messages to a file through a memory mapped region, so that writing a message is a plain memory
+ * copy instead of a write call.
+ * <p>
+ * The file is grown by <b>region_size</b> bytes at a time, when current region gets full the next one is mapped right
+ * after the last written byte. Till the sink is closed the file carries zero filled space after the last message,
+ * close truncates it back to the written length. When appending to a file left untruncated, e.g. after a crash,
+ * trailing zero bytes are skipped.
+ * <p>
+ * Written messages reach the OS page cache immediately, {@link #flush()} forces them to the storage device, the current
+ * region & every region filled since the last flush. Filled regions are kept till they are forced, when
+ * {@link #MAX_UNFORCED_REGIONS} of them pile up without a flush they are forced while mapping the next one.
+ * @author Saurabh
+ */
+@SinkType(type = "mmapfile")
+public class MmapFileSink implements BatchSink, MeteredSink {
+
+	public static final int DEFAULT_REGION_SIZE = 16 * 1024 * 1024;
+	public static final int MAX_UNFORCED_REGIONS = 16;
+	private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+	private String fileName = null;
+	private String name;
+	private boolean append = true;
+	private int regionSize = DEFAULT_REGION_SIZE;
+	private volatile boolean started;
+
+	/**
+	 * All synchronization in this class is done via the lock object.
+	 */
+	protected final ReentrantLock lock = new ReentrantLock(false);
+
+	private final Utf8Encoder encoder = new Utf8Encoder();
+	private RandomAccessFile file;
+	private FileChannel channel;
+	private MappedByteBuffer region;
+
+	//File offset current region is mapped at
+	private long regionStart;
+	//Filled regions holding bytes written since the last flush
+	private final List<MappedByteBuffer> unforcedRegions = new ArrayList<MappedByteBuffer>();
+	private final SinkMetrics metrics = new SinkMetrics();
+
+	public String getFile() {
+		return fileName;
+	}
+
+	@MethodParam(name="file_location", type=String.class)
+	public void setFile(String file) {
+		fileName = file == null ? null : file.trim();
+	}
+
+	public int getRegionSize() {
+		return regionSize;
+	}
+
+	/**
+	 * Number of bytes mapped at a time, the file grows by this much whenever the current region gets full
+	 * @param regionSize
+	 */
+	@MethodParam(name="region_size", type=int.class)
+	public void setRegionSize(int regionSize) {
+		this.regionSize = regionSize;
+	}
+
+	public boolean isAppending() {
+		return append;
+	}
+
+	@MethodParam(name="append", type=boolean.class)
+	public void setAppend(boolean append) {
+		this.append = append;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public boolean isStarted() {
+		return started;
+	}
+
+	public SinkMetricsSnapshot getMetrics() {
+		return metrics.snapshot(name, fileName, 0, 0);
+	}
+
+	public void init() {
+		if ( fileName == null ) {
+			return;
+		}
+		if ( regionSize < 1 ) {
+			InternalLog.warn("Invalid region size :" + regionSize + ", default region size will be used");
+			regionSize = DEFAULT_REGION_SIZE;
+		}
+		lock.lock();
+		try {
+			File logFile = new File(fileName);
+			File parent = logFile.getParentFile();
+			if ( parent != null ) {
+				parent.mkdirs();
+			}
+			try {
+				file = new RandomAccessFile(logFile, "rw");
+				channel = file.getChannel();
+				if ( append ) {
+					mapRegion(findContentEnd());
+				} else {
+					channel.truncate(0);
+					mapRegion(0);
+				}
+			} catch ( Exception ex ) {
+				InternalLog.error(ex, "Exception while mapping file : " + logFile);
+				closeFile();
+			}
+			started = true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void write(ILoggingEvent loggingEvent) {
+		CharSequence message = loggingEvent.getFormattedBuffer();
+		if ( message == null || message.length() == 0 ) {
+			return;
+		}
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			if ( region == null ) {
+				InternalLog.error("File is not mapped, won't be able to write");
+				return;
+			}
+			long length = regionStart + region.position();
+			region = (MappedByteBuffer) encoder.write(loggingEvent, message, region, remappingOutput);
+			metrics.recordBytes(regionStart + region.position() - length);
+			metrics.recordWrite(1, System.nanoTime() - start);
+		} catch (Exception ex) {
+			InternalLog.error(ex, "Exception while writing message :" + loggingEvent);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void writeBatch(List<? extends ILoggingEvent> loggingEvents) {
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			if ( region == null ) {
+				InternalLog.error("File is not mapped, won't be able to write");
+				return;
+			}
+			long length = regionStart + region.position();
+			int events = 0;
+			for ( int i = 0; i < loggingEvents.size(); i++ ) {
+				ILoggingEvent loggingEvent = loggingEvents.get(i);
+				CharSequence message = loggingEvent.getFormattedBuffer();
+				if ( message != null && message.length() > 0 ) {
+					region = (MappedByteBuffer) encoder.write(loggingEvent, message, region, remappingOutput);
+					events++;
+				}
+			}
+			metrics.recordBytes(regionStart + region.position() - length);
+			metrics.recordWrite(events, System.nanoTime() - start);
+		} catch (Exception ex) {
+			InternalLog.error(ex, "Exception while writing batch of " + loggingEvents.size() + " messages");
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Maps the next region right after the bytes written into the full one
+	 */
+	private final Utf8Encoder.Output remappingOutput = new Utf8Encoder.Output() {
+		public ByteBuffer drain(ByteBuffer fullBuffer) throws IOException {
+			unforcedRegions.add((MappedByteBuffer) fullBuffer);
+			if ( unforcedRegions.size() >= MAX_UNFORCED_REGIONS ) {
+				forceFilledRegions();
+			}
+			mapRegion(regionStart + fullBuffer.position());
+			return region;
+		}
+	};
+
+	/**
+	 * Map a region starting at the given offset, growing the file if required. Must be called while holding the lock
+	 */
+	private void mapRegion(long position) throws IOException {
+		region = channel.map(FileChannel.MapMode.READ_WRITE, position, regionSize);
+		regionStart = position;
+	}
+
+	/**
+	 * Find the end of written content, skipping zero filled space left by a sink which wasn't closed properly
+	 */
+	private long findContentEnd() throws IOException {
+		long end = channel.size();
+		ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+		while ( end > 0 ) {
+			long start = Math.max(0, end - SCAN_BUFFER_SIZE);
+			scanBuffer.clear();
+			scanBuffer.limit((int) (end - start));
+			while ( scanBuffer.hasRemaining() && channel.read(scanBuffer, start + scanBuffer.position()) >= 0 ) {
+				//Fill the whole chunk
+			}
+			for ( int i = scanBuffer.position() - 1; i >= 0; i-- ) {
+				if ( scanBuffer.get(i) != 0 ) {
+					return start + i + 1;
+				}
+			}
+			end = start;
+		}
+		return 0;
+	}
+
+	public long getWrittenLength() {
+		lock.lock();
+		try {
+			return region == null ? 0 : regionStart + region.position();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void flush() {
+		long start = System.nanoTime();
+		lock.lock();
+		try {
+			if ( region != null ) {
+				forceFilledRegions();
+				region.force();
+				metrics.recordFlush(System.nanoTime() - start);
+			}
+		} catch (Exception ex) {
+			InternalLog.error(ex, "Exception while forcing mapped region");
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Force regions filled since the last flush, current region excluded. Must be called while holding the lock
+	 */
+	private void forceFilledRegions() {
+		for ( int i = 0; i < unforcedRegions.size(); i++ ) {
+			unforcedRegions.get(i).force();
+		}
+		unforcedRegions.clear();
+	}
+
+	/**
+	 * Truncate the file to the written length & release it. Mapped regions are released by the JVM once collected
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			if ( region != null ) {
+				long length = regionStart + region.position();
+				region = null;
+				channel.truncate(length);
+			}
+		} catch (Exception ex) {
+			InternalLog.error(ex, "Exception while truncating mapped file");
+		} finally {
+			closeFile();
+			lock.unlock();
+			started = false;
+		}
+	}
+
+	private void closeFile() {
+		region = null;
+		unforcedRegions.clear();
+		channel = null;
+		if ( file != null ) {
+			try {
+				file.close();
+			} catch (IOException ex) {
+				InternalLog.error(ex, "Exception while closing mapped file");
+			}
+			file = null;
+		}
+	}
+
+	public boolean equals(Object obj) {
+		if (obj == null) return false;
+		if (this == obj) return true;
+		if ( getClass() != obj.getClass()) {
+			return false;
+		}
+		MmapFileSink mmapFileSink = (MmapFileSink)obj;
+		return getFile().equals(mmapFileSink.getFile());
+	}
+
+	public int hashCode() {
+		String file = getFile();
+		return file == null ? 0 : file.hashCode();
+	}
+}
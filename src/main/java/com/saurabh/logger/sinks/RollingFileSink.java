@@ -0,0 +1,283 @@
+package com.saurabh.logger.sinks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
+
+import com.saurabh.logger.ILoggingEvent;
+import com.saurabh.logger.InternalLog;
+
+/**
+ * RollingFileSink extends {@link FileSink} to move the current file aside once it grows past <b>max_file_size</b>
+ * or when the <b>rollover_period</b> it was written in ends, so that no external rotation is required.
+ * <p>
+ * Rolled files are named <code>file.period.index</code>, period being left out when no rollover period is set.
+ * Rollover happens under the sink lock & costs a rename plus opening the new file, rolled files are gzipped by a
+ * shared background thread when <b>compress</b> is set, so writes never wait for compression.
+ * <p>
+ * Time based rollover is checked against the timestamp of the event being written, no clock is read per write.
+ * @author Saurabh
+ */
+@SinkType(type = "rollingfile")
+public class RollingFileSink extends FileSink {
+
+	public static final String PERIOD_MINUTE = "MINUTE";
+	public static final String PERIOD_HOURLY = "HOURLY";
+	public static final String PERIOD_DAILY = "DAILY";
+	public static final String COMPRESSED_EXTENSION = ".gz";
+
+	private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+	/**
+	 * Compression is done on a single daemon thread shared by all rolling sinks
+	 */
+	private static final ExecutorService COMPRESSOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "RollingFileSink-Compressor");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private long maxFileSize;
+	private String rolloverPeriod;
+	private boolean compress = true;
+
+	//Guarded by the lock
+	private long periodStart;
+	private long nextRollover = Long.MAX_VALUE;
+	private int rollIndex;
+
+	public long getMaxFileSize() {
+		return maxFileSize;
+	}
+
+	/**
+	 * Maximum size of the file before it gets rolled, as bytes or with KB, MB or GB suffix. 0 disables size based rollover
+	 * @param maxFileSize
+	 */
+	@MethodParam(name="max_file_size", type=String.class)
+	public void setMaxFileSize(String maxFileSize) {
+		this.maxFileSize = parseSize(maxFileSize);
+	}
+
+	public void setMaxFileSize(long maxFileSize) {
+		this.maxFileSize = maxFileSize;
+	}
+
+	public String getRolloverPeriod() {
+		return rolloverPeriod;
+	}
+
+	/**
+	 * Roll the file when the period it was written in ends, one of {@link #PERIOD_MINUTE}, {@link #PERIOD_HOURLY}
+	 * or {@link #PERIOD_DAILY}
+	 * @param rolloverPeriod
+	 */
+	@MethodParam(name="rollover_period", type=String.class)
+	public void setRolloverPeriod(String rolloverPeriod) {
+		if ( rolloverPeriod == null ) {
+			this.rolloverPeriod = null;
+			return;
+		}
+		String period = rolloverPeriod.trim().toUpperCase(Locale.ENGLISH);
+		if ( period.equals(PERIOD_MINUTE) || period.equals(PERIOD_HOURLY) || period.equals(PERIOD_DAILY) ) {
+			this.rolloverPeriod = period;
+		} else {
+			InternalLog.warn("Unknown rollover period " + rolloverPeriod + ", time based rollover disabled");
+			this.rolloverPeriod = null;
+		}
+	}
+
+	public boolean isCompress() {
+		return compress;
+	}
+
+	@MethodParam(name="compress", type=boolean.class)
+	public void setCompress(boolean compress) {
+		this.compress = compress;
+	}
+
+	@Override
+	public void init() {
+		super.init();
+		lock.lock();
+		try {
+			if ( rolloverPeriod != null ) {
+				//An existing file belongs to the period it was last modified in
+				File file = new File(getFile());
+				long now = System.currentTimeMillis();
+				startPeriod(isAppending() && file.length() > 0 ? Math.min(file.lastModified(), now) : now);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	protected void beforeWrite(ILoggingEvent loggingEvent) throws IOException {
+		long timestamp = loggingEvent.getCurrentTs();
+		if ( timestamp >= nextRollover ) {
+			if ( getFileLength() > 0 ) {
+				rollover();
+			}
+			startPeriod(timestamp);
+			rollIndex = 0;
+		} else if ( maxFileSize > 0 && getFileLength() >= maxFileSize ) {
+			rollover();
+		}
+	}
+
+	private void rollover() throws IOException {
+		File rolledFile = nextRolledFile();
+		//Block compressed files are compressed already
+		if ( rollFile(rolledFile) && compress && !isBlockCompressed() ) {
+			compress(rolledFile);
+		}
+	}
+
+	/**
+	 * Find the first rolled file name not taken yet, compressed ones included
+	 */
+	private File nextRolledFile() {
+		String base = getFile();
+		if ( rolloverPeriod != null ) {
+			base = base + "." + new SimpleDateFormat(periodPattern(), Locale.ENGLISH).format(periodStart);
+		}
+		File rolledFile;
+		do {
+			rollIndex++;
+			rolledFile = new File(base + "." + rollIndex);
+		} while ( rolledFile.exists() || new File(rolledFile.getPath() + COMPRESSED_EXTENSION).exists() );
+		return rolledFile;
+	}
+
+	private String periodPattern() {
+		if ( PERIOD_MINUTE.equals(rolloverPeriod) ) {
+			return "yyyy-MM-dd-HH-mm";
+		} else if ( PERIOD_HOURLY.equals(rolloverPeriod) ) {
+			return "yyyy-MM-dd-HH";
+		}
+		return "yyyy-MM-dd";
+	}
+
+	/**
+	 * Set the period containing the given time as current one
+	 */
+	private void startPeriod(long timestamp) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(timestamp);
+		calendar.set(Calendar.MILLISECOND, 0);
+		calendar.set(Calendar.SECOND, 0);
+		int field = Calendar.MINUTE;
+		if ( !PERIOD_MINUTE.equals(rolloverPeriod) ) {
+			calendar.set(Calendar.MINUTE, 0);
+			field = Calendar.HOUR_OF_DAY;
+			if ( PERIOD_DAILY.equals(rolloverPeriod) ) {
+				calendar.set(Calendar.HOUR_OF_DAY, 0);
+				field = Calendar.DAY_OF_MONTH;
+			}
+		}
+		periodStart = calendar.getTimeInMillis();
+		calendar.add(field, 1);
+		nextRollover = calendar.getTimeInMillis();
+	}
+
+	private static void compress(final File rolledFile) {
+		COMPRESSOR.execute(new Runnable() {
+			public void run() {
+				File compressedFile = new File(rolledFile.getPath() + COMPRESSED_EXTENSION);
+				File partialFile = new File(compressedFile.getPath() + ".tmp");
+				try {
+					gzip(rolledFile, partialFile);
+					if ( partialFile.renameTo(compressedFile) ) {
+						rolledFile.delete();
+					} else {
+						InternalLog.error("Failed to rename " + partialFile + " to " + compressedFile);
+					}
+				} catch (IOException ex) {
+					partialFile.delete();
+					InternalLog.error(ex, "Exception while compressing rolled file " + rolledFile);
+				}
+			}
+		});
+	}
+
+	private static void gzip(File source, File target) throws IOException {
+		InputStream in = new FileInputStream(source);
+		try {
+			OutputStream out = new GZIPOutputStream(new FileOutputStream(target), COPY_BUFFER_SIZE);
+			try {
+				byte[] buffer = new byte[COPY_BUFFER_SIZE];
+				int read;
+				while ( (read = in.read(buffer)) > 0 ) {
+					out.write(buffer, 0, read);
+				}
+			} finally {
+				out.close();
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Wait till every rolled file handed over for compression so far has been compressed
+	 * @param timeoutMillis
+	 * @return
+	 * 		<code>false</code> if compression didn't finish within timeout
+	 */
+	public static boolean awaitCompression(long timeoutMillis) throws InterruptedException {
+		//Compressor runs tasks in order, so an empty task completes only after all the previous ones
+		Future<?> marker = COMPRESSOR.submit(new Runnable() {
+			public void run() {
+			}
+		});
+		try {
+			marker.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (ExecutionException ex) {
+			return false;
+		} catch (TimeoutException ex) {
+			return false;
+		}
+	}
+
+	static long parseSize(String size) {
+		if ( size == null || size.trim().length() == 0 ) {
+			return 0;
+		}
+		String value = size.trim().toUpperCase(Locale.ENGLISH);
+		long multiplier = 1;
+		if ( value.endsWith("KB") ) {
+			multiplier = 1024L;
+		} else if ( value.endsWith("MB") ) {
+			multiplier = 1024L * 1024;
+		} else if ( value.endsWith("GB") ) {
+			multiplier = 1024L * 1024 * 1024;
+		}
+		if ( multiplier > 1 ) {
+			value = value.substring(0, value.length() - 2).trim();
+		}
+		try {
+			return Long.parseLong(value) * multiplier;
+		} catch (NumberFormatException ex) {
+			InternalLog.error("Invalid file size " + size + ", size based rollover disabled");
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.saurabh.logger.sinks;
+
+/**
+ * {@link Sink} writing the captured fields of events instead of their formatted message. 
+ * {@link com.saurabh.logger.LogEngine} doesn't format messages routed only to such sinks, directly or through an 
+ * {@link AsyncSink}, so that formatting is skipped altogether.
+ * <p>
+ * Arguments of events handed over through an {@link AsyncSink} are read after the log call returns, mutable 
+ * arguments must not be changed once logged.
+ * 
+ * @author Saurabh
+ */
+public interface UnformattedSink extends Sink {
+}
@@ -0,0 +1,143 @@
+package com.saurabh.logger.sinks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.saurabh.logger.ILoggingEvent;
+import com.saurabh.logger.LoggingEvent;
+
+/**
+ * Encodes messages followed by a new line as UTF-8 straight into a sink's output {@link ByteBuffer}, no intermediate
+ * String or byte array is created per message. ASCII characters take a single comparison, other characters are
+ * encoded by hand, unpaired surrogates are replaced with <code>?</code> as done by the JDK encoder.
+ * <p>
+ * Bytes are staged in a small reusable array and copied into the output buffer in bulk. Not thread safe, sinks use 
+ * it while holding their lock.
+ * <p>
+ * Messages routed to several sinks are encoded once into the {@link LoggingEvent}, {@link #write(ILoggingEvent, CharSequence, ByteBuffer, Output)}
+ * copies these bytes instead of encoding the message again.
+ * 
+ * @author Saurabh
+ */
+public final class Utf8Encoder {
+
+	private static final int STAGING_BUFFER_SIZE = 8 * 1024;
+
+	//Longest UTF-8 sequence of a single code point
+	private static final int MAX_BYTES_PER_CHAR = 4;
+
+	/**
+	 * Called when output buffer gets full while encoding
+	 */
+	public interface Output {
+		/**
+		 * Make room for more bytes
+		 * @param fullBuffer
+		 * 			Buffer which got full
+		 * @return
+		 * 			Buffer encoding continues into, may be the same one once drained
+		 */
+		ByteBuffer drain(ByteBuffer fullBuffer) throws IOException;
+	}
+
+	/**
+	 * Grows a heap buffer instead of draining it, the returned buffer carries the bytes of the full one
+	 */
+	public static final Output GROWING_OUTPUT = new Output() {
+		public ByteBuffer drain(ByteBuffer fullBuffer) {
+			ByteBuffer largerBuffer = ByteBuffer.allocate(fullBuffer.capacity() * 2);
+			fullBuffer.flip();
+			largerBuffer.put(fullBuffer);
+			return largerBuffer;
+		}
+	};
+
+	private final byte[] staging = new byte[STAGING_BUFFER_SIZE];
+
+	/**
+	 * Write the event message into the buffer, copying the bytes already encoded into the event if the message is the
+	 * event's own formatted message
+	 * @param loggingEvent
+	 * @param message
+	 * 			Message to be written, may differ from the formatted message when decorated by the sink
+	 * @param buffer
+	 * @param output
+	 * 			Drains the buffer whenever it gets full
+	 * @return
+	 * 			Buffer holding the last written bytes
+	 */
+	public ByteBuffer write(ILoggingEvent loggingEvent, CharSequence message, ByteBuffer buffer, Output output) throws IOException {
+		if ( loggingEvent instanceof LoggingEvent ) {
+			LoggingEvent event = (LoggingEvent) loggingEvent;
+			if ( event.isEncoded() && message == event.getFormattedBuffer() ) {
+				return put(event.getEncodedBytes(), event.getEncodedLength(), buffer, output);
+			}
+		}
+		return encode(message, buffer, output);
+	}
+
+	/**
+	 * Encode the message & new line into the buffer
+	 * @param message
+	 * @param buffer
+	 * @param output
+	 * 			Drains the buffer whenever it gets full
+	 * @return
+	 * 			Buffer holding the last encoded bytes
+	 */
+	public ByteBuffer encode(CharSequence message, ByteBuffer buffer, Output output) throws IOException {
+		byte[] bytes = staging;
+		int limit = bytes.length - MAX_BYTES_PER_CHAR;
+		int length = message.length();
+		int pos = 0;
+		int i = 0;
+		while ( i < length ) {
+			if ( pos > limit ) {
+				buffer = put(bytes, pos, buffer, output);
+				pos = 0;
+			}
+			char c = message.charAt(i++);
+			if ( c < 0x80 ) {
+				bytes[pos++] = (byte) c;
+			} else if ( c < 0x800 ) {
+				bytes[pos++] = (byte) (0xC0 | (c >> 6));
+				bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+			} else if ( Character.isSurrogate(c) ) {
+				if ( Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(message.charAt(i)) ) {
+					int codePoint = Character.toCodePoint(c, message.charAt(i++));
+					bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+					bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+				} else {
+					bytes[pos++] = (byte) '?';
+				}
+			} else {
+				bytes[pos++] = (byte) (0xE0 | (c >> 12));
+				bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		if ( pos == bytes.length ) {
+			buffer = put(bytes, pos, buffer, output);
+			pos = 0;
+		}
+		bytes[pos++] = (byte) '\n';
+		return put(bytes, pos, buffer, output);
+	}
+
+	/**
+	 * Copy bytes into the buffer, draining it as many times as required
+	 */
+	private static ByteBuffer put(byte[] bytes, int count, ByteBuffer buffer, Output output) throws IOException {
+		int offset = 0;
+		while ( count - offset > buffer.remaining() ) {
+			int chunk = buffer.remaining();
+			buffer.put(bytes, offset, chunk);
+			offset += chunk;
+			buffer = output.drain(buffer);
+		}
+		buffer.put(bytes, offset, count - offset);
+		return buffer;
+	}
+}
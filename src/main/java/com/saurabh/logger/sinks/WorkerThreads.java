@@ -0,0 +1,69 @@
+package com.saurabh.logger.sinks;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates the threads {@link AsyncSink} workers run on.
+ * <p>
+ * Virtual threads are looked up reflectively so that this class loads on every supported JDK, they are available on 
+ * Java 21 onwards. Multi release jars built with the <code>jdk21</code> profile carry a Java 21 version of this class 
+ * calling <code>Thread.ofVirtual()</code> directly.
+ * @author Saurabh
+ */
+final class WorkerThreads {
+
+	private static final Method OF_VIRTUAL;
+	private static final Method NAME;
+	private static final Method UNSTARTED;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method unstarted = null;
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			name = builderClass.getMethod("name", String.class);
+			unstarted = builderClass.getMethod("unstarted", Runnable.class);
+		} catch (Exception ex) {
+			//Runtime without virtual threads
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		UNSTARTED = unstarted;
+	}
+
+	private WorkerThreads() {
+	}
+
+	/**
+	 * @return
+	 * 		<code>true</code> if the running JVM supports virtual threads
+	 */
+	static boolean isVirtualSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Create an unstarted daemon thread for the worker
+	 * @param worker
+	 * @param name
+	 * @param virtual
+	 * 			Create a virtual thread, must only be set if {@link #isVirtualSupported()}
+	 * @return
+	 */
+	static Thread newThread(Runnable worker, String name, boolean virtual) {
+		if ( virtual ) {
+			try {
+				Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name);
+				return (Thread) UNSTARTED.invoke(builder, worker);
+			} catch (Exception ex) {
+				throw new IllegalStateException("Failed to create virtual thread " + name, ex);
+			}
+		}
+		Thread thread = new Thread(worker, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+}
@@ -0,0 +1,57 @@
+package com.saurabh.logger.sinks.queue;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.saurabh.logger.ILoggingEvent;
+
+/**
+ * {@link EventQueue} backed by an {@link ArrayBlockingQueue}. All producers and consumers share a single lock,
+ * waiting threads are parked until they are signalled.
+ *
+ * @author Saurabh
+ */
+public class BlockingEventQueue implements EventQueue {
+
+	private final BlockingQueue<ILoggingEvent> blockingQueue;
+	private final int capacity;
+
+	public BlockingEventQueue(int capacity) {
+		this.capacity = capacity;
+		this.blockingQueue = new ArrayBlockingQueue<ILoggingEvent>(capacity);
+	}
+
+	public void put(ILoggingEvent loggingEvent) throws InterruptedException {
+		blockingQueue.put(loggingEvent);
+	}
+
+	public boolean offer(ILoggingEvent loggingEvent) {
+		return blockingQueue.offer(loggingEvent);
+	}
+
+	public boolean offer(ILoggingEvent loggingEvent, long timeout, TimeUnit unit) throws InterruptedException {
+		return blockingQueue.offer(loggingEvent, timeout, unit);
+	}
+
+	public ILoggingEvent take() throws InterruptedException {
+		return blockingQueue.take();
+	}
+
+	public ILoggingEvent poll() {
+		return blockingQueue.poll();
+	}
+
+	public int drainTo(Collection<? super ILoggingEvent> collection, int maxEvents) {
+		return blockingQueue.drainTo(collection, maxEvents);
+	}
+
+	public int size() {
+		return blockingQueue.size();
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+}
@@ -0,0 +1,17 @@
+package com.saurabh.logger.sinks.queue;
+
+/**
+ * Keeps spinning on the queue. Lowest latency, but burns a complete core for every waiting thread so
+ * should only be used when worker threads can be pinned to dedicated cores.
+ *
+ * @author Saurabh
+ */
+public final class BusySpinWaitStrategy implements WaitStrategy {
+
+	public int idle(int counter) throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		return counter + 1;
+	}
+}
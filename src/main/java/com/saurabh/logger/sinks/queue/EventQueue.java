@@ -0,0 +1,80 @@
+package com.saurabh.logger.sinks.queue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import com.saurabh.logger.ILoggingEvent;
+import com.saurabh.logger.sinks.AsyncSink;
+
+/**
+ * Bounded queue engine used by {@link AsyncSink} to hand over {@link ILoggingEvent} from producer threads
+ * to the worker threads. Implementations must be safe for multiple producers and multiple consumers.
+ *
+ * @author Saurabh
+ */
+public interface EventQueue {
+
+	/**
+	 * Insert the event, waiting for a free slot if the queue is full
+	 * @param loggingEvent
+	 * @throws InterruptedException
+	 * 			If interrupted while waiting
+	 */
+	void put(ILoggingEvent loggingEvent) throws InterruptedException;
+
+	/**
+	 * Insert the event if a slot is available without waiting
+	 * @param loggingEvent
+	 * @return
+	 * 		<code>true</code> if event was added, <code>false</code> if queue is full
+	 */
+	boolean offer(ILoggingEvent loggingEvent);
+
+	/**
+	 * Insert the event, waiting up to the given time for a free slot if the queue is full
+	 * @param loggingEvent
+	 * @param timeout
+	 * @param unit
+	 * @return
+	 * 		<code>true</code> if event was added, <code>false</code> if queue stayed full
+	 * @throws InterruptedException
+	 * 			If interrupted while waiting
+	 */
+	boolean offer(ILoggingEvent loggingEvent, long timeout, TimeUnit unit) throws InterruptedException;
+
+	/**
+	 * Retrieve and remove the head of the queue, waiting for an event if the queue is empty
+	 * @return
+	 * @throws InterruptedException
+	 * 			If interrupted while waiting
+	 */
+	ILoggingEvent take() throws InterruptedException;
+
+	/**
+	 * Retrieve and remove the head of the queue without waiting
+	 * @return
+	 * 		Head of the queue or <code>null</code> if queue is empty
+	 */
+	ILoggingEvent poll();
+
+	/**
+	 * Remove at most <code>maxEvents</code> available events and add them to the given collection
+	 * @param collection
+	 * @param maxEvents
+	 * @return
+	 * 		Number of events transferred
+	 */
+	int drainTo(Collection<? super ILoggingEvent> collection, int maxEvents);
+
+	/**
+	 * Approximate number of events currently in the queue
+	 * @return
+	 */
+	int size();
+
+	/**
+	 * Maximum number of events this queue can hold
+	 * @return
+	 */
+	int capacity();
+}
@@ -0,0 +1,56 @@
+package com.saurabh.logger.sinks.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+class LhsPadding {
+	protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class SequenceValue extends LhsPadding {
+	protected volatile long value;
+}
+
+class RhsPadding extends SequenceValue {
+	protected long p9, p10, p11, p12, p13, p14, p15;
+}
+
+/**
+ * Volatile sequence counter padded on both sides so that it always sits on its own cache line.
+ * Producer and consumer cursors of {@link RingBufferEventQueue} are updated by different threads,
+ * without padding they would share a cache line and invalidate each other on every update (false sharing).
+ *
+ * @author Saurabh
+ */
+public final class PaddedSequence extends RhsPadding {
+
+	private static final AtomicLongFieldUpdater<SequenceValue> UPDATER =
+			AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+
+	public PaddedSequence(long initialValue) {
+		UPDATER.lazySet(this, initialValue);
+	}
+
+	public long get() {
+		return value;
+	}
+
+	public void set(long newValue) {
+		value = newValue;
+	}
+
+	public boolean compareAndSet(long expectedValue, long newValue) {
+		return UPDATER.compareAndSet(this, expectedValue, newValue);
+	}
+
+	/**
+	 * Sum of the padding fields, only exists so that padding is not considered unused and eliminated
+	 */
+	long sumPaddingToPreventOptimisation() {
+		return p1 + p2 + p3 + p4 + p5 + p6 + p7 + p9 + p10 + p11 + p12 + p13 + p14 + p15;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString(get());
+	}
+}
@@ -0,0 +1,41 @@
+package com.saurabh.logger.sinks.queue;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spins, then yields and finally parks the thread for a short fixed period. Producers never have to signal
+ * waiting consumers, so the write path stays lock free, at the cost of up to {@link #DEFAULT_PARK_NANOS} of
+ * wake up latency once the queue has been idle for a while. This is the default strategy.
+ *
+ * @author Saurabh
+ */
+public final class ParkingWaitStrategy implements WaitStrategy {
+
+	public static final long DEFAULT_PARK_NANOS = 100 * 1000;
+
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = SPIN_TRIES + 100;
+
+	private final long parkNanos;
+
+	public ParkingWaitStrategy() {
+		this(DEFAULT_PARK_NANOS);
+	}
+
+	public ParkingWaitStrategy(long parkNanos) {
+		this.parkNanos = parkNanos;
+	}
+
+	public int idle(int counter) throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		if (counter >= YIELD_TRIES) {
+			LockSupport.parkNanos(parkNanos);
+			return counter;
+		} else if (counter >= SPIN_TRIES) {
+			Thread.yield();
+		}
+		return counter + 1;
+	}
+}
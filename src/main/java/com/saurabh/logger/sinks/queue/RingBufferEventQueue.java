@@ -0,0 +1,168 @@
+package com.saurabh.logger.sinks.queue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.saurabh.logger.ILoggingEvent;
+
+/**
+ * Lock free, bounded, multi-producer multi-consumer {@link EventQueue} over a preallocated ring of slots.
+ * <p>
+ * Capacity is always rounded up to a power of two so that a slot index is a simple mask of the sequence.
+ * Every slot carries its own sequence number telling whether it is free for the producer claiming
+ * sequence <code>n</code> (slot sequence == n) or holds an event for the consumer claiming sequence <code>n</code>
+ * (slot sequence == n + 1). Producers and consumers claim sequences with a single CAS on their padded cursor,
+ * so they never contend with each other and never take a lock. Waiting on a full or empty ring is delegated
+ * to the configured {@link WaitStrategy}.
+ *
+ * @author Saurabh
+ */
+public class RingBufferEventQueue implements EventQueue {
+
+	private final int capacity;
+	private final int mask;
+	private final ILoggingEvent[] buffer;
+	private final AtomicLongArray sequences;
+	private final WaitStrategy waitStrategy;
+
+	//Next sequence to be claimed by producers
+	private final PaddedSequence tail = new PaddedSequence(0);
+
+	//Next sequence to be claimed by consumers
+	private final PaddedSequence head = new PaddedSequence(0);
+
+	public RingBufferEventQueue(int requestedCapacity, WaitStrategy waitStrategy) {
+		if (requestedCapacity < 1) {
+			throw new IllegalArgumentException("Ring buffer capacity must be positive : " + requestedCapacity);
+		}
+		this.capacity = nextPowerOfTwo(requestedCapacity);
+		this.mask = capacity - 1;
+		this.buffer = new ILoggingEvent[capacity];
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * Round the given value up to the next power of two
+	 * @param value
+	 * @return
+	 */
+	public static int nextPowerOfTwo(int value) {
+		if (value <= 1) {
+			return 1;
+		}
+		int highestBit = Integer.highestOneBit(value - 1) << 1;
+		if (highestBit <= 0) {
+			throw new IllegalArgumentException("Ring buffer capacity too large : " + value);
+		}
+		return highestBit;
+	}
+
+	public void put(ILoggingEvent loggingEvent) throws InterruptedException {
+		int counter = 0;
+		while (!offer(loggingEvent)) {
+			counter = waitStrategy.idle(counter);
+		}
+	}
+
+	public boolean offer(ILoggingEvent loggingEvent) {
+		long sequence = tail.get();
+		while (true) {
+			int index = (int) sequence & mask;
+			long difference = sequences.get(index) - sequence;
+			if (difference == 0) {
+				if (tail.compareAndSet(sequence, sequence + 1)) {
+					buffer[index] = loggingEvent;
+					//Publish the slot to consumers
+					sequences.lazySet(index, sequence + 1);
+					return true;
+				}
+				sequence = tail.get();
+			} else if (difference < 0) {
+				//Slot still holds an event from the previous lap, ring is full
+				return false;
+			} else {
+				//Another producer claimed this sequence
+				sequence = tail.get();
+			}
+		}
+	}
+
+	public boolean offer(ILoggingEvent loggingEvent, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		int counter = 0;
+		while (!offer(loggingEvent)) {
+			if (System.nanoTime() - deadline >= 0) {
+				return false;
+			}
+			counter = waitStrategy.idle(counter);
+		}
+		return true;
+	}
+
+	public ILoggingEvent take() throws InterruptedException {
+		int counter = 0;
+		ILoggingEvent loggingEvent;
+		while ((loggingEvent = poll()) == null) {
+			counter = waitStrategy.idle(counter);
+		}
+		return loggingEvent;
+	}
+
+	public ILoggingEvent poll() {
+		long sequence = head.get();
+		while (true) {
+			int index = (int) sequence & mask;
+			long difference = sequences.get(index) - (sequence + 1);
+			if (difference == 0) {
+				if (head.compareAndSet(sequence, sequence + 1)) {
+					ILoggingEvent loggingEvent = buffer[index];
+					buffer[index] = null;
+					//Hand the slot back to producers for the next lap
+					sequences.lazySet(index, sequence + capacity);
+					return loggingEvent;
+				}
+				sequence = head.get();
+			} else if (difference < 0) {
+				//Slot not published yet, ring is empty
+				return null;
+			} else {
+				//Another consumer claimed this sequence
+				sequence = head.get();
+			}
+		}
+	}
+
+	public int drainTo(Collection<? super ILoggingEvent> collection, int maxEvents) {
+		int drained = 0;
+		ILoggingEvent loggingEvent;
+		while (drained < maxEvents && (loggingEvent = poll()) != null) {
+			collection.add(loggingEvent);
+			drained++;
+		}
+		return drained;
+	}
+
+	public int size() {
+		//Read head first so that size never goes negative
+		long consumed = head.get();
+		long produced = tail.get();
+		long size = produced - consumed;
+		if (size < 0) {
+			return 0;
+		}
+		return size > capacity ? capacity : (int) size;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public WaitStrategy getWaitStrategy() {
+		return waitStrategy;
+	}
+}
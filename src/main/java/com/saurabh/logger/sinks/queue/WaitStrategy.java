@@ -0,0 +1,21 @@
+package com.saurabh.logger.sinks.queue;
+
+/**
+ * Strategy used by {@link RingBufferEventQueue} while a producer waits for a free slot or a consumer waits
+ * for an event. Trades CPU usage against wake up latency.
+ *
+ * @author Saurabh
+ */
+public interface WaitStrategy {
+
+	/**
+	 * Called every time an attempt on the queue failed
+	 * @param counter
+	 * 			Number of failed attempts so far for the current wait, starts at 0
+	 * @return
+	 * 			Counter value to be passed on the next call
+	 * @throws InterruptedException
+	 * 			If the waiting thread has been interrupted
+	 */
+	int idle(int counter) throws InterruptedException;
+}
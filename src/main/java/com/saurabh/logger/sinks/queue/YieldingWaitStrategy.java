@@ -0,0 +1,22 @@
+package com.saurabh.logger.sinks.queue;
+
+/**
+ * Spins for a while and then yields the processor to other threads. Good compromise between latency and CPU
+ * usage when there are less busy threads than cores.
+ *
+ * @author Saurabh
+ */
+public final class YieldingWaitStrategy implements WaitStrategy {
+
+	private static final int SPIN_TRIES = 100;
+
+	public int idle(int counter) throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		if (counter >= SPIN_TRIES) {
+			Thread.yield();
+		}
+		return counter + 1;
+	}
+}
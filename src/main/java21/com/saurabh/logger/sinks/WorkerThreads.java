@@ -0,0 +1,35 @@
+package com.saurabh.logger.sinks;
+
+/**
+ * Creates the threads {@link AsyncSink} workers run on, Java 21 version packaged under 
+ * <code>META-INF/versions/21</code> of the multi release jar.
+ * @author Saurabh
+ */
+final class WorkerThreads {
+
+	private WorkerThreads() {
+	}
+
+	/**
+	 * @return
+	 * 		<code>true</code>, virtual threads are always available on Java 21
+	 */
+	static boolean isVirtualSupported() {
+		return true;
+	}
+
+	/**
+	 * Create an unstarted daemon thread for the worker
+	 * @param worker
+	 * @param name
+	 * @param virtual
+	 * 			Create a virtual thread
+	 * @return
+	 */
+	static Thread newThread(Runnable worker, String name, boolean virtual) {
+		if ( virtual ) {
+			return Thread.ofVirtual().name(name).unstarted(worker);
+		}
+		return Thread.ofPlatform().name(name).daemon(true).unstarted(worker);
+	}
+}
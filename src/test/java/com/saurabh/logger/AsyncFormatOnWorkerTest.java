@@ -0,0 +1,76 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+
+/**
+ * Basic test cases for {@link AsyncSink} formatting messages on its workers
+ * @author Saurabh
+ */
+public class AsyncFormatOnWorkerTest {
+
+	String fileLocation = "/var/log/logger/worker-format.log";
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%t %p %c %m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("write_mode", "RING");
+	    params.put("format_on_worker", "true");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if deferred events are formatted from the captured fields
+	public void checkDeferredFormatting() {
+		LoggingEvent loggingEvent = new LoggingEvent();
+		loggingEvent.initialize(Level.INFO, "deferred {}", "Worker", null);
+		loggingEvent.addArgument(42L);
+		loggingEvent.deferFormatting(Layout.compile("%p %m", null));
+		Assert.assertTrue(loggingEvent.isFormattingDeferred());
+		Assert.assertNull(loggingEvent.getFormattedBuffer());
+
+		LoggingEvent pooledEvent = LoggingEvent.newPooledEvent();
+		pooledEvent.copyFrom(loggingEvent);
+		pooledEvent.formatDeferred();
+		Assert.assertFalse(pooledEvent.isFormattingDeferred());
+		Assert.assertEquals(pooledEvent.getFormattedBuffer().toString(), "INFO deferred 42");
+	}
+
+	@Test
+	//Check if messages formatted by workers carry the logging thread name, in both normal & garbage free mode
+	public void checkMessagesFormattedOnWorker() throws IOException {
+		Assert.assertTrue(((AsyncSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink).isFormatOnWorker());
+		String threadName = Thread.currentThread().getName();
+		Logger.info("Worker", "value {} of {}", 1, "first");
+		Logger.getCurrentConfig().setGarbageFree(true);
+		Logger.info("Worker", "value {} of {}", 2L, "second");
+		Assert.assertTrue(Logger.shutdown(5000));
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 2);
+		Assert.assertEquals(lines.get(0), threadName + " INFO Worker value 1 of first");
+		Assert.assertEquals(lines.get(1), threadName + " INFO Worker value 2 of second");
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
@@ -0,0 +1,113 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+import com.saurabh.logger.sinks.Sink;
+
+/**
+ * Basic test cases for {@link AsyncSink} flush barrier & shutdown
+ * @author Saurabh
+ */
+public class AsyncSinkFlushTest {
+
+	String fileLocation = "/var/log/logger/shutdown.log";
+
+	/**
+	 * Sink taking a while for every write
+	 */
+	static class SlowSink implements Sink {
+		final AtomicInteger written = new AtomicInteger();
+		volatile int writtenAtFlush = -1;
+		boolean started;
+
+		public String getName() {
+			return "slow";
+		}
+
+		public void setName(String name) {
+		}
+
+		public boolean isStarted() {
+			return started;
+		}
+
+		public void init() {
+			started = true;
+		}
+
+		public void write(ILoggingEvent loggingEvent) {
+			LockSupport.parkNanos(20 * 1000);
+			written.incrementAndGet();
+		}
+
+		public void flush() {
+			writtenAtFlush = written.get();
+		}
+
+		public void close() {
+			started = false;
+		}
+	}
+
+	@Test
+	//Check if flush returns only after every earlier event has been written, with several workers
+	public void checkFlushBarrier() {
+		SlowSink slowSink = new SlowSink();
+		AsyncSink asyncSink = new AsyncSink();
+		asyncSink.setName("flush");
+		asyncSink.setWrappedSink(slowSink);
+		asyncSink.setThreadModel("MULTI");
+		asyncSink.setBatchSize(8);
+		asyncSink.init();
+
+		for ( int i = 0; i < 200; i++ ) {
+			LoggingEvent loggingEvent = new LoggingEvent();
+			loggingEvent.setFormattedMessage("flush message " + i);
+			asyncSink.write(loggingEvent);
+		}
+		Assert.assertTrue(asyncSink.flush(10000));
+		Assert.assertEquals(slowSink.written.get(), 200);
+		Assert.assertEquals(slowSink.writtenAtFlush, 200);
+		Assert.assertTrue(asyncSink.stop(1000));
+		Assert.assertFalse(slowSink.isStarted());
+	}
+
+	@Test
+	//Check if shutdown writes every queued message before closing the file
+	public void checkShutdownDrains() throws IOException {
+		new File(fileLocation).delete();
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("thread_model", "MULTI");
+	    params.put("write_mode", "ASYNC");
+	    params.put("queue_size", "4096");
+	    LoggerConfig.fromMap(params);
+
+		for ( int i = 0; i < 2000; i++ ) {
+			Logger.info("Shutdown", "shutdown message {}", i);
+		}
+		Assert.assertTrue(Logger.shutdown(5000));
+		Assert.assertFalse(Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink.isStarted());
+		Assert.assertEquals(Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8).size(), 2000);
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
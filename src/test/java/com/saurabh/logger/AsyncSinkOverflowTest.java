@@ -0,0 +1,161 @@
+package com.saurabh.logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+import com.saurabh.logger.sinks.Sink;
+
+/**
+ * Basic test cases for {@link AsyncSink} overflow policies
+ * @author Saurabh
+ */
+public class AsyncSinkOverflowTest {
+
+	/**
+	 * Sink holding its writer till released
+	 */
+	static class StalledSink implements Sink {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch released = new CountDownLatch(1);
+		final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+		boolean started;
+
+		public String getName() {
+			return "stalled";
+		}
+
+		public void setName(String name) {
+		}
+
+		public boolean isStarted() {
+			return started;
+		}
+
+		public void init() {
+			started = true;
+		}
+
+		public void write(ILoggingEvent loggingEvent) {
+			entered.countDown();
+			try {
+				released.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			messages.add(loggingEvent.getFormattedMessage());
+		}
+
+		public void flush() {
+		}
+
+		public void close() {
+			started = false;
+		}
+	}
+
+	AsyncSink asyncSink;
+	StalledSink stalledSink = new StalledSink();
+
+	/**
+	 * Start the sink & fill its queue while the worker is stuck writing the first event
+	 */
+	private void fillQueue(String overflowPolicy) throws InterruptedException {
+		asyncSink = new AsyncSink();
+		asyncSink.setName("overflow");
+		asyncSink.setWrappedSink(stalledSink);
+		asyncSink.setQueueSize(4);
+		asyncSink.setBatchSize(1);
+		asyncSink.setOverflowPolicy(overflowPolicy);
+		asyncSink.setOverflowTimeout(50);
+		asyncSink.init();
+
+		asyncSink.write(newEvent(Level.INFO, "message 0"));
+		Assert.assertTrue(stalledSink.entered.await(5, TimeUnit.SECONDS));
+		for ( int i = 1; i <= 4; i++ ) {
+			asyncSink.write(newEvent(Level.INFO, "message " + i));
+		}
+	}
+
+	private static LoggingEvent newEvent(Level level, String message) {
+		LoggingEvent loggingEvent = new LoggingEvent();
+		loggingEvent.initialize(level, message, "Overflow", null);
+		loggingEvent.setFormattedMessage(message);
+		return loggingEvent;
+	}
+
+	private List<String> drain() throws InterruptedException {
+		stalledSink.released.countDown();
+		asyncSink.close();
+		return stalledSink.messages;
+	}
+
+	@Test
+	//Check if new events are dropped & counted on a full queue
+	public void checkDropNew() throws InterruptedException {
+		fillQueue("drop_new");
+		asyncSink.write(newEvent(Level.FATAL, "message 5"));
+		asyncSink.write(newEvent(Level.INFO, "message 6"));
+		Assert.assertEquals(asyncSink.getDroppedEventCount(), 2);
+		Assert.assertEquals(drain().get(4), "message 4");
+	}
+
+	@Test
+	//Check if oldest queued events make room for new ones
+	public void checkDropOldest() throws InterruptedException {
+		fillQueue("DROP_OLDEST");
+		asyncSink.write(newEvent(Level.INFO, "message 5"));
+		asyncSink.write(newEvent(Level.INFO, "message 6"));
+		Assert.assertEquals(asyncSink.getDroppedEventCount(), 2);
+		List<String> messages = drain();
+		Assert.assertEquals(messages.size(), 5);
+		Assert.assertEquals(messages.get(1), "message 3");
+		Assert.assertEquals(messages.get(4), "message 6");
+	}
+
+	@Test
+	//Check if only events below overflow level are dropped
+	public void checkDropBelowLevel() throws InterruptedException {
+		fillQueue("DROP_BELOW_LEVEL");
+		asyncSink.write(newEvent(Level.INFO, "message 5"));
+		Assert.assertEquals(asyncSink.getDroppedEventCount(), 1);
+		Thread errorWriter = new Thread() {
+			public void run() {
+				asyncSink.write(newEvent(Level.ERROR, "message 6"));
+			}
+		};
+		errorWriter.start();
+		errorWriter.join(200);
+		//ERROR waits for a free slot
+		Assert.assertTrue(errorWriter.isAlive());
+		stalledSink.released.countDown();
+		errorWriter.join(5000);
+		List<String> messages = drain();
+		Assert.assertEquals(asyncSink.getDroppedEventCount(), 1);
+		Assert.assertEquals(messages.get(messages.size() - 1), "message 6");
+	}
+
+	@Test
+	//Check if writer gives up after overflow timeout
+	public void checkBlockTimeout() throws InterruptedException {
+		fillQueue("BLOCK_TIMEOUT");
+		long start = System.nanoTime();
+		asyncSink.write(newEvent(Level.INFO, "message 5"));
+		long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		Assert.assertTrue(waitedMillis >= 40);
+		Assert.assertEquals(asyncSink.getDroppedEventCount(), 1);
+		Assert.assertEquals(drain().size(), 5);
+	}
+
+	@After
+	public void releaseResources() {
+		stalledSink.released.countDown();
+	}
+}
@@ -0,0 +1,87 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+
+/**
+ * Basic test cases for {@link AsyncSink} with PARTITIONED thread model
+ * @author Saurabh
+ */
+public class AsyncSinkPartitionedTest {
+
+	String fileLocation = "/var/log/logger/partitioned.log";
+	static final int PRODUCERS = 4;
+	static final int MESSAGES = 1000;
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("thread_model", "PARTITIONED");
+	    params.put("worker_count", "3");
+	    params.put("write_mode", "RING");
+	    params.put("queue_size", "64");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if every worker gets its own queue
+	public void checkPartitionsCreated() {
+		Logger.info("Partitioned", "first message");
+		AsyncSink asyncSink = (AsyncSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+		Assert.assertTrue(asyncSink.isPartitioned());
+		Assert.assertEquals(asyncSink.getWorkerThreadsCount(), 3);
+		Assert.assertEquals(asyncSink.getPartitionCount(), 3);
+	}
+
+	@Test
+	//Check if messages of a producer thread are written in the order they were logged
+	public void checkPerThreadOrder() throws InterruptedException, IOException {
+		Thread[] producers = new Thread[PRODUCERS];
+		for ( int p = 0; p < PRODUCERS; p++ ) {
+			final int producer = p;
+			producers[p] = new Thread() {
+				public void run() {
+					for ( int i = 0; i < MESSAGES; i++ ) {
+						Logger.info("Partitioned", "{} {}", producer, i);
+					}
+				}
+			};
+			producers[p].start();
+		}
+		for ( Thread producer : producers ) {
+			producer.join();
+		}
+		Assert.assertTrue(Logger.shutdown(5000));
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), PRODUCERS * MESSAGES);
+		int[] next = new int[PRODUCERS];
+		for ( String line : lines ) {
+			String[] parts = line.split(" ");
+			int producer = Integer.parseInt(parts[0]);
+			Assert.assertEquals(Integer.parseInt(parts[1]), next[producer]++);
+		}
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
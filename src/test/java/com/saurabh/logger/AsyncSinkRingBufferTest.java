@@ -0,0 +1,132 @@
+package com.saurabh.logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+import com.saurabh.logger.sinks.queue.ParkingWaitStrategy;
+import com.saurabh.logger.sinks.queue.RingBufferEventQueue;
+
+/**
+ * Basic test cases for {@link AsyncSink} running on top of {@link RingBufferEventQueue}
+ * @author Saurabh
+ */
+public class AsyncSinkRingBufferTest {
+
+	RouteInfo routeInfo;
+	String fileLocation = "/var/log/logger/ring.log";
+	String tsFormat = "dd­-mm­-yyyy-­hh-­mm-­ss";
+
+	@Before
+	public void loadConfiguration() {
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("ts_format", tsFormat);
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("thread_model", "MULTI");
+	    params.put("write_mode", "RING");
+	    params.put("wait_strategy", "YIELD");
+	    params.put("queue_size", "100");
+	    LoggerConfig.fromMap(params);
+
+	    routeInfo = Logger.getCurrentConfig().getRoutingMap().get(Level.INFO);
+	}
+
+	@Test
+	//Check if RING write mode maps to AsyncSink instance
+	public void testRoutedSinkIsAsyncSink() {
+		Assert.assertTrue(routeInfo.routedSink instanceof AsyncSink);
+		AsyncSink asyncSink = (AsyncSink) routeInfo.routedSink;
+		Assert.assertEquals(asyncSink.getWriteMode(), GlobalConstants.RING_WRITE_MODE);
+		Assert.assertEquals(asyncSink.getWaitStrategy(), "YIELD");
+	}
+
+	@Test
+	//Check if ring buffer is created with power of two capacity after logging
+	public void checkRingBufferCreatedAfterLogging() {
+		Logger.info(AsyncSinkRingBufferTest.class.getSimpleName(), "Testing ring buffer");
+		AsyncSink asyncSink = (AsyncSink) routeInfo.routedSink;
+		Assert.assertTrue(asyncSink.isStarted());
+		Assert.assertTrue(asyncSink.getEventQueue() instanceof RingBufferEventQueue);
+		Assert.assertEquals(asyncSink.getEventQueue().capacity(), 128);
+	}
+
+	@Test
+	//Check if ring buffer rejects events when full and keeps FIFO order
+	public void checkRingBufferFullAndOrder() {
+		RingBufferEventQueue queue = new RingBufferEventQueue(4, new ParkingWaitStrategy());
+		List<ILoggingEvent> events = new ArrayList<ILoggingEvent>();
+		for ( int i = 0; i < 4; i++ ) {
+			ILoggingEvent event = new LoggingEvent(new LogMessage("message " + i, Level.INFO, "ring"), tsFormat);
+			events.add(event);
+			Assert.assertTrue(queue.offer(event));
+		}
+		Assert.assertFalse(queue.offer(events.get(0)));
+		Assert.assertEquals(queue.size(), 4);
+		for ( int i = 0; i < 4; i++ ) {
+			Assert.assertSame(queue.poll(), events.get(i));
+		}
+		Assert.assertNull(queue.poll());
+	}
+
+	@Test
+	//Check if no event is lost or duplicated with multiple producers and consumers
+	public void checkMultiProducerMultiConsumer() throws Exception {
+		final RingBufferEventQueue queue = new RingBufferEventQueue(16, new ParkingWaitStrategy());
+		final int producers = 4;
+		final int eventsPerProducer = 10000;
+		final ILoggingEvent event = new LoggingEvent(new LogMessage("message", Level.INFO, "ring"), tsFormat);
+		final int[] consumed = new int[2];
+
+		List<Thread> threads = new ArrayList<Thread>();
+		for ( int i = 0; i < producers; i++ ) {
+			threads.add(new Thread() {
+				public void run() {
+					try {
+						for ( int j = 0; j < eventsPerProducer; j++ ) {
+							queue.put(event);
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+		}
+		for ( int i = 0; i < consumed.length; i++ ) {
+			final int consumer = i;
+			threads.add(new Thread() {
+				public void run() {
+					try {
+						for ( int j = 0; j < producers * eventsPerProducer / consumed.length; j++ ) {
+							queue.take();
+							consumed[consumer]++;
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+		}
+		for ( Thread thread : threads ) {
+			thread.start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join(10000);
+		}
+		Assert.assertEquals(consumed[0] + consumed[1], producers * eventsPerProducer);
+		Assert.assertEquals(queue.size(), 0);
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
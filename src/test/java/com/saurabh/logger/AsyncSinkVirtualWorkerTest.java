@@ -0,0 +1,75 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+
+/**
+ * Basic test cases for {@link AsyncSink} with VIRTUAL worker type
+ * @author Saurabh
+ */
+public class AsyncSinkVirtualWorkerTest {
+
+	String fileLocation = "/var/log/logger/virtual.log";
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("thread_model", "MULTI");
+	    params.put("worker_type", "virtual");
+	    params.put("write_mode", "ASYNC");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if virtual workers are used where the JVM supports them, platform ones otherwise
+	public void checkWorkerType() {
+		Logger.info("Virtual", "first message");
+		AsyncSink asyncSink = (AsyncSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+		Assert.assertEquals(asyncSink.getWorkerType(), 
+				isVirtualSupported() ? GlobalConstants.WORKER_TYPE_VIRTUAL : GlobalConstants.WORKER_TYPE_PLATFORM);
+	}
+
+	@Test
+	//Check if messages get written & flushed by the workers
+	public void checkMessagesWritten() throws IOException {
+		for ( int i = 0; i < 100; i++ ) {
+			Logger.info("Virtual", "message {}", i);
+		}
+		AsyncSink asyncSink = (AsyncSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+		Assert.assertTrue(asyncSink.flush(5000));
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 100);
+	}
+
+	private static boolean isVirtualSupported() {
+		try {
+			Thread.class.getMethod("ofVirtual");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
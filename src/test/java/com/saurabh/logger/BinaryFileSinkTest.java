@@ -0,0 +1,222 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+import com.saurabh.logger.sinks.BinaryFileSink;
+import com.saurabh.logger.sinks.BinaryLogDecoder;
+
+/**
+ * Basic test cases for {@link BinaryFileSink} & {@link BinaryLogDecoder}
+ * @author Saurabh
+ */
+public class BinaryFileSinkTest {
+
+	String fileLocation = "/var/log/logger/binary.log";
+	Layout layout = Layout.compile("%p %c %m", null);
+
+	@Before
+	public void deleteFile() {
+		new File(fileLocation).delete();
+	}
+
+	private void loadConfiguration(String writeMode, String dictionarySize) {
+		loadConfiguration(writeMode, dictionarySize, String.valueOf(BinaryFileSink.DEFAULT_SEGMENT_SIZE));
+	}
+
+	private void loadConfiguration(String writeMode, String dictionarySize, String segmentSize) {
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "binaryfile");
+	    params.put("file_location", fileLocation);
+	    params.put("dictionary_size", dictionarySize);
+	    params.put("segment_size", segmentSize);
+	    params.put("write_mode", writeMode);
+	    LoggerConfig.fromMap(params);
+	}
+
+	private String decode() throws IOException {
+		StringBuilder decoded = new StringBuilder();
+		BinaryLogDecoder.decode(new File(fileLocation), layout, decoded);
+		return decoded.toString();
+	}
+
+	@Test
+	//Check if records are decoded back into the same text the layout would render
+	public void checkRecordsDecoded() throws IOException {
+		loadConfiguration("SYNC", "16");
+		Logger.info("binary.test", "plain message");
+		Logger.info("binary.test", "long {} double {}", 42L, 1.5);
+		Logger.info("binary.other", "objects {} {} {}", new Object[] { "text", null, new int[0].length });
+		Logger.info("binary.test", "escaped \\{} {}", -7L);
+		Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink.flush();
+
+		Assert.assertEquals(decode(), "INFO binary.test plain message\n"
+				+ "INFO binary.test long 42 double 1.5\n"
+				+ "INFO binary.other objects text null 0\n"
+				+ "INFO binary.test escaped {} -7\n");
+	}
+
+	@Test
+	//Check if every argument type is decoded into the same text the layout renders for the event
+	public void checkArgumentsRenderedLikeText() throws IOException {
+		BinaryFileSink sink = new BinaryFileSink();
+		sink.setFile(fileLocation);
+		sink.init();
+		LoggingEvent[] events = new LoggingEvent[] {
+				newEvent("float {} {}", Float.valueOf(1.1f), Double.valueOf(1.1)),
+				newEvent("char {} {}", Character.valueOf('y'), Integer.valueOf(-3)),
+				newEvent("primitives {} {}"),
+				newEvent("primitives {} {}")
+		};
+		events[2].addArgument(1.1f);
+		events[2].addArgument('x');
+		events[3].addArgument(2.5);
+		events[3].addArgument(-9L);
+		StringBuilder text = new StringBuilder();
+		for ( LoggingEvent event : events ) {
+			sink.write(event);
+			layout.format(event, text);
+			text.append('\n');
+		}
+		sink.close();
+
+		Assert.assertEquals(decode(), text.toString());
+		Assert.assertTrue(text.toString().startsWith("INFO binary.types float 1.1 1.1\n"));
+	}
+
+	private static LoggingEvent newEvent(String format, Object... arguments) {
+		LoggingEvent event = new LoggingEvent();
+		event.initialize(Level.INFO, format, "binary.types", null);
+		if ( arguments.length > 0 ) {
+			event.setArgumentArray(arguments);
+		}
+		return event;
+	}
+
+	@Test
+	//Check if values are written inline once dictionaries are full & dictionaries restart when the file is reopened
+	public void checkDictionaryOverflowAndReopen() throws IOException {
+		loadConfiguration("SYNC", "1");
+		for ( int i = 0; i < 3; i++ ) {
+			Logger.info("binary.ns" + i, "message " + i);
+		}
+		BinaryFileSink sink = (BinaryFileSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+		sink.close();
+		sink.init();
+		Logger.info("binary.ns2", "message {}", 3);
+		sink.flush();
+
+		Assert.assertEquals(decode(), "INFO binary.ns0 message 0\nINFO binary.ns1 message 1\n"
+				+ "INFO binary.ns2 message 2\nINFO binary.ns2 message 3\n");
+		BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(fileLocation));
+		try {
+			Assert.assertEquals(decoder.next().getThreadName(), Thread.currentThread().getName());
+		} finally {
+			decoder.close();
+		}
+	}
+
+	@Test
+	//Check if dictionaries restart every segment & interning keeps records under half the size of text lines
+	public void checkSegmentsAndRecordSize() throws IOException {
+		loadConfiguration("SYNC", "16", "1024");
+		String nameSpace = "com.example.service.payments.gateway.internal.SettlementReconciliationWorker";
+		StringBuilder text = new StringBuilder();
+		for ( int i = 0; i < 200; i++ ) {
+			Logger.info(nameSpace, "settled batch {} of {}", i, 200L);
+			text.append("INFO ").append(nameSpace).append(" settled batch ").append(i).append(" of 200\n");
+		}
+		BinaryFileSink sink = (BinaryFileSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+		sink.flush();
+
+		Assert.assertTrue(sink.getSegmentCount() > 1);
+		Assert.assertEquals(decode(), text.toString());
+		Assert.assertTrue(new File(fileLocation).length() * 2 < text.length());
+	}
+
+	@Test
+	//Check if a record torn by a crash is cut off when the file is reopened, so records appended later are decoded
+	public void checkTornRecordTruncatedOnReopen() throws IOException {
+		loadConfiguration("SYNC", "16");
+		BinaryFileSink sink = (BinaryFileSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+		StringBuilder expected = new StringBuilder();
+		for ( int i = 0; i < 5; i++ ) {
+			Logger.info("binary.crash", "before crash {} {}", i, "payload");
+			if ( i < 4 ) {
+				expected.append("INFO binary.crash before crash ").append(i).append(" payload\n");
+			}
+		}
+		sink.close();
+		RandomAccessFile file = new RandomAccessFile(fileLocation, "rw");
+		try {
+			file.setLength(file.length() - 10);
+		} finally {
+			file.close();
+		}
+
+		sink.init();
+		for ( int i = 0; i < 5; i++ ) {
+			Logger.info("binary.crash", "after restart {} {}", i, "payload");
+			expected.append("INFO binary.crash after restart ").append(i).append(" payload\n");
+		}
+		sink.flush();
+		Assert.assertEquals(decode(), expected.toString());
+	}
+
+	@Test
+	//Check if a failed write, losing buffered dictionary records, doesn't leave later records pointing at them
+	public void checkFailedWriteStartsSegment() throws Exception {
+		BinaryFileSink sink = new BinaryFileSink();
+		sink.setFile(fileLocation);
+		sink.init();
+		sink.write(newEvent("before failure"));
+
+		Field channelField = BinaryFileSink.class.getDeclaredField("channel");
+		channelField.setAccessible(true);
+		FileChannel channel = (FileChannel) channelField.get(sink);
+		FileChannel closedChannel = new RandomAccessFile(fileLocation, "r").getChannel();
+		closedChannel.close();
+		channelField.set(sink, closedChannel);
+		sink.write(newEvent("defined in lost record"));
+		channelField.set(sink, channel);
+		sink.write(newEvent("defined in lost record"));
+		sink.close();
+
+		Assert.assertEquals(decode(), "INFO binary.types before failure\n"
+				+ "INFO binary.types defined in lost record\n");
+		Assert.assertEquals(sink.getSegmentCount(), 2);
+	}
+
+	@Test
+	//Check if events are written through async workers without being formatted
+	public void checkAsyncRecordsDecoded() throws IOException {
+		loadConfiguration("RING", "16");
+		for ( int i = 0; i < 100; i++ ) {
+			Logger.info("binary.async", "message {}", i);
+		}
+		AsyncSink asyncSink = (AsyncSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+		Assert.assertTrue(asyncSink.flush(5000));
+
+		String[] lines = decode().split("\n");
+		Assert.assertEquals(lines.length, 100);
+		Assert.assertEquals(lines[99], "INFO binary.async message 99");
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
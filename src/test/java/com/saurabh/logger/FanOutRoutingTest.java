@@ -0,0 +1,121 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Basic test cases for routing a level to several sinks through <b>route_mode</b> APPEND
+ * @author Saurabh
+ */
+public class FanOutRoutingTest {
+
+	String firstFileLocation = "/var/log/logger/fanout-first.log";
+	String secondFileLocation = "/var/log/logger/fanout-second.log";
+	String detailedFileLocation = "/var/log/logger/fanout-detailed.log";
+
+	@Before
+	public void loadConfiguration() {
+		new File(firstFileLocation).delete();
+		new File(secondFileLocation).delete();
+		new File(detailedFileLocation).delete();
+
+		addRoute(firstFileLocation, "%m", null);
+		addRoute(secondFileLocation, "%m", "APPEND");
+		addRoute(detailedFileLocation, "%p %c %m", "APPEND");
+	}
+
+	private void addRoute(String fileLocation, String layout, String routeMode) {
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", layout);
+	    params.put("log_level", "ERROR");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("write_mode", "SYNC");
+	    if ( routeMode != null ) {
+	    	params.put("route_mode", routeMode);
+	    }
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if sinks sharing a layout are grouped into one route
+	public void checkRoutesGrouped() {
+		RouteInfo[] routes = Logger.getCurrentConfig().getRoutingTable().routes(Level.ERROR);
+		Assert.assertEquals(routes.length, 2);
+		Assert.assertEquals(routes[0].sinks.length, 2);
+		Assert.assertEquals(routes[1].sinks.length, 1);
+		Assert.assertEquals(routes[1].layout.getPattern(), "%p %c %m");
+	}
+
+	@Test
+	//Check if every sink gets the message, in both normal & garbage free mode
+	public void checkMessageFannedOut() throws IOException {
+		Logger.error("FanOut", "fan out {} é", 1);
+		Logger.getCurrentConfig().setGarbageFree(true);
+		Logger.error("FanOut", "fan out {} é", 2);
+
+		for ( String fileLocation : new String[] { firstFileLocation, secondFileLocation } ) {
+			List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+			Assert.assertEquals(lines.size(), 2);
+			Assert.assertEquals(lines.get(0), "fan out 1 é");
+			Assert.assertEquals(lines.get(1), "fan out 2 é");
+		}
+		List<String> lines = Files.readAllLines(new File(detailedFileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 2);
+		Assert.assertEquals(lines.get(0), "ERROR FanOut fan out 1 é");
+		Assert.assertEquals(lines.get(1), "ERROR FanOut fan out 2 é");
+	}
+
+	@Test
+	//Check if a route formatting on async workers doesn't race with the copy made for the next route
+	public void checkFanOutWithFormatOnWorker() throws IOException {
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("layout", "%m");
+		params.put("log_level", "ERROR");
+		params.put("sink_type", "FILE");
+		params.put("file_location", firstFileLocation);
+		params.put("write_mode", "RING");
+		params.put("format_on_worker", "true");
+		LoggerConfig.fromMap(params);
+		addRoute(detailedFileLocation, "%p %c %m", "APPEND");
+
+		for ( int i = 0; i < 2000; i++ ) {
+			Logger.error("FanOut", "fan out {} with a message long enough to take a while to format", i);
+		}
+		Assert.assertTrue(Logger.shutdown(5000));
+
+		List<String> lines = Files.readAllLines(new File(firstFileLocation).toPath(), StandardCharsets.UTF_8);
+		List<String> detailedLines = Files.readAllLines(new File(detailedFileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 2000);
+		Assert.assertEquals(detailedLines.size(), 2000);
+		for ( int i = 0; i < 2000; i++ ) {
+			String message = "fan out " + i + " with a message long enough to take a while to format";
+			Assert.assertEquals(lines.get(i), message);
+			Assert.assertEquals(detailedLines.get(i), "ERROR FanOut " + message);
+		}
+	}
+
+	@Test
+	//Check if replacing the level route drops appended sinks
+	public void checkRouteReplaced() {
+		addRoute(firstFileLocation, "%m", "REPLACE");
+		RouteInfo[] routes = Logger.getCurrentConfig().getRoutingTable().routes(Level.ERROR);
+		Assert.assertEquals(routes.length, 1);
+		Assert.assertEquals(routes[0].sinks.length, 1);
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
@@ -0,0 +1,149 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+import com.saurabh.logger.sinks.FileSink;
+import com.saurabh.logger.sinks.Sink;
+
+/**
+ * Basic test cases for batched writes through {@link FileSink#writeBatch(List)}
+ * @author Saurabh
+ */
+public class FileSinkBatchTest {
+
+	String fileLocation = "/var/log/logger/batch.log";
+	String asyncFileLocation = "/var/log/logger/batch-async.log";
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+		new File(asyncFileLocation).delete();
+
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%m");
+	    params.put("log_level", "WARN");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", asyncFileLocation);
+	    params.put("thread_model", "SINGLE");
+	    params.put("write_mode", "ASYNC");
+	    params.put("batch_size", "16");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if a batch is written in order, including messages larger than the output buffer
+	public void checkBatchWritten() throws IOException {
+		FileSink fileSink = new FileSink();
+		fileSink.setFile(fileLocation);
+		fileSink.init();
+
+		StringBuilder large = new StringBuilder();
+		while ( large.length() < FileSink.DEFAULT_BUFFER_SIZE * 2 ) {
+			large.append("largeé");
+		}
+		List<LoggingEvent> batch = new ArrayList<LoggingEvent>();
+		for ( int i = 0; i < 10; i++ ) {
+			LoggingEvent event = new LoggingEvent();
+			event.setFormattedMessage(i == 5 ? large.toString() : "batch message " + i);
+			batch.add(event);
+		}
+		fileSink.writeBatch(batch);
+		fileSink.close();
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 10);
+		Assert.assertEquals(lines.get(0), "batch message 0");
+		Assert.assertEquals(lines.get(5), large.toString());
+		Assert.assertEquals(lines.get(9), "batch message 9");
+	}
+
+	@Test
+	//Check if buffered sink writes only when flushed
+	public void checkBufferedFlush() throws IOException {
+		FileSink fileSink = new FileSink();
+		fileSink.setFile(fileLocation);
+		fileSink.setBuffered(true);
+		fileSink.init();
+
+		LoggingEvent event = new LoggingEvent();
+		event.setFormattedMessage("buffered message");
+		fileSink.write(event);
+		Assert.assertEquals(new File(fileLocation).length(), 0);
+		fileSink.flush();
+		Assert.assertEquals(new File(fileLocation).length(), "buffered message\n".length());
+		fileSink.close();
+	}
+
+	@Test
+	//Check if a failing write drops only its own message, not the ones buffered before it
+	public void checkFailedWriteKeepsBuffered() throws IOException {
+		FileSink fileSink = new FileSink() {
+			@Override
+			protected void beforeWrite(ILoggingEvent loggingEvent) throws IOException {
+				if ( loggingEvent.getFormattedBuffer().toString().startsWith("failing") ) {
+					throw new IOException("Write refused");
+				}
+			}
+		};
+		fileSink.setFile(fileLocation);
+		fileSink.setBuffered(true);
+		fileSink.init();
+
+		fileSink.write(newEvent("buffered message 0"));
+		fileSink.write(newEvent("failing message"));
+		List<LoggingEvent> batch = new ArrayList<LoggingEvent>();
+		batch.add(newEvent("buffered message 1"));
+		batch.add(newEvent("failing batch message"));
+		batch.add(newEvent("dropped message"));
+		fileSink.writeBatch(batch);
+		fileSink.write(newEvent("buffered message 2"));
+		fileSink.close();
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 3);
+		for ( int i = 0; i < 3; i++ ) {
+			Assert.assertEquals(lines.get(i), "buffered message " + i);
+		}
+	}
+
+	private static LoggingEvent newEvent(String message) {
+		LoggingEvent event = new LoggingEvent();
+		event.setFormattedMessage(message);
+		return event;
+	}
+
+	@Test
+	//Check if async workers write drained chunks completely & in order
+	public void checkAsyncBatches() throws IOException {
+		for ( int i = 0; i < 500; i++ ) {
+			Logger.warn("batch", "Async message " + i);
+		}
+		Sink sink = Logger.getCurrentConfig().getRoutingMap().get(Level.WARN).routedSink;
+		Assert.assertEquals(((AsyncSink) sink).getBatchSize(), 16);
+		sink.close();
+
+		List<String> lines = Files.readAllLines(new File(asyncFileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 500);
+		for ( int i = 0; i < 500; i++ ) {
+			Assert.assertEquals(lines.get(i), "Async message " + i);
+		}
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
@@ -0,0 +1,167 @@
+package com.saurabh.logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.BlockDecompressor;
+import com.saurabh.logger.sinks.FileSink;
+
+/**
+ * Basic test cases for block compression of {@link FileSink} & {@link BlockDecompressor}
+ * @author Saurabh
+ */
+public class FileSinkCompressionTest {
+
+	String fileLocation = "/var/log/logger/compressed.log";
+
+	@Before
+	public void deleteFile() {
+		new File(fileLocation).delete();
+	}
+
+	@After
+	public void resetConfig() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+
+	private FileSink loadConfiguration(String blockSize) {
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "file");
+	    params.put("layout", "%m");
+	    params.put("file_location", fileLocation);
+	    params.put("compression", "deflate");
+	    params.put("block_size", blockSize);
+	    LoggerConfig.fromMap(params);
+	    return (FileSink) Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink;
+	}
+
+	private String logLines(int count) {
+		StringBuilder expected = new StringBuilder();
+		for ( int i = 0; i < count; i++ ) {
+			Logger.info("compression.test", "compressed line number {}", i);
+			expected.append("compressed line number ").append(i).append('\n');
+		}
+		return expected.toString();
+	}
+
+	private String decompress(byte[] bytes, long expectedSkippedFrames) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BlockDecompressor decompressor = new BlockDecompressor(new ByteArrayInputStream(bytes));
+		try {
+			decompressor.decompressTo(output);
+			Assert.assertEquals(decompressor.getSkippedFrames(), expectedSkippedFrames);
+		} finally {
+			decompressor.close();
+		}
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	//Check if the file is smaller than the lines written & decompresses back into them
+	public void checkCompressedRoundTrip() throws IOException {
+		FileSink sink = loadConfiguration("4096");
+		String expected = logLines(1000);
+		sink.close();
+
+		byte[] bytes = Files.readAllBytes(new File(fileLocation).toPath());
+		Assert.assertTrue(sink.isBlockCompressed());
+		Assert.assertTrue(bytes.length * 4 < expected.length());
+		Assert.assertEquals(decompress(bytes, 0), expected);
+	}
+
+	@Test
+	//Check if blocks before a frame cut short by a crash are recovered
+	public void checkTruncatedLastFrame() throws IOException {
+		FileSink sink = loadConfiguration("1024");
+		String expected = logLines(200);
+		sink.close();
+
+		byte[] bytes = Files.readAllBytes(new File(fileLocation).toPath());
+		String recovered = decompress(Arrays.copyOf(bytes, bytes.length - 10), 0);
+		Assert.assertTrue(recovered.length() > 0);
+		Assert.assertTrue(recovered.length() < expected.length());
+		Assert.assertTrue(expected.startsWith(recovered));
+	}
+
+	@Test
+	//Check if frames following one cut short in the middle of the file are recovered
+	public void checkTornFrameFollowedByFrames() throws IOException {
+		FileSink sink = loadConfiguration("1024");
+		String expected = logLines(200);
+		sink.close();
+
+		byte[] bytes = Files.readAllBytes(new File(fileLocation).toPath());
+		int secondFrame = frameLength(bytes, 0);
+		int thirdFrame = secondFrame + frameLength(bytes, secondFrame);
+		ByteArrayOutputStream torn = new ByteArrayOutputStream();
+		torn.write(bytes, 0, secondFrame + (thirdFrame - secondFrame) / 2);
+		torn.write(bytes, thirdFrame, bytes.length - thirdFrame);
+
+		String recovered = decompress(torn.toByteArray(), 1);
+		Assert.assertEquals(recovered, expected.substring(0, 1024) + expected.substring(2048));
+	}
+
+	@Test
+	//Check if a frame cut short by a crash is truncated when the file is reopened, so blocks appended later follow it
+	public void checkTornFrameTruncatedOnReopen() throws IOException {
+		FileSink sink = loadConfiguration("1024");
+		String before = logLines(200);
+		sink.close();
+		RandomAccessFile file = new RandomAccessFile(fileLocation, "rw");
+		try {
+			file.setLength(file.length() - 10);
+		} finally {
+			file.close();
+		}
+
+		sink.init();
+		String after = logLines(50);
+		sink.close();
+
+		//The last block of the first run is lost with its frame
+		byte[] bytes = Files.readAllBytes(new File(fileLocation).toPath());
+		Assert.assertEquals(decompress(bytes, 0), before.substring(0, before.length() - before.length() % 1024) + after);
+	}
+
+	/**
+	 * Length of the frame starting at the offset, header included
+	 */
+	private static int frameLength(byte[] bytes, int offset) {
+		return 16 + ByteBuffer.wrap(bytes).getInt(offset + 8);
+	}
+
+	@Test
+	//Check if a damaged frame is skipped & the frames after it are recovered
+	public void checkCorruptedFrameSkipped() throws IOException {
+		FileSink sink = loadConfiguration("1024");
+		String expected = logLines(200);
+		sink.close();
+
+		//Damage the compressed data of the first frame
+		RandomAccessFile file = new RandomAccessFile(fileLocation, "rw");
+		try {
+			file.seek(20);
+			file.write(~file.read());
+		} finally {
+			file.close();
+		}
+		byte[] bytes = Files.readAllBytes(new File(fileLocation).toPath());
+		String recovered = decompress(bytes, 1);
+		Assert.assertEquals(recovered, expected.substring(1024));
+	}
+}
@@ -0,0 +1,104 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.AsyncSink;
+import com.saurabh.logger.sinks.Sink;
+
+/**
+ * Basic test cases for garbage free logging through reusable & pooled {@link LoggingEvent}
+ * @author Saurabh
+ */
+public class GarbageFreeLoggingTest {
+
+	String syncFileLocation = "/var/log/logger/garbage-free-sync.log";
+	String asyncFileLocation = "/var/log/logger/garbage-free-async.log";
+	String tsFormat = "dd­-mm­-yyyy-­hh-­mm-­ss";
+
+	@Before
+	public void loadConfiguration() {
+		new File(syncFileLocation).delete();
+		new File(asyncFileLocation).delete();
+
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("garbage_free", "true");
+	    params.put("ts_format", tsFormat);
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", syncFileLocation);
+	    params.put("thread_model", "SINGLE");
+	    params.put("write_mode", "SYNC");
+	    LoggerConfig.fromMap(params);
+
+	    params = new HashMap<String, String>();
+	    params.put("ts_format", tsFormat);
+	    params.put("log_level", "ERROR");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", asyncFileLocation);
+	    params.put("thread_model", "MULTI");
+	    params.put("write_mode", "RING");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if garbage free property is set on current configuration
+	public void checkGarbageFreeSet() {
+		Assert.assertTrue(Logger.getCurrentConfig().isGarbageFree());
+	}
+
+	@Test
+	//Check if every message logged through the reusable event is written completely
+	public void checkSyncMessagesWritten() throws IOException {
+		for ( int i = 0; i < 100; i++ ) {
+			Logger.info("garbage.free", "Sync message " + i);
+		}
+		List<String> lines = readLines(syncFileLocation);
+		Assert.assertEquals(lines.size(), 100);
+		for ( int i = 0; i < 100; i++ ) {
+			Assert.assertTrue(lines.get(i).endsWith("INFO garbage.free Sync message " + i));
+		}
+	}
+
+	@Test
+	//Check if reusable events are copied before queueing, so that async messages are not overwritten
+	public void checkAsyncMessagesCopied() throws IOException {
+		for ( int i = 0; i < 1000; i++ ) {
+			Logger.error("garbage.free", "Async message " + i);
+		}
+		Sink sink = Logger.getCurrentConfig().getRoutingMap().get(Level.ERROR).routedSink;
+		Assert.assertTrue(sink instanceof AsyncSink);
+		sink.close();
+
+		List<String> lines = readLines(asyncFileLocation);
+		Assert.assertEquals(lines.size(), 1000);
+		boolean[] seen = new boolean[1000];
+		for ( String line : lines ) {
+			int index = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+			Assert.assertFalse(seen[index]);
+			seen[index] = true;
+		}
+	}
+
+	private List<String> readLines(String fileLocation) throws IOException {
+		return Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+	}
+
+	@After
+	public void releaseResources() {
+		for ( Sink sink : Logger.getCurrentConfig().getCurrentlyActiveSinks() ) {
+			sink.close();
+		}
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
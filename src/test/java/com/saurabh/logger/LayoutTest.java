@@ -0,0 +1,107 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Basic test cases for {@link Layout} patterns
+ * @author Saurabh
+ */
+public class LayoutTest {
+
+	RouteInfo routeInfo;
+	String fileLocation = "/var/log/logger/layout.log";
+	String tsFormat = "yyyy-MM-dd HH:mm:ss.SSS";
+	String layout = "%-5p %c - %m";
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("ts_format", tsFormat);
+	    params.put("layout", layout);
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("thread_model", "SINGLE");
+	    params.put("write_mode", "SYNC");
+	    LoggerConfig.fromMap(params);
+
+	    routeInfo = Logger.getCurrentConfig().getRoutingMap().get(Level.INFO);
+	}
+
+	@Test
+	//Check if layout is set properly on route
+	public void checkLayoutSetProperly() {
+		Assert.assertEquals(routeInfo.layout.getPattern(), layout);
+	}
+
+	@Test
+	//Check if messages are written as per configured layout
+	public void checkMessageWrittenWithLayout() throws IOException {
+		Logger.info("layout.test", "Testing layout");
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.get(0), "INFO  layout.test - Testing layout");
+	}
+
+	@Test
+	//Check if default layout renders the same format as before layouts were introduced
+	public void checkDefaultLayout() {
+		LoggingEvent event = new LoggingEvent(new LogMessage("content", Level.WARN, "name.space"), tsFormat);
+		String expected = new SimpleDateFormat(tsFormat).format(new Date(event.getCurrentTs()))
+				+ " [" + Thread.currentThread().getName() + "] WARN name.space content";
+		Assert.assertEquals(expected, MessageFormatter.format(event));
+		Assert.assertEquals(expected, MessageFormatter.format(event, Layout.compile(Layout.DEFAULT_PATTERN, tsFormat)));
+	}
+
+	@Test
+	//Check conversion options, padding & escaping
+	public void checkConversions() {
+		LoggingEvent event = new LoggingEvent(new LogMessage("content", Level.INFO, "ns"), tsFormat);
+		String date = new SimpleDateFormat("HH:mm").format(new Date(event.getCurrentTs()));
+		Assert.assertEquals(date + " 100% [INFO ] [   ns] content",
+				MessageFormatter.format(event, Layout.compile("%d{HH:mm} 100%% [%-5level] [%5ns] %msg", tsFormat)));
+	}
+
+	@Test
+	//Check if thread conversions follow a renamed thread
+	public void checkThreadConversions() {
+		Thread thread = Thread.currentThread();
+		String name = thread.getName();
+		Layout threadLayout = Layout.compile("[%t] [%T] [%tid]", tsFormat);
+		try {
+			LoggingEvent event = new LoggingEvent(new LogMessage("content", Level.INFO, "ns"), tsFormat);
+			Assert.assertEquals(MessageFormatter.format(event, threadLayout), 
+					"[" + name + "] [" + thread.getId() + "] [" + thread.getId() + "]");
+			thread.setName("renamed-" + name);
+			event = new LoggingEvent(new LogMessage("content", Level.INFO, "ns"), tsFormat);
+			Assert.assertEquals(event.getThreadName(), "renamed-" + name);
+		} finally {
+			thread.setName(name);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	//Check if unknown conversion is rejected
+	public void checkUnknownConversion() {
+		Layout.compile("%d %unknown", tsFormat);
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
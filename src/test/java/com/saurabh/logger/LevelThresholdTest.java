@@ -0,0 +1,84 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Basic test cases for nameSpace level thresholds
+ * @author Saurabh
+ */
+public class LevelThresholdTest {
+
+	String fileLocation = "/var/log/logger/level-threshold.log";
+	String tsFormat = "dd­-mm­-yyyy-­hh-­mm-­ss";
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("ts_format", tsFormat);
+	    params.put("layout", "%p %c %m");
+	    params.put("log_level", "DEBUG");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("thread_model", "SINGLE");
+	    params.put("write_mode", "SYNC");
+	    LoggerConfig.fromMap(params);
+
+	    params = new HashMap<String, String>();
+	    params.put("namespace", "com.app");
+	    params.put("min_level", "WARN");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if thresholds are inherited on dotted nameSpace boundaries only
+	public void checkHierarchicalThresholds() {
+		Assert.assertFalse(Logger.isDebugEnabled("com.app"));
+		Assert.assertFalse(Logger.isInfoEnabled("com.app.db"));
+		Assert.assertTrue(Logger.isWarnEnabled("com.app.db"));
+		Assert.assertTrue(Logger.isDebugEnabled("com.application"));
+		Assert.assertTrue(Logger.isDebugEnabled("com"));
+	}
+
+	@Test
+	//Check if cached thresholds are updated when a threshold changes
+	public void checkThresholdUpdate() {
+		Assert.assertFalse(Logger.isInfoEnabled("com.app.db"));
+		Logger.getCurrentConfig().setLevelThreshold("com.app.db", Level.DEBUG);
+		Assert.assertTrue(Logger.isDebugEnabled("com.app.db"));
+		Logger.getCurrentConfig().setLevelThreshold("com.app.db", null);
+		Assert.assertFalse(Logger.isInfoEnabled("com.app.db"));
+		Logger.getCurrentConfig().setLevelThreshold(null, Level.ERROR);
+		Assert.assertFalse(Logger.isWarnEnabled("other"));
+		Assert.assertTrue(Logger.isWarnEnabled("com.app"));
+	}
+
+	@Test
+	//Check if messages below threshold are dropped
+	public void checkMessagesFiltered() throws IOException {
+		Logger.debug("com.app.db", "dropped");
+		Logger.debug("com.app.db", "dropped {}", 1L);
+		Logger.error("com.app.db", "kept {}", 1L);
+		Logger.debug("other", "kept");
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 1);
+		Assert.assertEquals(lines.get(0), "DEBUG other kept");
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
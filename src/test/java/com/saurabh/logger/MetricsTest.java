@@ -0,0 +1,179 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.saurabh.logger.metrics.LatencyHistogram;
+import com.saurabh.logger.metrics.LatencySnapshot;
+import com.saurabh.logger.metrics.MetricsExporter;
+import com.saurabh.logger.metrics.SinkMetricsSnapshot;
+import com.saurabh.logger.sinks.AsyncSink;
+import com.saurabh.logger.sinks.MmapFileSink;
+
+/**
+ * Basic test cases for sink metrics, {@link Logger#metrics()} & JMX
+ * @author Saurabh
+ */
+public class MetricsTest {
+
+	String fileLocation = "/var/log/logger/metrics.log";
+
+	@After
+	public void resetConfig() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+
+	private void loadConfiguration() {
+		new File(fileLocation).delete();
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "file");
+	    params.put("file_location", fileLocation);
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if percentiles are reported within bucket precision
+	public void checkHistogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for ( int i = 1; i <= 1000; i++ ) {
+			histogram.record(i * 1000L);
+		}
+		LatencySnapshot snapshot = histogram.snapshot();
+		Assert.assertEquals(snapshot.getCount(), 1000);
+		Assert.assertEquals(snapshot.getMax(), 1000000);
+		Assert.assertEquals(snapshot.getMean(), 500500);
+		Assert.assertEquals(snapshot.getMedian(), 500000, 500000 * 0.07);
+		Assert.assertEquals(snapshot.getPercentile99(), 990000, 990000 * 0.07);
+		Assert.assertTrue(snapshot.getPercentile99() >= 990000);
+		Assert.assertEquals(histogram.getValueAtPercentile(100), 1000000);
+	}
+
+	@Test
+	//Check if events & bytes written by a file sink are counted
+	public void checkFileSinkMetrics() {
+		loadConfiguration();
+		for ( int i = 0; i < 10; i++ ) {
+			Logger.info("metrics.test", "metrics message {}", i);
+		}
+		Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink.flush();
+
+		SinkMetricsSnapshot sink = Logger.metrics().getSink("file");
+		Assert.assertNotNull(sink);
+		Assert.assertEquals(sink.getTarget(), fileLocation);
+		Assert.assertEquals(sink.getEventsWritten(), 10);
+		Assert.assertEquals(sink.getBytesWritten(), new File(fileLocation).length());
+		Assert.assertEquals(sink.getWriteLatency().getCount(), 10);
+		Assert.assertTrue(sink.getWriteLatency().getMax() > 0);
+		Assert.assertEquals(sink.getFlushLatency().getCount(), 1);
+	}
+
+	@Test
+	//Check if events & bytes written by a memory mapped sink are counted
+	public void checkMmapFileSinkMetrics() {
+		String mmapFileLocation = "/var/log/logger/metrics-mmap.log";
+		new File(mmapFileLocation).delete();
+		MmapFileSink mmapSink = new MmapFileSink();
+		mmapSink.setName("mmap");
+		mmapSink.setFile(mmapFileLocation);
+		mmapSink.setAppend(false);
+		mmapSink.setRegionSize(64);
+		mmapSink.init();
+		try {
+			mmapSink.write(newEvent("mapped message"));
+			List<LoggingEvent> batch = new ArrayList<LoggingEvent>();
+			for ( int i = 0; i < 10; i++ ) {
+				batch.add(newEvent("mapped message " + i));
+			}
+			mmapSink.writeBatch(batch);
+			mmapSink.flush();
+
+			SinkMetricsSnapshot metrics = mmapSink.getMetrics();
+			Assert.assertEquals(metrics.getName(), "mmap");
+			Assert.assertEquals(metrics.getTarget(), mmapFileLocation);
+			Assert.assertEquals(metrics.getEventsWritten(), 11);
+			Assert.assertEquals(metrics.getBytesWritten(), mmapSink.getWrittenLength());
+			Assert.assertEquals(metrics.getWriteLatency().getCount(), 2);
+			Assert.assertEquals(metrics.getFlushLatency().getCount(), 1);
+		} finally {
+			mmapSink.close();
+		}
+	}
+
+	@Test
+	//Check if queue depth, high water mark & drops of an async sink are reported
+	public void checkAsyncSinkMetrics() throws InterruptedException {
+		AsyncSinkOverflowTest.StalledSink stalledSink = new AsyncSinkOverflowTest.StalledSink();
+		AsyncSink asyncSink = new AsyncSink();
+		asyncSink.setName("metered");
+		asyncSink.setWrappedSink(stalledSink);
+		asyncSink.setQueueSize(4);
+		asyncSink.setBatchSize(1);
+		asyncSink.setOverflowPolicy(GlobalConstants.OVERFLOW_POLICY_DROP_NEW);
+		asyncSink.init();
+		try {
+			asyncSink.write(newEvent("message 0"));
+			Assert.assertTrue(stalledSink.entered.await(5, TimeUnit.SECONDS));
+			for ( int i = 1; i <= 5; i++ ) {
+				asyncSink.write(newEvent("message " + i));
+			}
+			SinkMetricsSnapshot metrics = asyncSink.getMetrics();
+			Assert.assertEquals(metrics.getName(), "metered");
+			Assert.assertEquals(metrics.getEventsWritten(), 5);
+			Assert.assertEquals(metrics.getDroppedEvents(), 1);
+			Assert.assertEquals(metrics.getQueueDepth(), 4);
+
+			stalledSink.released.countDown();
+			Assert.assertTrue(asyncSink.flush(5000));
+			metrics = asyncSink.getMetrics();
+			Assert.assertEquals(metrics.getQueueDepth(), 0);
+			Assert.assertEquals(metrics.getQueueHighWaterMark(), 4);
+			Assert.assertEquals(metrics.getFlushLatency().getCount(), 1);
+		} finally {
+			stalledSink.released.countDown();
+			asyncSink.close();
+		}
+	}
+
+	@Test
+	//Check if metrics of current configuration are readable through JMX
+	public void checkJmxAttributes() throws Exception {
+		loadConfiguration();
+		Logger.info("metrics.test", "jmx message");
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(MetricsExporter.OBJECT_NAME);
+		Assert.assertTrue(server.isRegistered(name));
+		CompositeData[] sinks = (CompositeData[]) server.getAttribute(name, "Sinks");
+		CompositeData fileSink = null;
+		for ( CompositeData sink : sinks ) {
+			if ( "file".equals(sink.get("name")) ) {
+				fileSink = sink;
+			}
+		}
+		Assert.assertNotNull(fileSink);
+		Assert.assertEquals(fileSink.get("eventsWritten"), Long.valueOf(1));
+		Assert.assertEquals(((CompositeData) fileSink.get("writeLatency")).get("count"), Long.valueOf(1));
+		Assert.assertEquals(server.getAttribute(name, "DroppedEvents"), Long.valueOf(0));
+	}
+
+	private static LoggingEvent newEvent(String message) {
+		LoggingEvent loggingEvent = new LoggingEvent();
+		loggingEvent.initialize(Level.INFO, message, "Metrics", null);
+		loggingEvent.setFormattedMessage(message);
+		return loggingEvent;
+	}
+}
@@ -0,0 +1,115 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.MmapFileSink;
+
+/**
+ * Basic test cases for {@link MmapFileSink}
+ * @author Saurabh
+ */
+public class MmapFileSinkTest {
+
+	RouteInfo routeInfo;
+	String fileLocation = "/var/log/logger/mmap.log";
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%p %m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "mmapfile");
+	    params.put("file_location", fileLocation);
+	    params.put("region_size", "100");
+	    params.put("write_mode", "SYNC");
+	    LoggerConfig.fromMap(params);
+
+	    routeInfo = Logger.getCurrentConfig().getRoutingMap().get(Level.INFO);
+	}
+
+	@Test
+	//Check if properties are set on the sink
+	public void checkPropertiesSet() {
+		Assert.assertTrue(routeInfo.routedSink instanceof MmapFileSink);
+		MmapFileSink sink = (MmapFileSink) routeInfo.routedSink;
+		Assert.assertEquals(sink.getFile(), fileLocation);
+		Assert.assertEquals(sink.getRegionSize(), 100);
+	}
+
+	@Test
+	//Check if messages spanning several regions are written & file is truncated on close
+	public void checkMessagesWrittenAcrossRegions() throws IOException {
+		for ( int i = 0; i < 50; i++ ) {
+			Logger.info("mmap", "Mapped message " + i);
+		}
+		MmapFileSink sink = (MmapFileSink) routeInfo.routedSink;
+		long writtenLength = sink.getWrittenLength();
+		Assert.assertTrue(new File(fileLocation).length() > writtenLength);
+		sink.close();
+
+		Assert.assertEquals(new File(fileLocation).length(), writtenLength);
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 50);
+		for ( int i = 0; i < 50; i++ ) {
+			Assert.assertEquals(lines.get(i), "INFO Mapped message " + i);
+		}
+	}
+
+	@Test
+	//Check if flushing after many filled regions, some forced while remapping, keeps every message
+	public void checkFlushAcrossRegions() throws IOException {
+		MmapFileSink sink = (MmapFileSink) routeInfo.routedSink;
+		for ( int i = 0; i < 200; i++ ) {
+			Logger.info("mmap", "Forced message " + i);
+			if ( i == 20 ) {
+				sink.flush();
+			}
+		}
+		Assert.assertTrue(sink.getWrittenLength() > 100 * MmapFileSink.MAX_UNFORCED_REGIONS);
+		sink.flush();
+		Assert.assertEquals(sink.getMetrics().getFlushLatency().getCount(), 2);
+		sink.close();
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 200);
+		Assert.assertEquals(lines.get(199), "INFO Forced message 199");
+	}
+
+	@Test
+	//Check if appending skips zero filled space left by a sink which wasn't closed
+	public void checkAppendAfterUnclosedSink() throws IOException {
+		Logger.info("mmap", "Before crash");
+		MmapFileSink sink = new MmapFileSink();
+		sink.setFile(fileLocation);
+		sink.setRegionSize(100);
+		sink.init();
+		LoggingEvent event = new LoggingEvent();
+		event.setFormattedMessage("After crash");
+		sink.write(event);
+		sink.close();
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 2);
+		Assert.assertEquals(lines.get(0), "INFO Before crash");
+		Assert.assertEquals(lines.get(1), "After crash");
+	}
+
+	@After
+	public void releaseResources() {
+		routeInfo.routedSink.close();
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
@@ -0,0 +1,91 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Basic test cases for nameSpace based routing
+ * @author Saurabh
+ */
+public class NamespaceRoutingTest {
+
+	String auditFileLocation = "/var/log/logger/audit.log";
+	String paymentAuditFileLocation = "/var/log/logger/audit-payment.log";
+	String appFileLocation = "/var/log/logger/app.log";
+
+	@Before
+	public void loadConfiguration() {
+		new File(auditFileLocation).delete();
+		new File(paymentAuditFileLocation).delete();
+		new File(appFileLocation).delete();
+
+		addRoute(null, appFileLocation);
+		addRoute("audit.*", auditFileLocation);
+		addRoute("audit.payment", paymentAuditFileLocation);
+	}
+
+	private void addRoute(String nameSpace, String fileLocation) {
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%c %m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("write_mode", "SYNC");
+	    if ( nameSpace != null ) {
+	    	params.put("namespace", nameSpace);
+	    }
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if the most specific nameSpace route is picked, matching whole segments only
+	public void checkRouteResolution() {
+		RoutingTable routingTable = Logger.getCurrentConfig().getRoutingTable();
+		RouteInfo appRoute = routingTable.route(Level.INFO);
+		RouteInfo auditRoute = routingTable.getConfiguredRoutes("audit", Level.INFO)[0];
+		RouteInfo paymentRoute = routingTable.getConfiguredRoutes("audit.payment", Level.INFO)[0];
+
+		Assert.assertSame(routingTable.routes(Level.INFO, "audit")[0], auditRoute);
+		Assert.assertSame(routingTable.routes(Level.INFO, "audit.login")[0], auditRoute);
+		Assert.assertSame(routingTable.routes(Level.INFO, "audit.payment.refund")[0], paymentRoute);
+		Assert.assertSame(routingTable.routes(Level.INFO, "auditor")[0], appRoute);
+		Assert.assertSame(routingTable.routes(Level.INFO, "com.app")[0], appRoute);
+		//Levels without a nameSpace route fall back to level routes
+		Assert.assertSame(routingTable.routes(Level.ERROR, "audit.login")[0], routingTable.getDefaultRoute());
+		//Resolved routes are cached
+		Assert.assertSame(routingTable.routes(Level.INFO, "audit.login"), routingTable.routes(Level.INFO, "audit.login"));
+	}
+
+	@Test
+	//Check if messages reach the file of their nameSpace
+	public void checkMessagesRouted() throws IOException {
+		Logger.info("audit.login", "user logged in");
+		Logger.info("audit.payment", "payment made");
+		Logger.info("com.app", "request served");
+
+		List<String> lines = Files.readAllLines(new File(auditFileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 1);
+		Assert.assertEquals(lines.get(0), "audit.login user logged in");
+		lines = Files.readAllLines(new File(paymentAuditFileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 1);
+		Assert.assertEquals(lines.get(0), "audit.payment payment made");
+		lines = Files.readAllLines(new File(appFileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 1);
+		Assert.assertEquals(lines.get(0), "com.app request served");
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
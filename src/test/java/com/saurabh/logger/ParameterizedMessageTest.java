@@ -0,0 +1,131 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Basic test cases for parameterized messages & argument substitution
+ * @author Saurabh
+ */
+public class ParameterizedMessageTest {
+
+	String fileLocation = "/var/log/logger/parameterized.log";
+	String tsFormat = "dd­-mm­-yyyy-­hh-­mm-­ss";
+
+	@Before
+	public void loadConfiguration() {
+		new File(fileLocation).delete();
+
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("ts_format", tsFormat);
+	    params.put("layout", "%p %m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("thread_model", "SINGLE");
+	    params.put("write_mode", "SYNC");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if arguments are substituted for every overload
+	public void checkArgumentsSubstituted() throws IOException {
+		Logger.info("param", "user {} took {} ms", "saurabh", 42L);
+		Logger.info("param", "count {}", 7);
+		Logger.info("param", "ratio {}", 0.5);
+		Logger.info("param", "range {}-{}", 1, 2);
+		Logger.info("param", "pair {} {}", "a", Boolean.TRUE);
+		Logger.info("param", "many {} {} {}", "a", "b", "c");
+		Logger.info("param", "object {}", (Object) null);
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.get(0), "INFO user saurabh took 42 ms");
+		Assert.assertEquals(lines.get(1), "INFO count 7");
+		Assert.assertEquals(lines.get(2), "INFO ratio 0.5");
+		Assert.assertEquals(lines.get(3), "INFO range 1-2");
+		Assert.assertEquals(lines.get(4), "INFO pair a true");
+		Assert.assertEquals(lines.get(5), "INFO many a b c");
+		Assert.assertEquals(lines.get(6), "INFO object null");
+	}
+
+	@Test
+	//Check if char & float arguments are logged as they were passed, not widened to long or double
+	public void checkCharAndFloatArguments() throws IOException {
+		Logger.info("param", "char={}", ';');
+		Logger.info("param", "{}", 1.1f);
+		Logger.info("param", "pair={} {}", "x", 'y');
+		Logger.info("param", "chars {}{}", 'a', 'b');
+		Logger.info("param", "mixed {} {}", 1, 'b');
+		Logger.info("param", "mixed {} {}", 'a', 2L);
+		Logger.info("param", "floats {} {}", 1.1f, 2.5f);
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.get(0), "INFO char=;");
+		Assert.assertEquals(lines.get(1), "INFO 1.1");
+		Assert.assertEquals(lines.get(2), "INFO pair=x y");
+		Assert.assertEquals(lines.get(3), "INFO chars ab");
+		Assert.assertEquals(lines.get(4), "INFO mixed 1 b");
+		Assert.assertEquals(lines.get(5), "INFO mixed a 2");
+		Assert.assertEquals(lines.get(6), "INFO floats 1.1 2.5");
+
+		LoggingEvent event = new LoggingEvent();
+		event.initialize(Level.INFO, "{} {}", "param", tsFormat);
+		event.addArgument('c');
+		event.addArgument(1.1f);
+		Assert.assertArrayEquals(new Object[] { Character.valueOf('c'), Float.valueOf(1.1f) }, event.getArgumentArray());
+	}
+
+	@Test
+	//Check escaping, missing & extra arguments
+	public void checkPlaceholderEdgeCases() {
+		Assert.assertEquals("a {} b 1", content("a \\{} b {}", 1L));
+		Assert.assertEquals("a \\1", content("a \\\\{}", 1L));
+		Assert.assertEquals("a 1 b {}", content("a {} b {}", 1L));
+		Assert.assertEquals("no placeholder", content("no placeholder", 1L));
+		Assert.assertEquals("[x, y]", content("{}", (Object) new Object[] { "x", "y" }));
+	}
+
+	@Test
+	//Check if primitive arguments are boxed only when argument array is asked for
+	public void checkArgumentArray() {
+		LoggingEvent event = new LoggingEvent();
+		event.initialize(Level.INFO, "{} {}", "param", tsFormat);
+		Assert.assertNull(event.getArgumentArray());
+		event.addArgument("x");
+		event.addArgument(3L);
+		Assert.assertArrayEquals(new Object[] { "x", Long.valueOf(3L) }, event.getArgumentArray());
+	}
+
+	private String content(String format, long argument) {
+		LoggingEvent event = new LoggingEvent();
+		event.initialize(Level.INFO, format, "param", tsFormat);
+		event.addArgument(argument);
+		StringBuilder sb = new StringBuilder();
+		MessageFormatter.appendContent(event, sb);
+		return sb.toString();
+	}
+
+	private String content(String format, Object argument) {
+		LoggingEvent event = new LoggingEvent();
+		event.initialize(Level.INFO, format, "param", tsFormat);
+		event.setArgumentArray(new Object[] { argument });
+		StringBuilder sb = new StringBuilder();
+		MessageFormatter.appendContent(event, sb);
+		return sb.toString();
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
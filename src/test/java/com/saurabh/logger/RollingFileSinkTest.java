@@ -0,0 +1,126 @@
+package com.saurabh.logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.RollingFileSink;
+
+/**
+ * Basic test cases for {@link RollingFileSink}
+ * @author Saurabh
+ */
+public class RollingFileSinkTest {
+
+	RouteInfo routeInfo;
+	File directory = new File("/var/log/logger/rolling");
+	String fileLocation = "/var/log/logger/rolling/rolling.log";
+
+	@Before
+	public void loadConfiguration() {
+		directory.mkdirs();
+		for ( File file : directory.listFiles() ) {
+			file.delete();
+		}
+
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("layout", "%m");
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "rollingfile");
+	    params.put("file_location", fileLocation);
+	    params.put("max_file_size", "1KB");
+	    params.put("compress", "true");
+	    params.put("write_mode", "SYNC");
+	    LoggerConfig.fromMap(params);
+
+	    routeInfo = Logger.getCurrentConfig().getRoutingMap().get(Level.INFO);
+	}
+
+	@Test
+	//Check if properties are set on the sink
+	public void checkPropertiesSet() {
+		Assert.assertTrue(routeInfo.routedSink instanceof RollingFileSink);
+		RollingFileSink sink = (RollingFileSink) routeInfo.routedSink;
+		Assert.assertEquals(sink.getMaxFileSize(), 1024);
+		Assert.assertTrue(sink.isCompress());
+	}
+
+	@Test
+	//Check if files are rolled on size & compressed without losing any message
+	public void checkSizeRollover() throws Exception {
+		for ( int i = 0; i < 200; i++ ) {
+			Logger.info("rolling", "Rolling message " + i);
+		}
+		routeInfo.routedSink.close();
+		Assert.assertTrue(RollingFileSink.awaitCompression(5000));
+
+		Assert.assertTrue(new File(fileLocation).length() <= 1024 + 32);
+		List<String> lines = new ArrayList<String>();
+		for ( int index = 1; new File(fileLocation + "." + index + RollingFileSink.COMPRESSED_EXTENSION).exists(); index++ ) {
+			Assert.assertFalse(new File(fileLocation + "." + index).exists());
+			lines.addAll(readCompressed(new File(fileLocation + "." + index + RollingFileSink.COMPRESSED_EXTENSION)));
+		}
+		Assert.assertTrue(lines.size() > 0);
+		lines.addAll(Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8));
+		Assert.assertEquals(lines.size(), 200);
+		for ( int i = 0; i < 200; i++ ) {
+			Assert.assertEquals(lines.get(i), "Rolling message " + i);
+		}
+	}
+
+	@Test
+	//Check if a file written in a previous period is rolled on first write
+	public void checkTimeRollover() throws IOException {
+		Files.write(new File(fileLocation).toPath(), "Old message\n".getBytes(StandardCharsets.UTF_8));
+		long lastModified = System.currentTimeMillis() - 2 * 60 * 60 * 1000L;
+		new File(fileLocation).setLastModified(lastModified);
+
+		RollingFileSink sink = new RollingFileSink();
+		sink.setFile(fileLocation);
+		sink.setRolloverPeriod("hourly");
+		sink.setCompress(false);
+		sink.init();
+		LoggingEvent event = new LoggingEvent(new LogMessage("New message", Level.INFO, "rolling"), null);
+		event.setFormattedMessage("New message");
+		sink.write(event);
+		sink.close();
+
+		File rolledFile = new File(fileLocation + "." + new SimpleDateFormat("yyyy-MM-dd-HH").format(lastModified) + ".1");
+		Assert.assertEquals(Files.readAllLines(rolledFile.toPath(), StandardCharsets.UTF_8).get(0), "Old message");
+		Assert.assertEquals(Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8).get(0), "New message");
+	}
+
+	private List<String> readCompressed(File file) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8));
+		try {
+			String line;
+			while ( (line = reader.readLine()) != null ) {
+				lines.add(line);
+			}
+		} finally {
+			reader.close();
+		}
+		return lines;
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
@@ -0,0 +1,100 @@
+package com.saurabh.logger;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.FileSink;
+import com.saurabh.logger.sinks.Sink;
+
+/**
+ * Basic test cases for {@link RoutingTable} snapshots
+ * @author Saurabh
+ */
+public class RoutingTableTest {
+
+	String fileLocation = "/var/log/logger/routing.log";
+
+	@Before
+	public void loadConfiguration() {
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("log_level", "ERROR");
+	    params.put("sink_type", "FILE");
+	    params.put("file_location", fileLocation);
+	    params.put("write_mode", "SYNC");
+	    LoggerConfig.fromMap(params);
+	}
+
+	@Test
+	//Check if unmapped levels are routed to default route
+	public void checkDefaultRoute() {
+		RoutingTable routingTable = Logger.getCurrentConfig().getRoutingTable();
+		Assert.assertTrue(routingTable.route(Level.ERROR).routedSink instanceof FileSink);
+		Assert.assertSame(routingTable.route(Level.INFO), routingTable.getDefaultRoute());
+		Assert.assertSame(routingTable.getDefaultRoute().routedSink, Logger.getCurrentConfig().getDefaultSink());
+		Assert.assertNull(Logger.getCurrentConfig().getRoutingMap().get(Level.INFO));
+	}
+
+	@Test
+	//Check if a routing change publishes a new snapshot leaving the previous one untouched
+	public void checkSnapshotReplaced() {
+		RoutingTable previous = Logger.getCurrentConfig().getRoutingTable();
+		RouteInfo routeInfo = new RouteInfo(null, Logger.getCurrentConfig().getDefaultSink());
+		Logger.getCurrentConfig().addOrUpdateLevelRouteInfo(Level.INFO, routeInfo);
+
+		RoutingTable current = Logger.getCurrentConfig().getRoutingTable();
+		Assert.assertNotSame(previous, current);
+		Assert.assertSame(current.route(Level.INFO), routeInfo);
+		Assert.assertSame(previous.route(Level.INFO), previous.getDefaultRoute());
+		Assert.assertSame(previous.route(Level.ERROR), current.route(Level.ERROR));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	//Check if routing map can't be changed directly
+	public void checkRoutingMapUnmodifiable() {
+		Logger.getCurrentConfig().getRoutingMap().remove(Level.ERROR);
+	}
+
+	@Test
+	//Check if a sink closed by reconfiguration isn't started again by a message routed through the previous table
+	public void checkReplacedSinkNotRestarted() throws Exception {
+		LoggerConfig config = Logger.getCurrentConfig();
+		RoutingTable previous = config.getRoutingTable();
+		Sink previousSink = previous.route(Level.ERROR).routedSink;
+		Logger.error("routing", "before replacing");
+		Assert.assertTrue(previousSink.isStarted());
+
+		FileSink replacement = new FileSink();
+		replacement.setFile("/var/log/logger/routing-replacement.log");
+		config.addOrUpdateLevelRouteInfo(Level.ERROR, new RouteInfo(null, replacement));
+		Assert.assertFalse(previousSink.isStarted());
+		Assert.assertTrue(config.isRetired(previousSink));
+		Assert.assertFalse(config.isRetired(replacement));
+
+		//A logging thread still holding the previous table
+		Field routingTableField = LoggerConfig.class.getDeclaredField("routingTable");
+		routingTableField.setAccessible(true);
+		RoutingTable current = config.getRoutingTable();
+		routingTableField.set(config, previous);
+		Logger.error("routing", "routed through previous table");
+		routingTableField.set(config, current);
+		Assert.assertFalse(previousSink.isStarted());
+
+		//Routed to again, the sink may be started again
+		config.addOrUpdateLevelRouteInfo(Level.ERROR, new RouteInfo(null, previousSink));
+		Assert.assertFalse(config.isRetired(previousSink));
+		Assert.assertTrue(config.isRetired(replacement));
+		Logger.error("routing", "after routing back");
+		Assert.assertTrue(previousSink.isStarted());
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}
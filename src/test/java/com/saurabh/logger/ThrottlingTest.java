@@ -0,0 +1,194 @@
+package com.saurabh.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Basic test cases for {@link Throttling} rate limits & duplicate suppression
+ * @author Saurabh
+ */
+public class ThrottlingTest {
+
+	String fileLocation = "/var/log/logger/throttling.log";
+
+	@After
+	public void resetConfig() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+
+	private void loadConfiguration(String nameSpace, String rateLimit, String duplicateWindow) {
+		new File(fileLocation).delete();
+	    Map<String, String> params = new HashMap<String, String>();
+	    params.put("log_level", "INFO");
+	    params.put("sink_type", "file");
+	    params.put("layout", "%m");
+	    params.put("file_location", fileLocation);
+	    LoggerConfig.fromMap(params);
+
+	    params = new HashMap<String, String>();
+	    params.put("namespace", nameSpace);
+	    if ( rateLimit != null ) {
+	    	params.put("rate_limit", rateLimit);
+	    }
+	    if ( duplicateWindow != null ) {
+	    	params.put("duplicate_window", duplicateWindow);
+	    }
+	    LoggerConfig.fromMap(params);
+	}
+
+	private List<String> readLines() throws IOException {
+		Logger.getCurrentConfig().getRoutingMap().get(Level.INFO).routedSink.flush();
+		return Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	//Check if repeated identical messages are collapsed into a count logged before the next message
+	public void checkDuplicatesCollapsed() throws IOException {
+		loadConfiguration("throttle.dup", null, "60000");
+		for ( int i = 0; i < 5; i++ ) {
+			Logger.info("throttle.dup", "disk full on {}", "/var");
+		}
+		Logger.info("throttle.dup", "disk full on {}", "/tmp");
+		Logger.info("throttle.other", "not deduplicated");
+		Logger.info("throttle.other", "not deduplicated");
+
+		List<String> lines = readLines();
+		Assert.assertEquals(lines.size(), 5);
+		Assert.assertEquals(lines.get(0), "disk full on /var");
+		Assert.assertEquals(lines.get(1), "Previous message repeated 4 times");
+		Assert.assertEquals(lines.get(2), "disk full on /tmp");
+		Assert.assertEquals(lines.get(3), "not deduplicated");
+	}
+
+	@Test
+	//Check if a count still pending when the nameSpace goes quiet is logged on shutdown
+	public void checkPendingDuplicatesLoggedOnShutdown() throws IOException {
+		loadConfiguration("throttle.quiet", "1", "60000");
+		for ( int i = 0; i < 3; i++ ) {
+			Logger.info("throttle.quiet.dup", "connection lost");
+			Logger.info("throttle.quiet.rate", "retry {}", i);
+		}
+		Assert.assertTrue(Logger.shutdown(5000));
+
+		List<String> lines = Files.readAllLines(new File(fileLocation).toPath(), StandardCharsets.UTF_8);
+		Assert.assertEquals(lines.size(), 4);
+		Assert.assertEquals(lines.get(0), "connection lost");
+		Assert.assertEquals(lines.get(1), "retry 0");
+		//NameSpaces are summarized in no particular order
+		Assert.assertTrue(lines.contains("Previous message repeated 2 times"));
+		Assert.assertTrue(lines.contains("2 messages suppressed by rate limit"));
+	}
+
+	@Test
+	//Check if a mutable argument is compared by the value it was logged with
+	public void checkMutableArgumentCompared() {
+		Throttle throttle = new Throttle(0, 0, 60000);
+		StringBuilder argument = new StringBuilder("first");
+		LoggingEvent event = new LoggingEvent();
+		event.initialize(Level.ERROR, "state {}", "throttle", null);
+		event.addArgument(argument);
+		long now = TimeUnit.SECONDS.toNanos(100);
+
+		Assert.assertEquals(throttle.checkDuplicate(event, now), 0);
+		argument.setLength(0);
+		argument.append("second");
+		Assert.assertEquals(throttle.checkDuplicate(event, now + 1), 0);
+		Assert.assertEquals(throttle.checkDuplicate(event, now + 2), -1);
+		Assert.assertEquals(throttle.takeRepeated(), 1);
+		Assert.assertEquals(throttle.takeRepeated(), 0);
+		Assert.assertEquals(throttle.checkDuplicate(event, now + 3), 0);
+	}
+
+	@Test
+	//Check if events beyond the burst are suppressed per nameSpace
+	public void checkRateLimitPerNameSpace() throws IOException {
+		loadConfiguration("throttle.rate", "1", null);
+		for ( int i = 0; i < 10; i++ ) {
+			Logger.info("throttle.rate.a", "a {}", i);
+			Logger.info("throttle.rate.b", "b {}", i);
+		}
+		List<String> lines = readLines();
+		Assert.assertEquals(lines.size(), 2);
+		Assert.assertEquals(lines.get(0), "a 0");
+		Assert.assertEquals(lines.get(1), "b 0");
+	}
+
+	@Test
+	//Check if the bucket refills at the configured rate & suppressed events are counted
+	public void checkTokenBucket() {
+		Throttle throttle = new Throttle(10, 3, 0);
+		long now = TimeUnit.SECONDS.toNanos(100);
+		for ( int i = 0; i < 3; i++ ) {
+			Assert.assertTrue(throttle.tryAcquire(now));
+		}
+		Assert.assertFalse(throttle.tryAcquire(now));
+		Assert.assertFalse(throttle.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(50)));
+		Assert.assertTrue(throttle.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100)));
+		Assert.assertFalse(throttle.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100)));
+		Assert.assertEquals(throttle.takeRateSuppressed(), 3);
+		Assert.assertEquals(throttle.takeRateSuppressed(), 0);
+
+		//Idle time refills the burst only
+		now += TimeUnit.SECONDS.toNanos(10);
+		for ( int i = 0; i < 3; i++ ) {
+			Assert.assertTrue(throttle.tryAcquire(now));
+		}
+		Assert.assertFalse(throttle.tryAcquire(now));
+	}
+
+	@Test
+	//Check if duplicates are only suppressed within the window
+	public void checkDuplicateWindow() {
+		Throttle throttle = new Throttle(0, 0, 100);
+		LoggingEvent event = new LoggingEvent();
+		event.initialize(Level.ERROR, "failed {} times", "throttle", null);
+		event.addArgument(3L);
+		long now = TimeUnit.SECONDS.toNanos(100);
+
+		Assert.assertEquals(throttle.checkDuplicate(event, now), 0);
+		Assert.assertEquals(throttle.checkDuplicate(event, now + 1), -1);
+		Assert.assertEquals(throttle.checkDuplicate(event, now + 2), -1);
+		long expired = now + TimeUnit.MILLISECONDS.toNanos(100);
+		Assert.assertEquals(throttle.checkDuplicate(event, expired), 2);
+		Assert.assertEquals(throttle.checkDuplicate(event, expired + 1), -1);
+
+		LoggingEvent other = new LoggingEvent();
+		other.initialize(Level.ERROR, "failed {} times", "throttle", null);
+		other.addArgument(4L);
+		Assert.assertEquals(throttle.checkDuplicate(other, expired + 2), 1);
+	}
+
+	@Test
+	//Check if rules are inherited by child nameSpaces & a level rule takes precedence over an all levels one
+	public void checkRuleResolution() {
+		Throttling throttling = new Throttling();
+		Assert.assertFalse(throttling.isActive());
+		throttling.setRateLimit("com.app", null, 100, 0);
+		throttling.setDuplicateWindow("com.app", Level.ERROR, 1000);
+
+		Assert.assertTrue(throttling.isActive());
+		Assert.assertNull(throttling.throttleFor("com.other", Level.ERROR));
+		Throttle info = throttling.throttleFor("com.app.db", Level.INFO);
+		Assert.assertTrue(info.isRateLimited());
+		Assert.assertFalse(info.isDeduplicating());
+		Throttle error = throttling.throttleFor("com.app.db", Level.ERROR);
+		Assert.assertFalse(error.isRateLimited());
+		Assert.assertTrue(error.isDeduplicating());
+		Assert.assertNotSame(throttling.throttleFor("com.app", Level.INFO), info);
+
+		throttling.setRateLimit("com.app", null, 0, 0);
+		throttling.setDuplicateWindow("com.app", Level.ERROR, 0);
+		Assert.assertFalse(throttling.isActive());
+		Assert.assertNull(throttling.throttleFor("com.app.db", Level.INFO));
+	}
+}
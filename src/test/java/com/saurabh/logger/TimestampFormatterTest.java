@@ -0,0 +1,60 @@
+package com.saurabh.logger;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Basic test cases to check if {@link TimestampFormatter} renders the same text as {@link SimpleDateFormat}
+ * @author Saurabh
+ */
+public class TimestampFormatterTest {
+
+	String[] patterns = {
+			LoggerConfig.DEFAULT_TS_FORMAT,
+			"dd­:mm­:yyyy:hh:­mm:­ss",
+			"yyyy-MM-dd HH:mm:ss.SSS",
+			"HH:mm:ss,S 'at' yyyy",
+			"'SSS' SS",
+			"ss.SSS-SSS",
+			"EEE, d MMM yyyy HH:mm:ss Z"
+	};
+
+	long[] timeStamps = { 0L, 7L, 999L, 1000L, 1530428482007L, 1530428482099L, 1530428482999L, 1530428483000L, -1L, -1001L };
+
+	@Test
+	//Check if every supported pattern renders same text as SimpleDateFormat
+	public void checkSameAsSimpleDateFormat() {
+		for ( String pattern : patterns ) {
+			TimestampFormatter formatter = TimestampFormatter.forPattern(pattern);
+			for ( long timeStamp : timeStamps ) {
+				String expected = new SimpleDateFormat(pattern).format(new Date(timeStamp));
+				Assert.assertEquals(expected, formatter.format(timeStamp));
+
+				StringBuilder sb = new StringBuilder("prefix ");
+				formatter.formatTo(timeStamp, sb);
+				Assert.assertEquals("prefix " + expected, sb.toString());
+			}
+		}
+	}
+
+	@Test
+	//Check if consecutive milliseconds of the same second are rendered properly from cache
+	public void checkCachedSecond() {
+		String pattern = "yyyy-MM-dd HH:mm:ss.SSS";
+		TimestampFormatter formatter = TimestampFormatter.forPattern(pattern);
+		SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+		for ( long timeStamp = 1530428481500L; timeStamp < 1530428483500L; timeStamp++ ) {
+			Assert.assertEquals(simpleDateFormat.format(new Date(timeStamp)), formatter.format(timeStamp));
+		}
+	}
+
+	@Test
+	//Check if same formatter instance is shared for a pattern
+	public void checkFormatterShared() {
+		Assert.assertSame(TimestampFormatter.forPattern("HH:mm:ss"), TimestampFormatter.forPattern("HH:mm:ss"));
+		Assert.assertEquals(Utils.formatTimeStamp(1000L, "HH:mm:ss"), new SimpleDateFormat("HH:mm:ss").format(new Date(1000L)));
+	}
+}
@@ -0,0 +1,80 @@
+package com.saurabh.logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.saurabh.logger.sinks.ConsoleSink;
+import com.saurabh.logger.sinks.FileSink;
+
+/**
+ * Basic test cases for UTF-8 encoding done by {@link FileSink} & {@link ConsoleSink}
+ * @author Saurabh
+ */
+public class Utf8EncodingTest {
+
+	String fileLocation = "/var/log/logger/utf8.log";
+	String message = "ascii é € 😀 lone \uD800 end";
+
+	@Test
+	//Check if file bytes match JDK encoding, including long messages crossing the staging buffer
+	public void checkFileEncoding() throws IOException {
+		new File(fileLocation).delete();
+		FileSink fileSink = new FileSink();
+		fileSink.setFile(fileLocation);
+		fileSink.init();
+
+		StringBuilder expected = new StringBuilder();
+		StringBuilder large = new StringBuilder();
+		while ( large.length() < 20000 ) {
+			large.append(message);
+		}
+		for ( String content : new String[] { message, large.toString(), "" + '\uDBFF' } ) {
+			LoggingEvent event = new LoggingEvent();
+			event.setFormattedMessage(content);
+			fileSink.write(event);
+			expected.append(content).append('\n');
+		}
+		fileSink.close();
+
+		byte[] written = Files.readAllBytes(new File(fileLocation).toPath());
+		Assert.assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), written);
+	}
+
+	@Test
+	//Check if console output is encoded & terminated by new line
+	public void checkConsoleEncoding() {
+		PrintStream out = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured, true));
+		try {
+			LoggingEvent event = new LoggingEvent();
+			event.setFormattedMessage(message);
+			new ConsoleSink("console").write(event);
+		} finally {
+			System.setOut(out);
+		}
+		//Bytes are written directly only on UTF-8 platforms, others print through the stream's encoding
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		if ( StandardCharsets.UTF_8.equals(Charset.defaultCharset()) ) {
+			byte[] bytes = (message + "\n").getBytes(StandardCharsets.UTF_8);
+			expected.write(bytes, 0, bytes.length);
+		} else {
+			new PrintStream(expected, true).println(message);
+		}
+		Assert.assertArrayEquals(expected.toByteArray(), captured.toByteArray());
+	}
+
+	@After
+	public void releaseResources() {
+		Logger.init(LoggerConfig.defaultConfig());
+	}
+}